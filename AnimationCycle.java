@@ -1,19 +1,15 @@
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 
-import java.util.ArrayList;
-
-import java.io.FileReader;
-import java.io.BufferedReader;
-
-import java.io.FileNotFoundException;
-import java.io.IOException;
-
 /**
  * This class is used for easily combining animations with hitboxes. Animations
- * can be read from a custom animation file. An {@code AnimationCycle} is made 
- * of {@code AnimationFrame}s and a general hitbox that describes the general
- * area that hitboxes in the {@code AnimationFrame}s will fall in.
+ * can be read from a custom animation file. An {@code AnimationCycle} plays an
+ * {@code AnimationTemplate}, which is made of {@code AnimationFrame}s, and has a
+ * general hitbox that describes the general area that hitboxes in the
+ * {@code AnimationFrame}s will fall in. The {@code AnimationTemplate} is shared,
+ * so an {@code AnimationCycle} only keeps track of which frame is playing, the
+ * position and the direction it is facing.
+ * @see AnimationTemplate
  * @see AnimationFrame
  */
 public class AnimationCycle implements Drawable, Debuggable, Collidable {
@@ -24,16 +20,16 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     private static final int FIRST_LOOP_TYPE = 0;
     private static final int LAST_LOOP_TYPE = 2;
     
-    private AnimationFrame[] frames;
+    private AnimationTemplate template;
     private AnimationFrame activeFrame;
     private int loopType;
 
     private int indexDir;
     private int curIndex;
     private int numFrames;
-    private Vector position;
-    private int frameWidth;
-    private int frameHeight;
+    private double x;
+    private double y;
+    private boolean reflected;
     private RelativeHitbox generalHitbox;
 
     /**
@@ -44,27 +40,8 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      * @param loopType The way to handle the cycle once it is finished. The cycle can stop, loop to start, or loop backwards.
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, int numFrames, int loopType) {
-        this.position = position;
-        this.frames = new AnimationFrame[numFrames];
-
-        // Calculate the dimensions of the frames.
-        this.numFrames = numFrames;
-        this.frameWidth = picSheet.getWidth();
-        this.frameHeight = picSheet.getHeight() / numFrames;
-
-        // Create the individual {@code AnimationFrame} objects.
-        for (int i = 0; i < numFrames; i++) {
-            BufferedImage subImage = picSheet.getSubimage(0, i * frameHeight, 
-                    frameWidth, frameHeight);
-            this.frames[i] = new AnimationFrame(position, subImage);
-        }
-
-        this.setLooping(loopType);
-        this.indexDir = 1;
-        this.setActiveFrame(0);
-
-        this.generalHitbox = new RelativeHitbox(position, Vector.VECTOR_ZERO.clone(), 
-                this.frameWidth, this.frameHeight);
+        this(position, new AnimationTemplate(picSheet, picSheet.getWidth(), 
+                picSheet.getHeight() / numFrames, loopType));
     }
 
     /**
@@ -77,178 +54,40 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, int frameWidth, int frameHeight,
             int loopType) {
-        this.position = position;
-        this.frames = new AnimationFrame[this.numFrames];
-        
-        // Calculate the number of frames.
-        this.numFrames = picSheet.getHeight() / frameHeight;
-        this.frameWidth = frameWidth;
-        this.frameHeight = frameHeight;
-
-        // Create the individual {@code AnimationFrame} objects.
-        for (int i = 0; i < numFrames; i++) {
-            BufferedImage subImage = picSheet.getSubimage(0, i * frameHeight, 
-                    frameWidth, frameHeight);
-            this.frames[i] = new AnimationFrame(position, subImage);
-        }
-
-        this.setLooping(loopType);
-        this.indexDir = 1;
-        this.setActiveFrame(0);
-
-        this.generalHitbox = new RelativeHitbox(position, Vector.VECTOR_ZERO.clone(), 
-                this.frameWidth, this.frameHeight);
+        this(position, new AnimationTemplate(picSheet, frameWidth, frameHeight, loopType));
     }
 
     /**
      * This constructs an {@code AnimationCycle} object from file. This includes 
-     * information relating to the {@code Hitbox}es of each frame.
+     * information relating to the {@code Hitbox}es of each frame. The file is
+     * only read the first time it is used.
      * @param position The top-left anchor coordinate of this {@code AnimationCycle}.
      * @param picSheet The image sheet with each frame in the animation.
      * @param animationFileName The file containing the information for this {@code AnimationCycle}.
-     * @see AnimationCycle#loadFromFile
+     * @see AnimationTemplate#getInstance
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, String animationFileName) {
-        this.position = position;
-        this.loadFromFile(picSheet, animationFileName);
-
-        this.indexDir = 1;
-        this.setActiveFrame(0);
+        this(position, AnimationTemplate.getInstance(picSheet, animationFileName));
         this.generalHitbox.setColor(Const.GREEN);
     }
 
     /**
-     * This method loads the animation cycle from a file.
-     * <ul>
-     * <li> Frame numbers start from {@code 0}.
-     * <li> All labels should be kept.</li>
-     * <li> Spacing should be kept.</li>
-     * <li> {@code hitboxName} can be changed with the name of any hitbox as long as it has no spaces.</li>
-     * <li> {@code x} and {@code y} can be of type {@code double}.</li>
-     * <li> {@code n}, {@code width}, and {@code height} should be of type {@code int}.</li>
-     * </ul>
-     * <p>The file should be formatted as follows with values filled in.</p>
-     * <pre>{@code
-     *loopType: NO_LOOPING/LOOP_TO_START/LOOP_BACKWARDS
-     *generalHitbox: x y width height
-     *numFrames: n
-     *FRAME0
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *FRAME1
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *FRAME2
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     * }</pre>
-     * @param picSheet
-     * @param animationFileName
+     * This constructs an {@code AnimationCycle} object that plays a shared
+     * {@code AnimationTemplate}.
+     * @param position The top-left anchor coordinate of this {@code AnimationCycle}.
+     * @param template The {@code AnimationTemplate} to play.
      */
-    public void loadFromFile(BufferedImage picSheet, String animationFileName) {
-        BufferedReader input;
-        // Open animation cycle file.
-        try {
-            FileReader animationFile = new FileReader(animationFileName);
-            input = new BufferedReader(animationFile);
-        } catch (FileNotFoundException ex) {
-            System.out.println("Error: Animation file not found. [" + animationFileName + "]");
-            this.numFrames = 0;
-            return;
-        }
-
-        // Load general animation cycle information.
-        try {
-            // Get the looping type.
-            String loopTypeString = input.readLine().split(" ")[1];
-            if (loopTypeString.equals("NO_LOOPING")) {
-                this.setLooping(NO_LOOPING);
-            } else if (loopTypeString.equals("LOOP_TO_START")) {
-                this.setLooping(LOOP_TO_START);
-            } else if (loopTypeString.equals("LOOP_BACKWARDS")) {
-                this.setLooping(LOOP_BACKWARDS);
-            } else {
-                System.out.println("Invalid loop type: [" + loopTypeString + "]");
-                this.setLooping(NO_LOOPING);
-            }
-
-            // Get the general hitbox.
-            String[] generalHitboxData = input.readLine().split(" ");
-            Vector relativePosition = new Vector(Double.parseDouble(generalHitboxData[1]), 
-                    Double.parseDouble(generalHitboxData[2]));
-            int width = Integer.parseInt(generalHitboxData[3]);
-            int height = Integer.parseInt(generalHitboxData[4]);
-            this.generalHitbox = new RelativeHitbox(this.position, relativePosition, width, height);
-
-            this.numFrames = Integer.parseInt(input.readLine().split(" ")[1]);
-        } catch (IOException ex) {
-            System.out.println("Error: Could not read animation file (general information).");
-        } catch (NumberFormatException ex) {
-            System.out.println("Error: Incorrect animation file general information format (expected numerical value).");
-        } catch (ArrayIndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file general information format (incorrect number of values).");
-        }
-
-        // Calculate the dimensions of the animation frames.
-        this.frames = new AnimationFrame[this.numFrames];
-        this.frameWidth = picSheet.getWidth();
-        this.frameHeight = picSheet.getHeight() / this.numFrames;
-        
-        // Create the animation frames.
-        try {
-            for (int i = 0; i < this.numFrames; i++) {
-                int frameIndex = Integer.parseInt(input.readLine().substring("FRAME".length()));
-                int numHitboxes = Integer.parseInt(input.readLine().split(" ")[1]);
-                
-                // Load the current frame's hitboxes.
-                ArrayList<RelativeHitbox> hitboxes = new ArrayList<RelativeHitbox>();
-                for (int j = 0; j < numHitboxes; j++) {
-                    String[] hitboxData = input.readLine().split(" ");
-                    Vector relativePosition = new Vector(Double.parseDouble(hitboxData[1]), 
-                            Double.parseDouble(hitboxData[2]));
-                    int width = Integer.parseInt(hitboxData[3]);
-                    int height = Integer.parseInt(hitboxData[4]);
-                    RelativeHitbox hitbox = new RelativeHitbox(this.position, relativePosition, width, height);
-                    hitboxes.add(hitbox);
-                }
-
-                this.frames[frameIndex] = new AnimationFrame(this.position, 
-                        picSheet.getSubimage(0, frameIndex * frameHeight, frameWidth, 
-                        frameHeight), hitboxes);
-            }
-        } catch (IOException ex) {
-            System.out.println("Error: Could not read animation file (animation frames).");
-        } catch (NumberFormatException ex) {
-            System.out.println("Error: Incorrect animation file frames (expected numerical value).");
-        } catch (ArrayIndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file frames (incorrect number of values).");
-        } catch (IndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file frames (incorrect frame number label).");
-        }
-
-        // Check if all frames were properly loaded.
-        boolean allFramesLoaded = true;
-        for (int i = 0; i < this.numFrames; i++) {
-            if (this.frames[i] == null) {
-                System.out.println("Error: frame " + i + " not loaded.");
-                allFramesLoaded = false;
-            }
-        }
-
-        if (!allFramesLoaded) {
-            System.out.println("Error: Incomplete animation file. [" + animationFileName + "]");
-        }
-
-        // Close animation cycle file.
-        try {
-            input.close();
-        } catch (IOException ex) {
-            System.out.println("Error: Animation file cannot be closed.");
-        }
+    public AnimationCycle(Vector position, AnimationTemplate template) {
+        this.x = position.getX();
+        this.y = position.getY();
+        this.template = template;
+        this.numFrames = template.getNumFrames();
+        this.reflected = false;
+        this.generalHitbox = template.createGeneralHitbox(position);
+
+        this.setLooping(template.getLoopType());
+        this.indexDir = 1;
+        this.setActiveFrame(0);
     }
 
     /**
@@ -270,15 +109,23 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     }
     
     public Vector getPos() {
-        return this.position.clone();
+        return new Vector(this.x, this.y);
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
     }
     
     public int getFrameWidth() {
-        return this.frameWidth;
+        return this.template.getFrameWidth();
     }
     
     public int getFrameHeight() {
-        return this.frameHeight;
+        return this.template.getFrameHeight();
     }
 
     /**
@@ -289,6 +136,47 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
         return this.generalHitbox;
     }
 
+    /**
+     * This method gets the left edge of a box that holds every hitbox this
+     * {@code AnimationCycle} can have at its current position. The box is one
+     * pixel larger on each side so rounding the position never moves a hitbox
+     * outside of it.
+     * @return The x-coordinate of the left edge.
+     */
+    public int getBoundsLeft() {
+        return (int) Math.floor(this.x) + this.template.getBoundsRelX() - 1;
+    }
+
+    /**
+     * This method gets the top edge of a box that holds every hitbox this
+     * {@code AnimationCycle} can have at its current position.
+     * @return The y-coordinate of the top edge.
+     * @see AnimationCycle#getBoundsLeft
+     */
+    public int getBoundsTop() {
+        return (int) Math.floor(this.y) + this.template.getBoundsRelY() - 1;
+    }
+
+    /**
+     * This method gets the right edge of a box that holds every hitbox this
+     * {@code AnimationCycle} can have at its current position.
+     * @return The x-coordinate of the right edge.
+     * @see AnimationCycle#getBoundsLeft
+     */
+    public int getBoundsRight() {
+        return this.getBoundsLeft() + this.template.getBoundsWidth() + 2;
+    }
+
+    /**
+     * This method gets the bottom edge of a box that holds every hitbox this
+     * {@code AnimationCycle} can have at its current position.
+     * @return The y-coordinate of the bottom edge.
+     * @see AnimationCycle#getBoundsLeft
+     */
+    public int getBoundsBottom() {
+        return this.getBoundsTop() + this.template.getBoundsHeight() + 2;
+    }
+
     /**
      * This method returns a reference to the active frame of this {@code AnimationCycle} 
      * when this method is called.
@@ -299,11 +187,19 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     }
     
     public void setPos(Vector newPos) {
-        this.position = newPos;
-        for (AnimationFrame frame: this.frames) {
-            frame.setPos(newPos);
-        }
-        this.generalHitbox.setAnchorPos(newPos);
+        this.setPos(newPos.getX(), newPos.getY());
+    }
+
+    /**
+     * This method sets the anchor position of this {@code AnimationCycle} and
+     * moves the general hitbox along with it.
+     * @param newX The new x-coordinate of the anchor.
+     * @param newY The new y-coordinate of the anchor.
+     */
+    public void setPos(double newX, double newY) {
+        this.x = newX;
+        this.y = newY;
+        this.generalHitbox.setAnchorPos(newX, newY);
     }
 
     /**
@@ -327,7 +223,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     public void setActiveFrame(int index) {
         this.curIndex = index % this.numFrames;
-        this.activeFrame = this.frames[this.curIndex];
+        this.activeFrame = this.template.getFrame(this.curIndex);
     }
 
     /**
@@ -356,7 +252,8 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean contains(int x, int y) {
-        return this.activeFrame.contains(x, y);
+        return this.activeFrame.contains(this.x, this.y, 
+                this.reflected, x, y);
     }
 
     /**
@@ -365,17 +262,33 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean intersects(Hitbox other) {
-        return this.activeFrame.intersects(other);
+        return this.activeFrame.intersects(this.x, this.y, 
+                this.reflected, other.getX(), other.getY(), other.getWidth(), other.getHeight());
     }
 
     /**
      * This method determines whether another {@code AnimationCycle} intersects with
      * the current active {@code AnimationFrame}.
      * @param otherCycle The other {@code AnimationCycle} to check.
-     * @return
+     * @return {@code true} if they do intersect, {@code false} otherwise.
      */
     public boolean intersects(AnimationCycle otherCycle) {
-        return this.activeFrame.intersects(otherCycle.getActiveFrame());
+        return this.intersects(otherCycle.getActiveFrame(), otherCycle.x, otherCycle.y, otherCycle.reflected);
+    }
+
+    /**
+     * This method determines whether an {@code AnimationFrame} at a position
+     * intersects with the current active {@code AnimationFrame}.
+     * @param otherFrame The other {@code AnimationFrame} to check.
+     * @param otherAnchorX The x-coordinate of the anchor of the other frame.
+     * @param otherAnchorY The y-coordinate of the anchor of the other frame.
+     * @param otherReflected Whether the other frame is reflected.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
+     */
+    public boolean intersects(AnimationFrame otherFrame, double otherAnchorX, double otherAnchorY,
+            boolean otherReflected) {
+        return this.activeFrame.intersects(this.x, this.y, 
+                this.reflected, otherFrame, otherAnchorX, otherAnchorY, otherReflected);
     }
     
     /**
@@ -383,7 +296,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public void draw(Graphics graphics) {
-        this.activeFrame.draw(graphics);
+        this.activeFrame.draw(graphics, this.x, this.y, this.reflected);
     }
 
     /**
@@ -392,17 +305,24 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     @Override
     public void drawDebugInfo(Graphics graphics) {
         this.generalHitbox.drawDebugInfo(graphics);
-        this.activeFrame.drawDebugInfo(graphics);
+        this.activeFrame.drawDebugInfo(graphics, this.x, this.y, 
+                this.reflected);
     }
 
     /**
      * This method reflects the sprites and hitboxes of this {@code AnimationCycle}
-     * over the middle of the general hitbox.
+     * over the middle of the general hitbox. The reflected frames are already
+     * stored in the {@code AnimationTemplate}, so this only switches between them.
      */
     public void reflectHorizontally() {
-        int xLine = this.generalHitbox.getX() + this.generalHitbox.getWidth() / 2;
-        for (AnimationFrame frame: this.frames) {
-            frame.reflectHorizontally(xLine);
-        }
+        this.reflected = !this.reflected;
+    }
+
+    /**
+     * This method checks if this {@code AnimationCycle} is reflected.
+     * @return {@code true} if it is reflected, {@code false} otherwise.
+     */
+    public boolean checkReflectedHorizontally() {
+        return this.reflected;
     }
 }
@@ -1,87 +1,175 @@
 import java.util.ArrayList;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.BasicStroke;
 
 /*
  * This class represents a single frame in the animation cycle of an entity. It
- * contains both the sprite and the hitboxes associated with it.
+ * contains both the image and the hitboxes associated with it. An {@code AnimationFrame}
+ * is shared by every entity playing the same animation, so it does not store a
+ * position. Instead, the position of the anchor and whether the frame is reflected
+ * are given to each method. The reflected image and hitboxes are calculated once
+ * when the frame is made.
+ * @see AnimationTemplate
  */
-public class AnimationFrame implements Drawable, Debuggable, Collidable {
-    private Vector position;
-    private Sprite sprite;
-    private ArrayList<RelativeHitbox> hitboxes;
+public class AnimationFrame {
+    private BufferedImage image;
+    private BufferedImage reflectedImage;
+    private int width;
+    private int height;
+    private int reflectedSpriteRelX;
+
+    // The hitboxes, relative to the anchor position.
+    private int[] hitboxRelX;
+    private int[] hitboxRelY;
+    private int[] hitboxWidth;
+    private int[] hitboxHeight;
+    private int[] reflectedHitboxRelX;
 
     /**
-     * This constructs an AnimationFrame object with a single hitbox around the image.
-     * @param x The x-coordinate of the AnimationFrame.
-     * @param y The y-coordinate of the AnimationFrame.
+     * This constructs an {@code AnimationFrame} object with a single hitbox
+     * around the image.
      * @param pic The image to use for the sprite.
+     * @param xLine The x-coordinate, relative to the anchor, of the vertical line
+     * the frame is reflected over.
      */
-    public AnimationFrame(int x, int y, BufferedImage pic) {
-        this.position = new Vector(x, y);
-        this.sprite = new Sprite(x, y, pic);
-        this.hitboxes = new ArrayList<RelativeHitbox>();
-
-        RelativeHitbox hitbox = new RelativeHitbox(this.position, Vector.VECTOR_ZERO.clone(), 
-                this.sprite.getWidth(), this.sprite.getHeight());
-        this.hitboxes.add(hitbox);
+    public AnimationFrame(BufferedImage pic, int xLine) {
+        this(pic, new int[][] {{0, 0, pic.getWidth(), pic.getHeight()}}, xLine);
     }
 
     /**
-     * This constructs an {@code AnimationFrame} object with preset {@code Hitbox}es.
-     * @param position The top-left coordinate of this {@code AnimationFrame}.
+     * This constructs an {@code AnimationFrame} object with preset hitboxes.
      * @param pic The image to use for the sprite.
-     * @param hitboxes The hitboxes for the frame, with the position relative to the sprite.
+     * @param hitboxes The hitboxes for the frame, each as {@code {x, y, width, height}}
+     * with the position relative to the sprite.
+     * @param xLine The x-coordinate, relative to the anchor, of the vertical line
+     * the frame is reflected over.
      */
-    public AnimationFrame(Vector position, BufferedImage pic, ArrayList<RelativeHitbox> hitboxes) {
-        this.position = position;
-        this.sprite = new Sprite(position, pic);
-        this.hitboxes = hitboxes;
-        this.setHitboxAnchorPos(this.position);
+    public AnimationFrame(BufferedImage pic, int[][] hitboxes, int xLine) {
+        this.image = pic;
+        this.reflectedImage = Sprite.reflectHorizontally(pic);
+        this.width = pic.getWidth();
+        this.height = pic.getHeight();
+        this.reflectedSpriteRelX = 2 * xLine - this.width;
+
+        int numHitboxes = hitboxes.length;
+        this.hitboxRelX = new int[numHitboxes];
+        this.hitboxRelY = new int[numHitboxes];
+        this.hitboxWidth = new int[numHitboxes];
+        this.hitboxHeight = new int[numHitboxes];
+        this.reflectedHitboxRelX = new int[numHitboxes];
+
+        for (int i = 0; i < numHitboxes; i++) {
+            this.hitboxRelX[i] = hitboxes[i][0];
+            this.hitboxRelY[i] = hitboxes[i][1];
+            this.hitboxWidth[i] = hitboxes[i][2];
+            this.hitboxHeight[i] = hitboxes[i][3];
+            this.reflectedHitboxRelX[i] = 2 * xLine - hitboxes[i][0] - hitboxes[i][2];
+        }
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getNumHitboxes() {
+        return this.hitboxRelX.length;
     }
 
     /**
-     * This constructs an {@code AnimationFrame} object with a single {@code Hitbox}
-     * around the image.
-     * @param position The top-left coordinate of this {@code AnimationFrame}.
-     * @param pic The image to use for the sprite.
+     * This method gets the image of this {@code AnimationFrame}.
+     * @param reflected Whether to get the reflected image.
+     * @return The image facing the requested direction.
      */
-    public AnimationFrame(Vector position, BufferedImage pic) {
-        this.position = position;
-        this.sprite = new Sprite(position, pic);
-        this.hitboxes = new ArrayList<RelativeHitbox>();
+    public BufferedImage getImage(boolean reflected) {
+        if (reflected) {
+            return this.reflectedImage;
+        }
+        return this.image;
+    }
 
-        RelativeHitbox hitbox = new RelativeHitbox(this.position, Vector.VECTOR_ZERO.clone(),
-                this.sprite.getWidth(), this.sprite.getHeight());
-        this.hitboxes.add(hitbox);
+    /**
+     * This method gets the left x-coordinate of a hitbox.
+     * @param index The index of the hitbox.
+     * @param anchorX The x-coordinate of the anchor.
+     * @param reflected Whether the frame is reflected.
+     * @return The real left x-coordinate of the hitbox.
+     */
+    public int getHitboxX(int index, double anchorX, boolean reflected) {
+        if (reflected) {
+            return (int) (anchorX + this.reflectedHitboxRelX[index]);
+        }
+        return (int) (anchorX + this.hitboxRelX[index]);
+    }
+
+    /**
+     * This method gets the top y-coordinate of a hitbox.
+     * @param index The index of the hitbox.
+     * @param anchorY The y-coordinate of the anchor.
+     * @return The real top y-coordinate of the hitbox.
+     */
+    public int getHitboxY(int index, double anchorY) {
+        return (int) (anchorY + this.hitboxRelY[index]);
+    }
+
+    public int getHitboxWidth(int index) {
+        return this.hitboxWidth[index];
+    }
+
+    public int getHitboxHeight(int index) {
+        return this.hitboxHeight[index];
     }
 
     /**
      * This method draws the image onto the surface.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param anchorX The x-coordinate of the anchor.
+     * @param anchorY The y-coordinate of the anchor.
+     * @param reflected Whether to draw the reflected image.
      */
-    @Override
-    public void draw(Graphics graphics) {
-        this.sprite.draw(graphics);
+    public void draw(Graphics graphics, double anchorX, double anchorY, boolean reflected) {
+        int spriteRelX = 0;
+        if (reflected) {
+            spriteRelX = this.reflectedSpriteRelX;
+        }
+        graphics.drawImage(this.getImage(reflected), (int) anchorX + spriteRelX, (int) anchorY, null);
     }
-    
+
     /**
      * This method draws the hitboxes of this {@code AnimationFrame} onto the surface.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param anchorX The x-coordinate of the anchor.
+     * @param anchorY The y-coordinate of the anchor.
+     * @param reflected Whether to draw the reflected hitboxes.
      */
-    @Override
-    public void drawDebugInfo(Graphics graphics) {
-        for (Hitbox hitbox: this.hitboxes) {
-            hitbox.draw(graphics);
+    public void drawDebugInfo(Graphics graphics, double anchorX, double anchorY, boolean reflected) {
+        graphics.setColor(Const.RED);
+        ((Graphics2D) graphics).setStroke(new BasicStroke(1));
+        for (int i = 0; i < this.getNumHitboxes(); i++) {
+            graphics.drawRect(this.getHitboxX(i, anchorX, reflected), this.getHitboxY(i, anchorY),
+                    this.hitboxWidth[i], this.hitboxHeight[i]);
         }
     }
 
     /**
-     * This method determines whether a coordinate is within any of the hitboxes 
+     * This method determines whether a coordinate is within any of the hitboxes
      * of this {@code AnimationFrame}.
+     * @param anchorX The x-coordinate of the anchor.
+     * @param anchorY The y-coordinate of the anchor.
+     * @param reflected Whether the frame is reflected.
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return {@code true} if the coordinate is inside a hitbox, {@code false} otherwise.
      */
-    @Override
-    public boolean contains(int x, int y) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (hitbox.contains(x, y)) {
+    public boolean contains(double anchorX, double anchorY, boolean reflected, int x, int y) {
+        for (int i = 0; i < this.getNumHitboxes(); i++) {
+            if (Hitbox.contains(this.getHitboxX(i, anchorX, reflected), this.getHitboxY(i, anchorY),
+                    this.hitboxWidth[i], this.hitboxHeight[i], x, y)) {
                 return true;
             }
         }
@@ -89,13 +177,22 @@ public class AnimationFrame implements Drawable, Debuggable, Collidable {
     }
 
     /**
-     * This method determines whether a hitbox intersects with any of the hitboxes
+     * This method determines whether a box intersects with any of the hitboxes
      * of this {@code AnimationFrame}.
+     * @param anchorX The x-coordinate of the anchor.
+     * @param anchorY The y-coordinate of the anchor.
+     * @param reflected Whether the frame is reflected.
+     * @param x The left x-coordinate of the box.
+     * @param y The top y-coordinate of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return {@code true} if they intersect, {@code false} otherwise.
      */
-    @Override
-    public boolean intersects(Hitbox other) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (hitbox.intersects(other)) {
+    public boolean intersects(double anchorX, double anchorY, boolean reflected,
+            int x, int y, int width, int height) {
+        for (int i = 0; i < this.getNumHitboxes(); i++) {
+            if (Hitbox.intersects(this.getHitboxX(i, anchorX, reflected), this.getHitboxY(i, anchorY),
+                    this.hitboxWidth[i], this.hitboxHeight[i], x, y, width, height)) {
                 return true;
             }
         }
@@ -105,12 +202,21 @@ public class AnimationFrame implements Drawable, Debuggable, Collidable {
     /**
      * This method determines whether another {@code AnimationFrame} intersects with
      * any of the hitboxes of this {@code AnimationFrame}.
+     * @param anchorX The x-coordinate of the anchor of this frame.
+     * @param anchorY The y-coordinate of the anchor of this frame.
+     * @param reflected Whether this frame is reflected.
      * @param otherFrame The other {@code AnimationFrame} object to check.
+     * @param otherAnchorX The x-coordinate of the anchor of the other frame.
+     * @param otherAnchorY The y-coordinate of the anchor of the other frame.
+     * @param otherReflected Whether the other frame is reflected.
      * @return {@code true} if they do intersect, {@code false} otherwise.
      */
-    public boolean intersects(AnimationFrame otherFrame) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (otherFrame.intersects(hitbox)) {
+    public boolean intersects(double anchorX, double anchorY, boolean reflected,
+            AnimationFrame otherFrame, double otherAnchorX, double otherAnchorY, boolean otherReflected) {
+        for (int i = 0; i < this.getNumHitboxes(); i++) {
+            if (otherFrame.intersects(otherAnchorX, otherAnchorY, otherReflected,
+                    this.getHitboxX(i, anchorX, reflected), this.getHitboxY(i, anchorY),
+                    this.hitboxWidth[i], this.hitboxHeight[i])) {
                 return true;
             }
         }
@@ -118,46 +224,22 @@ public class AnimationFrame implements Drawable, Debuggable, Collidable {
     }
 
     /**
-     * This method moves the position of the sprites and the hitboxes to the
-     * new position. The hiboxes maintain their relative positions to the position
-     * of the anchor/animation frame position.
-     * @param newPos The new position.
-     */
-    public void setPos(Vector newPos) {
-        this.sprite.setPos(newPos);
-        this.setHitboxAnchorPos(newPos);
-        this.position = newPos;
-    }
-
-    /**
-     * This method sets the hitboxes of this {@code AnimationFrame}.
-     * @param hitboxes An {@code ArrayList} containing relative hitboxes.
+     * This method creates {@code RelativeHitbox} objects for the hitboxes of this
+     * {@code AnimationFrame}.
+     * @param anchorPosition The anchor position of the hitboxes.
+     * @param reflected Whether to get the reflected hitboxes.
+     * @return An {@code ArrayList} of new hitboxes.
      */
-    public void setHitboxes(ArrayList<RelativeHitbox> hitboxes) {
-        this.hitboxes = hitboxes;
-    }
-
-    /**
-     * This method sets the anchor position of the all the relative hitboxes.
-     * The relative positions of the hitboxes are maintained. 
-     * @param newAnchorPos The new anchor position of the hitboxes.
-     * @see RelativeHitbox
-     */
-    private void setHitboxAnchorPos(Vector newAnchorPos) {
-        for (RelativeHitbox hitbox: this.hitboxes) {
-            hitbox.setAnchorPos(newAnchorPos);
-        }
-    }
-
-    /**
-     * This method reflects the sprite and hitboxes of this {@code AnimationFrame}
-     * over a vertical line.
-     * @param xLine The line to reflect this {@code AnimationFrame} over.
-     */
-    public void reflectHorizontally(int xLine) {
-        this.sprite.reflectHorizontally(xLine);
-        for (RelativeHitbox hitbox: this.hitboxes) {
-            hitbox.reflectHorizontally(xLine);
+    public ArrayList<RelativeHitbox> createHitboxes(Vector anchorPosition, boolean reflected) {
+        ArrayList<RelativeHitbox> hitboxes = new ArrayList<RelativeHitbox>();
+        for (int i = 0; i < this.getNumHitboxes(); i++) {
+            int relX = this.hitboxRelX[i];
+            if (reflected) {
+                relX = this.reflectedHitboxRelX[i];
+            }
+            hitboxes.add(new RelativeHitbox(anchorPosition, new Vector(relX, this.hitboxRelY[i]),
+                    this.hitboxWidth[i], this.hitboxHeight[i]));
         }
+        return hitboxes;
     }
 }
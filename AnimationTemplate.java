@@ -0,0 +1,346 @@
+import java.awt.image.BufferedImage;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import java.io.FileReader;
+import java.io.BufferedReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * This class stores the data of an animation that does not change while it is
+ * played: the frames, their images and their hitboxes. An {@code AnimationTemplate}
+ * is loaded once and shared by every {@code AnimationCycle} that plays it. The
+ * templates loaded from animation files are cached, so each file is only read
+ * the first time it is used.
+ * @see AnimationCycle
+ * @see AnimationFrame
+ */
+public class AnimationTemplate {
+    // The loaded templates, by sprite sheet and then by animation file name.
+    private static final IdentityHashMap<BufferedImage, HashMap<String, AnimationTemplate>> TEMPLATES =
+            new IdentityHashMap<BufferedImage, HashMap<String, AnimationTemplate>>();
+
+    private AnimationFrame[] frames;
+    private int loopType;
+    private int frameWidth;
+    private int frameHeight;
+
+    // The general hitbox, relative to the anchor position.
+    private int generalHitboxRelX;
+    private int generalHitboxRelY;
+    private int generalHitboxWidth;
+    private int generalHitboxHeight;
+
+    // A box around the general hitbox and every frame hitbox in both facings, relative to the anchor position.
+    private int boundsRelX;
+    private int boundsRelY;
+    private int boundsWidth;
+    private int boundsHeight;
+
+    /**
+     * This constructs an {@code AnimationTemplate} object out of a sprite sheet.
+     * Each frame has a single hitbox around its image.
+     * @param picSheet The sprite sheet to use. Each frame should be stacked vertically up to down.
+     * @param frameWidth The width of each frame.
+     * @param frameHeight The height of each frame.
+     * @param loopType The way to handle the cycle once it is finished.
+     */
+    public AnimationTemplate(BufferedImage picSheet, int frameWidth, int frameHeight, int loopType) {
+        this.loopType = loopType;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.setGeneralHitbox(0, 0, frameWidth, frameHeight);
+
+        // Create the individual {@code AnimationFrame} objects.
+        int numFrames = picSheet.getHeight() / frameHeight;
+        this.frames = new AnimationFrame[numFrames];
+        for (int i = 0; i < numFrames; i++) {
+            BufferedImage subImage = picSheet.getSubimage(0, i * frameHeight,
+                    frameWidth, frameHeight);
+            this.frames[i] = new AnimationFrame(subImage, this.getReflectionLine());
+        }
+        this.calculateBounds();
+    }
+
+    /**
+     * This constructs an {@code AnimationTemplate} object from file.
+     * @param picSheet The image sheet with each frame in the animation.
+     * @param animationFileName The file containing the information for the animation.
+     * @see AnimationTemplate#loadFromFile
+     */
+    private AnimationTemplate(BufferedImage picSheet, String animationFileName) {
+        this.loopType = AnimationCycle.NO_LOOPING;
+        this.frames = new AnimationFrame[0];
+        this.loadFromFile(picSheet, animationFileName);
+        this.calculateBounds();
+    }
+
+    /**
+     * This method gets the shared {@code AnimationTemplate} of an animation file.
+     * The file is only loaded the first time this method is called with it.
+     * @param picSheet The image sheet with each frame in the animation.
+     * @param animationFileName The file containing the information for the animation.
+     * @return The {@code AnimationTemplate} of the animation.
+     */
+    public static synchronized AnimationTemplate getInstance(BufferedImage picSheet, String animationFileName) {
+        HashMap<String, AnimationTemplate> sheetTemplates = TEMPLATES.get(picSheet);
+        if (sheetTemplates == null) {
+            sheetTemplates = new HashMap<String, AnimationTemplate>();
+            TEMPLATES.put(picSheet, sheetTemplates);
+        }
+
+        AnimationTemplate template = sheetTemplates.get(animationFileName);
+        if (template == null) {
+            template = new AnimationTemplate(picSheet, animationFileName);
+            sheetTemplates.put(animationFileName, template);
+        }
+        return template;
+    }
+
+    /**
+     * This method loads the animation from a file.
+     * <ul>
+     * <li> Frame numbers start from {@code 0}.
+     * <li> All labels should be kept.</li>
+     * <li> Spacing should be kept.</li>
+     * <li> {@code hitboxName} can be changed with the name of any hitbox as long as it has no spaces.</li>
+     * <li> {@code x} and {@code y} can be of type {@code double}, but are rounded down.</li>
+     * <li> {@code n}, {@code width}, and {@code height} should be of type {@code int}.</li>
+     * </ul>
+     * <p>The file should be formatted as follows with values filled in.</p>
+     * <pre>{@code
+     *loopType: NO_LOOPING/LOOP_TO_START/LOOP_BACKWARDS
+     *generalHitbox: x y width height
+     *numFrames: n
+     *FRAME0
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *FRAME1
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *FRAME2
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     * }</pre>
+     * @param picSheet The image sheet with each frame in the animation.
+     * @param animationFileName The file containing the information for the animation.
+     */
+    private void loadFromFile(BufferedImage picSheet, String animationFileName) {
+        BufferedReader input;
+        // Open animation file.
+        try {
+            FileReader animationFile = new FileReader(animationFileName);
+            input = new BufferedReader(animationFile);
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Animation file not found. [" + animationFileName + "]");
+            return;
+        }
+
+        // Load general animation information.
+        int numFrames = 0;
+        try {
+            // Get the looping type.
+            String loopTypeString = input.readLine().split(" ")[1];
+            if (loopTypeString.equals("NO_LOOPING")) {
+                this.loopType = AnimationCycle.NO_LOOPING;
+            } else if (loopTypeString.equals("LOOP_TO_START")) {
+                this.loopType = AnimationCycle.LOOP_TO_START;
+            } else if (loopTypeString.equals("LOOP_BACKWARDS")) {
+                this.loopType = AnimationCycle.LOOP_BACKWARDS;
+            } else {
+                System.out.println("Invalid loop type: [" + loopTypeString + "]");
+                this.loopType = AnimationCycle.NO_LOOPING;
+            }
+
+            // Get the general hitbox.
+            String[] generalHitboxData = input.readLine().split(" ");
+            this.setGeneralHitbox((int) Double.parseDouble(generalHitboxData[1]),
+                    (int) Double.parseDouble(generalHitboxData[2]),
+                    Integer.parseInt(generalHitboxData[3]), Integer.parseInt(generalHitboxData[4]));
+
+            numFrames = Integer.parseInt(input.readLine().split(" ")[1]);
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read animation file (general information).");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect animation file general information format (expected numerical value).");
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file general information format (incorrect number of values).");
+        }
+
+        // Calculate the dimensions of the animation frames.
+        this.frames = new AnimationFrame[numFrames];
+        if (numFrames > 0) {
+            this.frameWidth = picSheet.getWidth();
+            this.frameHeight = picSheet.getHeight() / numFrames;
+        }
+
+        // Create the animation frames.
+        try {
+            for (int i = 0; i < numFrames; i++) {
+                int frameIndex = Integer.parseInt(input.readLine().substring("FRAME".length()));
+                int numHitboxes = Integer.parseInt(input.readLine().split(" ")[1]);
+
+                // Load the current frame's hitboxes.
+                int[][] hitboxes = new int[numHitboxes][];
+                for (int j = 0; j < numHitboxes; j++) {
+                    String[] hitboxData = input.readLine().split(" ");
+                    hitboxes[j] = new int[] {(int) Double.parseDouble(hitboxData[1]),
+                            (int) Double.parseDouble(hitboxData[2]),
+                            Integer.parseInt(hitboxData[3]), Integer.parseInt(hitboxData[4])};
+                }
+
+                this.frames[frameIndex] = new AnimationFrame(picSheet.getSubimage(0,
+                        frameIndex * this.frameHeight, this.frameWidth, this.frameHeight),
+                        hitboxes, this.getReflectionLine());
+            }
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read animation file (animation frames).");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect animation file frames (expected numerical value).");
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file frames (incorrect number of values).");
+        } catch (IndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file frames (incorrect frame number label).");
+        }
+
+        // Check if all frames were properly loaded.
+        boolean allFramesLoaded = true;
+        for (int i = 0; i < numFrames; i++) {
+            if (this.frames[i] == null) {
+                System.out.println("Error: frame " + i + " not loaded.");
+                allFramesLoaded = false;
+            }
+        }
+
+        if (!allFramesLoaded) {
+            System.out.println("Error: Incomplete animation file. [" + animationFileName + "]");
+        }
+
+        // Close animation file.
+        try {
+            input.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Animation file cannot be closed.");
+        }
+    }
+
+    private void setGeneralHitbox(int relX, int relY, int width, int height) {
+        this.generalHitboxRelX = relX;
+        this.generalHitboxRelY = relY;
+        this.generalHitboxWidth = width;
+        this.generalHitboxHeight = height;
+    }
+
+    /**
+     * This method calculates the smallest box that holds the general hitbox and
+     * the hitboxes of every frame, whether or not they are reflected. The general
+     * hitbox does not always hold the frame hitboxes, so it cannot be used alone.
+     */
+    private void calculateBounds() {
+        int left = this.generalHitboxRelX;
+        int top = this.generalHitboxRelY;
+        int right = this.generalHitboxRelX + this.generalHitboxWidth;
+        int bottom = this.generalHitboxRelY + this.generalHitboxHeight;
+
+        for (AnimationFrame frame: this.frames) {
+            if (frame == null) {
+                continue;
+            }
+            for (int i = 0; i < frame.getNumHitboxes(); i++) {
+                int hitboxLeft = Math.min(frame.getHitboxX(i, 0, false), frame.getHitboxX(i, 0, true));
+                int hitboxRight = Math.max(frame.getHitboxX(i, 0, false), frame.getHitboxX(i, 0, true))
+                        + frame.getHitboxWidth(i);
+                int hitboxTop = frame.getHitboxY(i, 0);
+                left = Math.min(left, hitboxLeft);
+                top = Math.min(top, hitboxTop);
+                right = Math.max(right, hitboxRight);
+                bottom = Math.max(bottom, hitboxTop + frame.getHitboxHeight(i));
+            }
+        }
+
+        this.boundsRelX = left;
+        this.boundsRelY = top;
+        this.boundsWidth = right - left;
+        this.boundsHeight = bottom - top;
+    }
+
+    public int getNumFrames() {
+        return this.frames.length;
+    }
+
+    public AnimationFrame getFrame(int index) {
+        return this.frames[index];
+    }
+
+    public int getLoopType() {
+        return this.loopType;
+    }
+
+    public int getFrameWidth() {
+        return this.frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return this.frameHeight;
+    }
+
+    public int getGeneralHitboxRelX() {
+        return this.generalHitboxRelX;
+    }
+
+    public int getGeneralHitboxRelY() {
+        return this.generalHitboxRelY;
+    }
+
+    public int getGeneralHitboxWidth() {
+        return this.generalHitboxWidth;
+    }
+
+    public int getGeneralHitboxHeight() {
+        return this.generalHitboxHeight;
+    }
+
+    public int getBoundsRelX() {
+        return this.boundsRelX;
+    }
+
+    public int getBoundsRelY() {
+        return this.boundsRelY;
+    }
+
+    public int getBoundsWidth() {
+        return this.boundsWidth;
+    }
+
+    public int getBoundsHeight() {
+        return this.boundsHeight;
+    }
+
+    /**
+     * This method creates a general hitbox for an {@code AnimationCycle} playing
+     * this {@code AnimationTemplate}. It describes the general area that the
+     * hitboxes of the frames fall in.
+     * @param anchorPosition The anchor position of the {@code AnimationCycle}.
+     * @return A new {@code RelativeHitbox} object.
+     */
+    public RelativeHitbox createGeneralHitbox(Vector anchorPosition) {
+        return new RelativeHitbox(anchorPosition, new Vector(this.generalHitboxRelX, this.generalHitboxRelY),
+                this.generalHitboxWidth, this.generalHitboxHeight);
+    }
+
+    /**
+     * This method gets the vertical line that the frames are reflected over. It
+     * is the middle of the general hitbox.
+     * @return The x-coordinate of the line, relative to the anchor position.
+     */
+    public int getReflectionLine() {
+        return this.generalHitboxRelX + this.generalHitboxWidth / 2;
+    }
+}
@@ -0,0 +1,125 @@
+import java.awt.geom.AffineTransform;
+
+/**
+ * This class represents the area of the game world that is visible in the window.
+ * It is used to skip drawing objects that fall outside the window, and it counts
+ * how many objects were drawn and skipped (culled) in the current frame.
+ */
+public class Camera {
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+
+    private int numDrawn;
+    private int numCulled;
+
+    /**
+     * This constructs a {@code Camera} object at (0, 0) with the size of the view.
+     * @param width The width of the visible area.
+     * @param height The height of the visible area.
+     */
+    public Camera(int width, int height) {
+        this.x = 0;
+        this.y = 0;
+        this.width = width;
+        this.height = height;
+        this.resetCounts();
+    }
+
+    /**
+     * This method moves this {@code Camera} so that a coordinate is in the middle
+     * of the visible area.
+     * @param centerX The x-coordinate to center on.
+     * @param centerY The y-coordinate to center on.
+     */
+    public void centerOn(int centerX, int centerY) {
+        this.x = centerX - this.width / 2;
+        this.y = centerY - this.height / 2;
+    }
+
+    public int getX() {
+        return this.x;
+    }
+
+    public int getY() {
+        return this.y;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getNumDrawn() {
+        return this.numDrawn;
+    }
+
+    public int getNumCulled() {
+        return this.numCulled;
+    }
+
+    /**
+     * This method creates the transform that moves the visible area to the top-left
+     * of the window.
+     * @return The translation from world coordinates to window coordinates.
+     */
+    public AffineTransform getTransform() {
+        return AffineTransform.getTranslateInstance(-this.x, -this.y);
+    }
+
+    /**
+     * This method resets the drawn and culled counts. It should be called at the
+     * start of each frame.
+     */
+    public void resetCounts() {
+        this.numDrawn = 0;
+        this.numCulled = 0;
+    }
+
+    /**
+     * This method checks if a rectangle overlaps with the visible area.
+     * @param left The left x-coordinate of the rectangle.
+     * @param top The top y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return {@code true} if it is visible, {@code false} otherwise.
+     */
+    public boolean checkVisible(int left, int top, int width, int height) {
+        return left < this.x + this.width && this.x < left + width &&
+                top < this.y + this.height && this.y < top + height;
+    }
+
+    /**
+     * This method checks if a rectangle should be drawn, and counts it as either
+     * drawn or culled.
+     * @param left The left x-coordinate of the rectangle.
+     * @param top The top y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return {@code true} if it should be drawn, {@code false} if it should be skipped.
+     */
+    public boolean shouldDraw(int left, int top, int width, int height) {
+        if (this.checkVisible(left, top, width, height)) {
+            this.numDrawn++;
+            return true;
+        }
+        this.numCulled++;
+        return false;
+    }
+
+    /**
+     * This method checks if an {@code Entity} should be drawn, and counts it as
+     * either drawn or culled. The bounds of the {@code Entity} are its position
+     * and dimensions.
+     * @param entity The {@code Entity} to check.
+     * @return {@code true} if it should be drawn, {@code false} if it should be skipped.
+     */
+    public boolean shouldDraw(Entity entity) {
+        return this.shouldDraw((int) entity.getX(), (int) entity.getY(),
+                entity.getWidth(), entity.getHeight());
+    }
+}
@@ -1,4 +1,7 @@
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.BasicStroke;
+import java.awt.image.BufferedImage;
 
 import java.io.FileReader;
 import java.io.BufferedReader;
@@ -7,23 +10,41 @@ import java.io.IOException;
 import java.io.FileNotFoundException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This class represents a small part of the {@code Map}. A {@code Chunk} consists
  * of a 2-dimensional grid of tiles. This class allows for easier organization and
  * collision detection. A {@code Chunk} can be read from a custom chunk file.
+ * <p>Tiles are stored compactly as the ids of their {@code TileType}s. {@code Tile} 
+ * objects are only created on demand, for example for debugging or editing.</p>
  * @see Map
  * @see Tile
+ * @see TileType
  */
 public class Chunk implements Drawable, Debuggable, Collidable {
     // Number of tiles horizontally and vertically. (Eg, 16x16)
     public static final int LENGTH = 16;
+    // About how many bytes a chunk takes besides its tile arrays, for its hitbox, position and headers.
+    private static final int OBJECT_SIZE = 176;
 
     private String fileName;
     private Hitbox hitbox;
-    private Tile[][] tiles;
-    private ArrayList<Tile> solidTiles;
+    // The tile type id of each tile. Tile (x, y) is at index y * LENGTH + x.
+    private byte[] tileTypes;
+    // One bit per tile, set if the tile is solid. Tile (x, y) is bit y * LENGTH + x.
+    private long[] solidBits;
     private Vector mapPosition;
+    private boolean active;
+    // Whether a tile has changed since the tiles were loaded or saved.
+    private boolean modified;
+    private ChunkImage image;
+    // A small copy of the tiles for the minimap, and how many times smaller it is.
+    private BufferedImage minimapImage;
+    private double minimapScale;
+    // The chunks used just before and after this one, while it is in a ChunkCache.
+    private Chunk prevCached;
+    private Chunk nextCached;
 
     /**
      * This constructs a {@code Chunk} object without loading the tiles or position.
@@ -31,8 +52,40 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     public Chunk(String chunkFileName) {
         this.fileName = chunkFileName;
         this.hitbox = null;
-        this.tiles = new Tile[LENGTH][LENGTH];
+        this.tileTypes = new byte[LENGTH * LENGTH];
+        this.solidBits = new long[(LENGTH * LENGTH + Long.SIZE - 1) / Long.SIZE];
         this.mapPosition = null;
+        this.active = false;
+        this.modified = false;
+        this.image = null;
+        this.minimapImage = null;
+        this.minimapScale = 0;
+        this.prevCached = null;
+        this.nextCached = null;
+    }
+
+    /**
+     * This constructs a {@code Chunk} object at a map position. Every tile is
+     * unknown until the tiles are set.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @see Chunk#setTileTypeIds
+     */
+    public Chunk(int mapX, int mapY) {
+        this((String) null);
+        this.setMapPos(mapX, mapY);
+    }
+
+    /**
+     * This method sets the map position of this {@code Chunk} and creates its hitbox.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     */
+    private void setMapPos(int mapX, int mapY) {
+        this.mapPosition = new Vector(mapX, mapY);
+        this.hitbox = new Hitbox(mapX * LENGTH * Tile.LENGTH, mapY * LENGTH * Tile.LENGTH,
+                LENGTH * Tile.LENGTH, LENGTH * Tile.LENGTH);
+        this.hitbox.setColor(Const.GREEN);
     }
 
     /**
@@ -68,24 +121,20 @@ public class Chunk implements Drawable, Debuggable, Collidable {
 
         // Load chunk.
         try {
-            this.mapPosition = new Vector(Integer.parseInt(input.readLine()), 
-                    Integer.parseInt(input.readLine()));
-            this.hitbox = new Hitbox(this.getPos(), LENGTH * Tile.LENGTH, LENGTH * Tile.LENGTH);
-            this.hitbox.setColor(Const.GREEN);
-            Vector offset = Map.calculateRealPosition(this.mapPosition);
+            int mapX = Integer.parseInt(input.readLine());
+            int mapY = Integer.parseInt(input.readLine());
+            this.setMapPos(mapX, mapY);
             
             for (int y = 0; y < LENGTH; y++) {
                 String line = input.readLine();
                 for (int x = 0; x < LENGTH; x++) {
-                    Vector tilePosition = new Vector(offset.getX() + x * Tile.LENGTH,
-                            offset.getY() + y * Tile.LENGTH);
-                    char tileType = line.charAt(x);
-                    this.tiles[y][x] = new Tile(tilePosition, tileType);
+                    this.tileTypes[y * LENGTH + x] = TileType.fromSymbol(line.charAt(x)).getId();
                 }
             }
         } catch (IOException ex) {
             System.out.println("Error: Could not read chunk file.");
         }
+        this.finishLoadingTiles();
 
         // Close chunk file.
         try {
@@ -103,6 +152,34 @@ public class Chunk implements Drawable, Debuggable, Collidable {
         return (int) this.mapPosition.getY() * LENGTH;
     }
 
+    public int getMapX() {
+        return (int) this.mapPosition.getX();
+    }
+
+    public int getMapY() {
+        return (int) this.mapPosition.getY();
+    }
+
+    /**
+     * This method checks if the position of this {@code Chunk} has been loaded.
+     * @return {@code true} if it has been loaded, {@code false} otherwise.
+     */
+    public boolean checkLoaded() {
+        return this.mapPosition != null;
+    }
+
+    /**
+     * This method checks if this {@code Chunk} is within render distance.
+     * @return {@code true} if it is active, {@code false} otherwise.
+     */
+    public boolean checkActive() {
+        return this.active;
+    }
+
+    public void setActive(boolean isActive) {
+        this.active = isActive;
+    }
+
     /**
      * This method creates a copy of the real position of this {@code Chunk}, 
      * as opposed to the map position. 
@@ -124,27 +201,173 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     }
 
     /**
-     * This method gets all the solid {@code Tile} objects in this {@code Chunk}.
-     * @return An {@code ArrayList} object containg all the solid {@code Tile}s.
+     * This method checks if a tile of this {@code Chunk} has changed since the
+     * tiles were loaded or last saved.
+     * @return {@code true} if it has changed, {@code false} otherwise.
      */
-    public ArrayList<Tile> getSolidTiles() {
-        // Check if the solid tiles have already been calculated.
-        if (this.solidTiles != null) {
-            return this.solidTiles;
+    public boolean checkModified() {
+        return this.modified;
+    }
+
+    public void setModified(boolean isModified) {
+        this.modified = isModified;
+    }
+
+    public Chunk getPrevCached() {
+        return this.prevCached;
+    }
+
+    public void setPrevCached(Chunk chunk) {
+        this.prevCached = chunk;
+    }
+
+    public Chunk getNextCached() {
+        return this.nextCached;
+    }
+
+    public void setNextCached(Chunk chunk) {
+        this.nextCached = chunk;
+    }
+
+    /**
+     * This method estimates how much memory this {@code Chunk} takes, including
+     * the minimap image if it has one. The pre-rendered image of the tiles is
+     * not counted, since it is released once this {@code Chunk} is not drawn.
+     * @return The estimated number of bytes.
+     */
+    public long calculateMemorySize() {
+        long size = OBJECT_SIZE + this.tileTypes.length + (long) this.solidBits.length * Long.BYTES;
+        if (this.minimapImage != null) {
+            size += (long) this.minimapImage.getWidth() * this.minimapImage.getHeight() * Integer.BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * This method gets the type of a tile in this {@code Chunk}.
+     * @param tileX The x-coordinate of the tile within this {@code Chunk}.
+     * @param tileY The y-coordinate of the tile within this {@code Chunk}.
+     * @return The {@code TileType} of the tile.
+     */
+    public TileType getTileType(int tileX, int tileY) {
+        return TileType.fromId(this.tileTypes[tileY * LENGTH + tileX]);
+    }
+
+    /**
+     * This method sets the type of a tile in this {@code Chunk}.
+     * @param tileX The x-coordinate of the tile within this {@code Chunk}.
+     * @param tileY The y-coordinate of the tile within this {@code Chunk}.
+     * @param type The new {@code TileType} of the tile.
+     */
+    public void setTileType(int tileX, int tileY, TileType type) {
+        this.tileTypes[tileY * LENGTH + tileX] = type.getId();
+        this.setSolidBit(tileX, tileY, type.checkSolid());
+        this.modified = true;
+
+        // Bake the pre-rendered tiles again with the new tile.
+        if (this.image != null) {
+            this.image.invalidate();
+        }
+        this.minimapImage = null;
+    }
+
+    /**
+     * This method copies the tile type ids of every tile in this {@code Chunk}.
+     * @return A new array of ids, where tile (x, y) is at index y * LENGTH + x.
+     */
+    public byte[] getTileTypeIds() {
+        return this.tileTypes.clone();
+    }
+
+    /**
+     * This method loads every tile in this {@code Chunk} from tile type ids at
+     * once. Since the tiles match what they were loaded from, this {@code Chunk}
+     * does not count as modified afterwards.
+     * @param ids The ids, where tile (x, y) is at index y * LENGTH + x.
+     * @see TileType#getId
+     */
+    public void setTileTypeIds(byte[] ids) {
+        System.arraycopy(ids, 0, this.tileTypes, 0, this.tileTypes.length);
+        this.finishLoadingTiles();
+    }
+
+    /**
+     * This method rebuilds the solidity bitset after every tile type id was
+     * loaded, and marks this {@code Chunk} as unchanged.
+     */
+    private void finishLoadingTiles() {
+        Arrays.fill(this.solidBits, 0);
+        for (int i = 0; i < this.tileTypes.length; i++) {
+            if (TileType.fromId(this.tileTypes[i]).checkSolid()) {
+                this.solidBits[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        this.modified = false;
+
+        if (this.image != null) {
+            this.image.invalidate();
         }
+        this.minimapImage = null;
+    }
+
+    /**
+     * This method creates a {@code Tile} object for a tile in this {@code Chunk}.
+     * Changing the {@code Tile} does not change this {@code Chunk}.
+     * @param tileX The x-coordinate of the tile within this {@code Chunk}.
+     * @param tileY The y-coordinate of the tile within this {@code Chunk}.
+     * @return A new {@code Tile} at the real position of the tile.
+     */
+    public Tile getTile(int tileX, int tileY) {
+        Vector tilePosition = new Vector((this.getX() + tileX) * Tile.LENGTH, 
+                (this.getY() + tileY) * Tile.LENGTH);
+        return new Tile(tilePosition, this.getTileType(tileX, tileY).getSymbol());
+    }
 
-        this.solidTiles = new ArrayList<Tile>();
+    /**
+     * This method creates {@code Tile} objects for all the solid tiles in this 
+     * {@code Chunk}. It is meant for debugging, since collisions are checked with
+     * {@link Chunk#intersectsWithSolid(int, int, int, int)}.
+     * @return An {@code ArrayList} object containg all the solid {@code Tile}s.
+     */
+    public ArrayList<Tile> getSolidTiles() {
+        ArrayList<Tile> solidTiles = new ArrayList<Tile>();
 
         // Check if each tile is solid or not.
         for (int y = 0; y < LENGTH; y++) {
             for (int x = 0; x < LENGTH; x++) {
-                if (this.tiles[y][x].checkSolid()) {
-                    this.solidTiles.add(this.tiles[y][x]);
+                if (this.checkSolid(x, y)) {
+                    solidTiles.add(this.getTile(x, y));
                 }
             }
         }
 
-        return this.solidTiles;
+        return solidTiles;
+    }
+
+    /**
+     * This method checks whether a tile in this {@code Chunk} is solid.
+     * @param tileX The x-coordinate of the tile within this {@code Chunk}.
+     * @param tileY The y-coordinate of the tile within this {@code Chunk}.
+     * @return {@code true} if the tile is solid, {@code false} otherwise.
+     */
+    public boolean checkSolid(int tileX, int tileY) {
+        int bit = tileY * LENGTH + tileX;
+        return (this.solidBits[bit / Long.SIZE] & (1L << (bit % Long.SIZE))) != 0;
+    }
+
+    /**
+     * This method sets whether a tile in the solidity bitset is solid.
+     * @param tileX The x-coordinate of the tile within this {@code Chunk}.
+     * @param tileY The y-coordinate of the tile within this {@code Chunk}.
+     * @param isSolid Whether the tile is solid.
+     */
+    private void setSolidBit(int tileX, int tileY, boolean isSolid) {
+        int bit = tileY * LENGTH + tileX;
+        if (isSolid) {
+            this.solidBits[bit / Long.SIZE] |= 1L << (bit % Long.SIZE);
+        } else {
+            this.solidBits[bit / Long.SIZE] &= ~(1L << (bit % Long.SIZE));
+        }
     }
 
     /**
@@ -154,11 +377,33 @@ public class Chunk implements Drawable, Debuggable, Collidable {
      * @return {@code true} if they intersect, {@code false} otherwise.
      */
     public boolean intersectsWithSolid(Hitbox other) {
-        this.getSolidTiles();
+        return this.intersectsWithSolid(other.getX(), other.getY(), 
+                other.getX() + other.getWidth(), other.getY() + other.getHeight());
+    }
+
+    /**
+     * This method determines whether a box intersects with a solid tile in this
+     * {@code Chunk}. Only the tiles under the box are checked. Like {@code Hitbox}, 
+     * touching edges count as intersecting.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param right The right x-coordinate of the box.
+     * @param bottom The bottom y-coordinate of the box.
+     * @return {@code true} if they intersect, {@code false} otherwise.
+     * @see Hitbox#intersects(Hitbox)
+     */
+    public boolean intersectsWithSolid(int left, int top, int right, int bottom) {
+        // Find the tiles under the box, relative to this chunk.
+        int minTileX = Math.max(0, Map.calculateTileCoordinate(left - 1) - this.getX());
+        int maxTileX = Math.min(LENGTH - 1, Map.calculateTileCoordinate(right) - this.getX());
+        int minTileY = Math.max(0, Map.calculateTileCoordinate(top - 1) - this.getY());
+        int maxTileY = Math.min(LENGTH - 1, Map.calculateTileCoordinate(bottom) - this.getY());
 
-        for (Tile tile: this.solidTiles) {
-            if (tile.intersects(other)) {
-                return true;
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                if (this.checkSolid(tileX, tileY)) {
+                    return true;
+                }
             }
         }
         return false;
@@ -181,13 +426,79 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     }
     
     /**
-     * This method draws the tiles onto a surface.
+     * This method checks whether every tile in this {@code Chunk} has a sprite.
+     * @return {@code true} if every tile gets drawn, {@code false} otherwise.
+     */
+    public boolean checkFullyDrawn() {
+        for (int i = 0; i < this.tileTypes.length; i++) {
+            if (TileType.fromId(this.tileTypes[i]).getSprite() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method releases the pre-rendered image of the tiles. It is meant to 
+     * be called once this {@code Chunk} is no longer being drawn.
+     * @see ChunkImage
+     */
+    public void releaseImage() {
+        if (this.image != null) {
+            this.image.flush();
+            this.image = null;
+        }
+        this.minimapImage = null;
+    }
+
+    /**
+     * This method gets a small image of the tiles of this {@code Chunk} for the
+     * minimap. The image is made the first time it is needed, and again after a
+     * tile changes. Tiles without a sprite are left transparent.
+     * @param scale How many times smaller than the real tiles the image is.
+     * @return The scaled down image of the tiles.
+     * @see Minimap
+     */
+    public BufferedImage getMinimapImage(double scale) {
+        if (this.minimapImage == null || this.minimapScale != scale) {
+            int size = (int) Math.ceil(LENGTH * Tile.LENGTH / scale);
+            this.minimapImage = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            this.minimapScale = scale;
+
+            Graphics2D graphics = this.minimapImage.createGraphics();
+            graphics.scale(1 / scale, 1 / scale);
+            this.drawTiles(graphics, 0, 0);
+            graphics.dispose();
+        }
+        return this.minimapImage;
+    }
+
+    /**
+     * This method draws the tiles onto a surface using a pre-rendered image 
+     * of this {@code Chunk}. The image is made the first time it is drawn.
+     * @see ChunkImage
      */
     @Override
     public void draw(Graphics graphics) {
-        for (Tile[] tileRow: this.tiles) {
-            for (Tile tile: tileRow) {
-                tile.draw(graphics);
+        if (this.image == null) {
+            this.image = new ChunkImage(this);
+        }
+        this.image.draw(graphics, this.getX() * Tile.LENGTH, this.getY() * Tile.LENGTH);
+    }
+
+    /**
+     * This method draws each tile onto a surface individually.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param originX The x-coordinate to draw the top-left tile at.
+     * @param originY The y-coordinate to draw the top-left tile at.
+     */
+    public void drawTiles(Graphics graphics, int originX, int originY) {
+        for (int y = 0; y < LENGTH; y++) {
+            for (int x = 0; x < LENGTH; x++) {
+                Sprite sprite = this.getTileType(x, y).getSprite();
+                if (sprite != null) {
+                    sprite.draw(graphics, originX + x * Tile.LENGTH, originY + y * Tile.LENGTH);
+                }
             }
         }
     }
@@ -197,16 +508,44 @@ public class Chunk implements Drawable, Debuggable, Collidable {
      */
     @Override
     public void drawDebugInfo(Graphics graphics) {
-        for (Tile[] tileRow: this.tiles) {
-            for (Tile tile: tileRow) {
-                if (tile.checkSolid()) {
-                    tile.drawDebugInfo(graphics);
-                }
+        for (int y = 0; y < LENGTH; y++) {
+            this.drawRowDebugInfo(graphics, y);
+        }
+        this.hitbox.drawDebugInfo(graphics);
+    }
+
+    /**
+     * This method draws the hitboxes of solid tiles within this {@code Chunk} onto 
+     * a surface, skipping the rows of tiles that are not visible to a {@code Camera}.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} used to skip tile rows outside the view.
+     */
+    public void drawDebugInfo(Graphics graphics, Camera camera) {
+        for (int y = 0; y < LENGTH; y++) {
+            if (camera.shouldDraw(this.getX() * Tile.LENGTH, (this.getY() + y) * Tile.LENGTH, 
+                    LENGTH * Tile.LENGTH, Tile.LENGTH)) {
+                this.drawRowDebugInfo(graphics, y);
             }
         }
         this.hitbox.drawDebugInfo(graphics);
     }
 
+    /**
+     * This method draws the hitboxes of the solid tiles in one row of this {@code Chunk}.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param y The y-coordinate of the row within this {@code Chunk}.
+     */
+    private void drawRowDebugInfo(Graphics graphics, int y) {
+        ((Graphics2D) graphics).setStroke(new BasicStroke(1));
+        for (int x = 0; x < LENGTH; x++) {
+            if (this.checkSolid(x, y)) {
+                graphics.setColor(this.getTileType(x, y).getDebugColor());
+                graphics.drawRect((this.getX() + x) * Tile.LENGTH, 
+                        (this.getY() + y) * Tile.LENGTH, Tile.LENGTH, Tile.LENGTH);
+            }
+        }
+    }
+
     /**
      * This method returns a string representation of this {@code Chunk} in the 
      * format "Chunk (x, y)" where (x, y) is this {@code Chunk}'s map position.
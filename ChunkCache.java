@@ -0,0 +1,181 @@
+/**
+ * This class keeps chunks that are no longer near the camera in memory, up to a
+ * budget of bytes, so coming back to them does not load them again. Once the
+ * budget is used up, the least recently used chunks are evicted. Chunks whose
+ * tiles changed are saved to a {@code ChunkStore} before they are evicted, so
+ * the changes are loaded again with them.
+ * <p>
+ * The chunks are linked from least to most recently used through the chunks
+ * themselves, so a hit or an eviction never searches the cache. The hits,
+ * misses and evictions are counted for the debug overlay. It is only used on
+ * the game thread.
+ * </p>
+ * @see Map
+ */
+public class ChunkCache {
+    private ChunkStore store;
+    private long budget;
+    private long usedBytes;
+    private ChunkIndex chunkIndex;
+    // The ends of the list of cached chunks, from least to most recently used.
+    private Chunk oldestChunk;
+    private Chunk newestChunk;
+    private int numChunks;
+    private long numHits;
+    private long numMisses;
+    private long numEvictions;
+    private long numSaved;
+
+    /**
+     * This constructs an empty {@code ChunkCache} object.
+     * @param budget The most bytes the cached chunks can take.
+     * @param store Where changed chunks are saved before they are evicted.
+     * @see Chunk#calculateMemorySize
+     */
+    public ChunkCache(long budget, ChunkStore store) {
+        this.store = store;
+        this.budget = budget;
+        this.usedBytes = 0;
+        this.chunkIndex = new ChunkIndex();
+        this.oldestChunk = null;
+        this.newestChunk = null;
+        this.numChunks = 0;
+        this.numHits = 0;
+        this.numMisses = 0;
+        this.numEvictions = 0;
+        this.numSaved = 0;
+    }
+
+    /**
+     * This method adds a chunk that is no longer used as the most recently used
+     * one, and evicts chunks until the cache fits in its budget again.
+     * @param chunk The unactive {@code Chunk} to add.
+     */
+    public void put(Chunk chunk) {
+        Chunk replacedChunk = this.chunkIndex.remove(chunk.getMapX(), chunk.getMapY());
+        if (replacedChunk != null) {
+            this.unlink(replacedChunk);
+            this.usedBytes -= replacedChunk.calculateMemorySize();
+        }
+
+        this.chunkIndex.put(chunk.getMapX(), chunk.getMapY(), chunk);
+        this.linkNewest(chunk);
+        this.usedBytes += chunk.calculateMemorySize();
+        this.evictOverBudget();
+    }
+
+    /**
+     * This method takes the chunk at a map position out of the cache, so it
+     * can be used again.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The cached {@code Chunk}, or {@code null} if it has to be loaded.
+     */
+    public Chunk take(int mapX, int mapY) {
+        Chunk chunk = this.chunkIndex.remove(mapX, mapY);
+        if (chunk == null) {
+            this.numMisses++;
+            return null;
+        }
+
+        this.unlink(chunk);
+        this.usedBytes -= chunk.calculateMemorySize();
+        this.numHits++;
+        return chunk;
+    }
+
+    /**
+     * This method adds a chunk to the end of the list as the most recently used.
+     * @param chunk The {@code Chunk} to add.
+     */
+    private void linkNewest(Chunk chunk) {
+        chunk.setPrevCached(this.newestChunk);
+        chunk.setNextCached(null);
+        if (this.newestChunk == null) {
+            this.oldestChunk = chunk;
+        } else {
+            this.newestChunk.setNextCached(chunk);
+        }
+        this.newestChunk = chunk;
+        this.numChunks++;
+    }
+
+    /**
+     * This method removes a chunk from the list, joining its neighbours together.
+     * @param chunk The cached {@code Chunk} to remove.
+     */
+    private void unlink(Chunk chunk) {
+        Chunk prevChunk = chunk.getPrevCached();
+        Chunk nextChunk = chunk.getNextCached();
+        if (prevChunk == null) {
+            this.oldestChunk = nextChunk;
+        } else {
+            prevChunk.setNextCached(nextChunk);
+        }
+        if (nextChunk == null) {
+            this.newestChunk = prevChunk;
+        } else {
+            nextChunk.setPrevCached(prevChunk);
+        }
+        chunk.setPrevCached(null);
+        chunk.setNextCached(null);
+        this.numChunks--;
+    }
+
+    /**
+     * This method evicts the least recently used chunks until the cached chunks
+     * fit in the budget. Changed chunks are handed to the store first.
+     */
+    private void evictOverBudget() {
+        while (this.usedBytes > this.budget && this.oldestChunk != null) {
+            Chunk chunk = this.oldestChunk;
+            this.unlink(chunk);
+            this.chunkIndex.remove(chunk.getMapX(), chunk.getMapY());
+            this.usedBytes -= chunk.calculateMemorySize();
+            if (chunk.checkModified()) {
+                this.store.save(chunk);
+                chunk.setModified(false);
+                this.numSaved++;
+            }
+            this.numEvictions++;
+        }
+    }
+
+    public long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * This method changes the budget, evicting chunks right away if they no
+     * longer fit.
+     * @param budget The most bytes the cached chunks can take.
+     */
+    public void setBudget(long budget) {
+        this.budget = budget;
+        this.evictOverBudget();
+    }
+
+    public long getUsedBytes() {
+        return this.usedBytes;
+    }
+
+    public int getNumChunks() {
+        return this.numChunks;
+    }
+
+    public long getNumHits() {
+        return this.numHits;
+    }
+
+    public long getNumMisses() {
+        return this.numMisses;
+    }
+
+    public long getNumEvictions() {
+        return this.numEvictions;
+    }
+
+    public long getNumSaved() {
+        return this.numSaved;
+    }
+}
@@ -0,0 +1,158 @@
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * This class stores a pre-rendered image of the tiles in a {@code Chunk}, so the
+ * whole {@code Chunk} can be drawn with one image instead of one per tile. The
+ * tiles are baked into a compatible {@code BufferedImage}. When drawing to the
+ * screen, a {@code VolatileImage} copy is kept for faster drawing. If the contents
+ * of the {@code VolatileImage} are lost, it is restored from the
+ * {@code BufferedImage}, which is drawn directly in the meantime.
+ * @see Chunk
+ */
+public class ChunkImage {
+    // The number of times to try drawing the volatile image before falling back.
+    private static final int MAX_VOLATILE_ATTEMPTS = 2;
+
+    private Chunk chunk;
+    private BufferedImage bakedImage;
+    private VolatileImage volatileImage;
+    private boolean bakeNeeded;
+
+    /**
+     * This constructs a {@code ChunkImage} object for a {@code Chunk}. The tiles
+     * are not baked until the first time this {@code ChunkImage} is drawn.
+     * @param chunk The {@code Chunk} to pre-render.
+     */
+    public ChunkImage(Chunk chunk) {
+        this.chunk = chunk;
+        this.bakedImage = null;
+        this.volatileImage = null;
+        this.bakeNeeded = true;
+    }
+
+    public int getWidth() {
+        return Chunk.LENGTH * Tile.LENGTH;
+    }
+
+    public int getHeight() {
+        return Chunk.LENGTH * Tile.LENGTH;
+    }
+
+    /**
+     * This method marks the tiles as changed, so they are baked again the next
+     * time this {@code ChunkImage} is drawn.
+     */
+    public void invalidate() {
+        this.bakeNeeded = true;
+    }
+
+    /**
+     * This method releases the baked images. They are made again the next time
+     * this {@code ChunkImage} is drawn.
+     */
+    public void flush() {
+        if (this.bakedImage != null) {
+            this.bakedImage.flush();
+            this.bakedImage = null;
+        }
+        if (this.volatileImage != null) {
+            this.volatileImage.flush();
+            this.volatileImage = null;
+        }
+        this.bakeNeeded = true;
+    }
+
+    /**
+     * This method draws the tiles of the {@code Chunk} into a new image compatible
+     * with a graphics configuration.
+     * @param config The graphics configuration of the surface being drawn on.
+     */
+    private void bake(GraphicsConfiguration config) {
+        this.flush();
+
+        int transparency = Transparency.OPAQUE;
+        if (!this.chunk.checkFullyDrawn()) {
+            transparency = Transparency.TRANSLUCENT;
+        }
+        this.bakedImage = config.createCompatibleImage(this.getWidth(), this.getHeight(), transparency);
+
+        Graphics2D graphics = this.bakedImage.createGraphics();
+        this.chunk.drawTiles(graphics, 0, 0);
+        graphics.dispose();
+
+        this.bakeNeeded = false;
+    }
+
+    /**
+     * This method draws the baked tiles onto a surface.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param x The top-left x-coordinate to draw at.
+     * @param y The top-left y-coordinate to draw at.
+     */
+    public void draw(Graphics graphics, int x, int y) {
+        GraphicsConfiguration config = ((Graphics2D) graphics).getDeviceConfiguration();
+        if (this.bakeNeeded || this.bakedImage == null) {
+            this.bake(config);
+        }
+
+        // Off-screen surfaces are drawn straight from the baked image.
+        if (config.getDevice().getType() == GraphicsDevice.TYPE_IMAGE_BUFFER) {
+            graphics.drawImage(this.bakedImage, x, y, null);
+            return;
+        }
+
+        for (int i = 0; i < MAX_VOLATILE_ATTEMPTS; i++) {
+            if (this.drawVolatile(graphics, config, x, y)) {
+                return;
+            }
+        }
+
+        // Fall back to the baked image if the volatile image keeps getting lost.
+        graphics.drawImage(this.bakedImage, x, y, null);
+    }
+
+    /**
+     * This method tries to draw the volatile copy of the baked tiles, restoring
+     * it first if needed.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param config The graphics configuration of the surface.
+     * @param x The top-left x-coordinate to draw at.
+     * @param y The top-left y-coordinate to draw at.
+     * @return {@code true} if it was drawn, {@code false} if the contents were lost.
+     */
+    private boolean drawVolatile(Graphics graphics, GraphicsConfiguration config, int x, int y) {
+        boolean restoreNeeded = false;
+
+        if (this.volatileImage == null) {
+            this.volatileImage = config.createCompatibleVolatileImage(this.getWidth(),
+                    this.getHeight(), this.bakedImage.getTransparency());
+            restoreNeeded = true;
+        }
+
+        int status = this.volatileImage.validate(config);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            this.volatileImage.flush();
+            this.volatileImage = config.createCompatibleVolatileImage(this.getWidth(),
+                    this.getHeight(), this.bakedImage.getTransparency());
+            restoreNeeded = true;
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            restoreNeeded = true;
+        }
+
+        // Copy the baked tiles into the volatile image.
+        if (restoreNeeded) {
+            Graphics2D volatileGraphics = this.volatileImage.createGraphics();
+            volatileGraphics.drawImage(this.bakedImage, 0, 0, null);
+            volatileGraphics.dispose();
+        }
+
+        graphics.drawImage(this.volatileImage, x, y, null);
+        return !this.volatileImage.contentsLost();
+    }
+}
@@ -0,0 +1,205 @@
+import java.util.Arrays;
+
+/**
+ * This class is a hash table that finds a {@code Chunk} from its map position.
+ * The map position is packed into a single {@code long} key and the table uses
+ * open addressing with linear probing, so a lookup does not allocate or scan
+ * every chunk in the {@code Map}.
+ * @see Map
+ * @see Chunk
+ */
+public class ChunkIndex {
+    private static final int DEFAULT_CAPACITY = 64;
+    // The table grows once it is more than this fraction full.
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private Chunk[] chunks;
+    private int size;
+
+    /**
+     * This constructs an empty {@code ChunkIndex} object.
+     */
+    public ChunkIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This constructs an empty {@code ChunkIndex} object with room for a number
+     * of chunks before it has to grow.
+     * @param expectedChunks The number of chunks expected to be stored.
+     */
+    public ChunkIndex(int expectedChunks) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * MAX_LOAD_FACTOR < expectedChunks) {
+            capacity *= 2;
+        }
+        this.keys = new long[capacity];
+        this.chunks = new Chunk[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * This method packs a map position into a single key. The x-coordinate is
+     * stored in the upper 32 bits and the y-coordinate in the lower 32 bits.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The packed key.
+     */
+    public static long packKey(int mapX, int mapY) {
+        return ((long) mapX << 32) | (mapY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * This method gets the {@code Chunk} at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The {@code Chunk} at the map position, {@code null} if there is none.
+     */
+    public Chunk get(int mapX, int mapY) {
+        long key = packKey(mapX, mapY);
+        int mask = this.keys.length - 1;
+
+        for (int slot = hash(key) & mask; this.chunks[slot] != null; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.chunks[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method checks if there is a {@code Chunk} at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if there is a {@code Chunk}, {@code false} otherwise.
+     */
+    public boolean contains(int mapX, int mapY) {
+        return this.get(mapX, mapY) != null;
+    }
+
+    /**
+     * This method stores a {@code Chunk} at a map position. Any {@code Chunk}
+     * already stored at that position gets replaced.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @param chunk The {@code Chunk} to store.
+     */
+    public void put(int mapX, int mapY, Chunk chunk) {
+        if (chunk == null) {
+            this.remove(mapX, mapY);
+            return;
+        }
+
+        if (this.size + 1 > this.keys.length * MAX_LOAD_FACTOR) {
+            this.resize(this.keys.length * 2);
+        }
+
+        long key = packKey(mapX, mapY);
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+
+        // Find the key or the first empty slot.
+        while (this.chunks[slot] != null) {
+            if (this.keys[slot] == key) {
+                this.chunks[slot] = chunk;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        this.keys[slot] = key;
+        this.chunks[slot] = chunk;
+        this.size++;
+    }
+
+    /**
+     * This method removes the {@code Chunk} at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The removed {@code Chunk}, {@code null} if there was none.
+     */
+    public Chunk remove(int mapX, int mapY) {
+        long key = packKey(mapX, mapY);
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (this.chunks[slot] != null && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        Chunk removedChunk = this.chunks[slot];
+        if (removedChunk == null) {
+            return null;
+        }
+
+        // Shift back the entries after the removed slot so probing still finds them.
+        int emptySlot = slot;
+        slot = (slot + 1) & mask;
+        while (this.chunks[slot] != null) {
+            int homeSlot = hash(this.keys[slot]) & mask;
+            boolean canMove = (emptySlot <= slot)
+                    ? (homeSlot <= emptySlot || homeSlot > slot)
+                    : (homeSlot <= emptySlot && homeSlot > slot);
+            if (canMove) {
+                this.keys[emptySlot] = this.keys[slot];
+                this.chunks[emptySlot] = this.chunks[slot];
+                emptySlot = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.chunks[emptySlot] = null;
+        this.size--;
+
+        return removedChunk;
+    }
+
+    /**
+     * This method removes every {@code Chunk} from this {@code ChunkIndex}.
+     */
+    public void clear() {
+        Arrays.fill(this.chunks, null);
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * This method rebuilds the table with a new capacity.
+     * @param newCapacity The new capacity, which must be a power of two.
+     */
+    private void resize(int newCapacity) {
+        long[] oldKeys = this.keys;
+        Chunk[] oldChunks = this.chunks;
+
+        this.keys = new long[newCapacity];
+        this.chunks = new Chunk[newCapacity];
+        int mask = newCapacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldChunks[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (this.chunks[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.chunks[slot] = oldChunks[i];
+            }
+        }
+    }
+
+    /**
+     * This method mixes the bits of a key so that nearby map positions spread
+     * out across the table.
+     * @param key The packed key.
+     * @return The hash of the key.
+     */
+    public static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * This interface contains the required methods for an object to supply the
+ * chunks of a {@code Map} as they are needed. The methods may be called from
+ * several threads at once.
+ * @see Map#addProvider
+ */
+public interface ChunkProvider {
+    /**
+     * This method checks if there is a chunk at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if there is a chunk, {@code false} otherwise.
+     */
+    public boolean checkContains(int mapX, int mapY);
+    /**
+     * This method creates the chunk at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return A new {@code Chunk}, or {@code null} if there is none.
+     */
+    public Chunk loadChunk(int mapX, int mapY);
+}
@@ -0,0 +1,201 @@
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps the chunks whose tiles changed after they were loaded, so
+ * that a changed chunk can leave memory and be loaded again later without
+ * losing the changes. Each chunk is saved as a binary map file of one chunk in
+ * a temporary directory, which is deleted when the program ends.
+ * <p>
+ * Saving only copies the tiles, and the files are written later by a
+ * background thread, so the game never waits for the disk. Until its file is
+ * written, a saved chunk is loaded from the copied tiles.
+ * </p>
+ * <p>
+ * Its chunks replace the chunks of every other provider, and its methods may be
+ * called from several threads at once.
+ * </p>
+ * @see ChunkCache
+ * @see MapFile
+ */
+public class ChunkStore implements ChunkProvider {
+    private File directory;
+    // The packed map positions of the chunks that have been saved.
+    private HashSet<Long> savedKeys;
+    // The tiles of the saved chunks whose files have not been written yet, by packed map position.
+    private HashMap<Long, byte[]> unwrittenTiles;
+    // Writes the files one at a time, in the order the chunks were saved.
+    private ThreadPoolExecutor writer;
+
+    /**
+     * This constructs an empty {@code ChunkStore} object. The directory and
+     * the writing thread are only created once the first chunk is saved.
+     */
+    public ChunkStore() {
+        this.directory = null;
+        this.savedKeys = new HashSet<Long>();
+        this.unwrittenTiles = new HashMap<Long, byte[]>();
+        this.writer = null;
+    }
+
+    /**
+     * This method saves a chunk, replacing any chunk saved at its map position.
+     * The tiles are copied right away, and the file is written in the background.
+     * @param chunk The {@code Chunk} to save.
+     */
+    public void save(Chunk chunk) {
+        final int mapX = chunk.getMapX();
+        final int mapY = chunk.getMapY();
+        final byte[] tileIds = chunk.getTileTypeIds();
+        synchronized (this) {
+            long key = ChunkIndex.packKey(mapX, mapY);
+            this.savedKeys.add(key);
+            this.unwrittenTiles.put(key, tileIds);
+            if (this.writer == null) {
+                this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                            public Thread newThread(Runnable runnable) {
+                                Thread thread = new Thread(runnable, "Chunk writer");
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                        });
+            }
+        }
+
+        this.writer.execute(new Runnable() {
+            public void run() {
+                ChunkStore.this.write(mapX, mapY, tileIds);
+            }
+        });
+    }
+
+    /**
+     * This method writes the file of a saved chunk, unless the chunk has been
+     * saved again since. If an error occurs, a relevant error message is printed
+     * and the chunk keeps being loaded from its copied tiles. This is only called
+     * by the writing thread.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @param tileIds The tile type ids copied when the chunk was saved.
+     */
+    private void write(int mapX, int mapY, byte[] tileIds) {
+        long key = ChunkIndex.packKey(mapX, mapY);
+        File file;
+        synchronized (this) {
+            // A newer copy is waiting behind this one.
+            if (this.unwrittenTiles.get(key) != tileIds) {
+                return;
+            }
+            if (this.directory == null) {
+                try {
+                    this.directory = Files.createTempDirectory("chunks").toFile();
+                } catch (IOException ex) {
+                    System.out.println("Error: Chunk store directory cannot be created.");
+                    return;
+                }
+                // Registered first so it is deleted last, once it is empty.
+                this.directory.deleteOnExit();
+            }
+            file = this.getFile(mapX, mapY);
+        }
+
+        Chunk chunk = new Chunk(mapX, mapY);
+        chunk.setTileTypeIds(tileIds);
+        ArrayList<Chunk> chunks = new ArrayList<Chunk>();
+        chunks.add(chunk);
+
+        // Write a new file and then swap it in, so a streamer thread loading the
+        // chunk at the same time reads the old file or the new one, never half of one.
+        File newFile = new File(file.getPath() + ".new");
+        boolean isNewChunk = !file.exists();
+        if (!MapFile.write(chunks, newFile.getPath())) {
+            newFile.delete();
+            return;
+        }
+        try {
+            Files.move(newFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            System.out.println("Error: Chunk file cannot be replaced. [" + file.getPath() + "]");
+            newFile.delete();
+            return;
+        }
+        if (isNewChunk) {
+            file.deleteOnExit();
+        }
+
+        synchronized (this) {
+            if (this.unwrittenTiles.get(key) == tileIds) {
+                this.unwrittenTiles.remove(key);
+            }
+        }
+    }
+
+    /**
+     * This method checks if a chunk has been saved at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if there is a chunk, {@code false} otherwise.
+     */
+    @Override
+    public synchronized boolean checkContains(int mapX, int mapY) {
+        // Skip making a key in the usual case where nothing has changed.
+        return !this.savedKeys.isEmpty() && this.savedKeys.contains(ChunkIndex.packKey(mapX, mapY));
+    }
+
+    /**
+     * This method loads the chunk saved at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return A new {@code Chunk}, or {@code null} if none was saved there.
+     */
+    @Override
+    public Chunk loadChunk(int mapX, int mapY) {
+        File file;
+        byte[] tileIds;
+        synchronized (this) {
+            if (!this.checkContains(mapX, mapY)) {
+                return null;
+            }
+            tileIds = this.unwrittenTiles.get(ChunkIndex.packKey(mapX, mapY));
+            file = this.getFile(mapX, mapY);
+        }
+
+        // The copied tiles are never changed, and writing only ever swaps in a
+        // whole file, so neither needs the lock.
+        if (tileIds != null) {
+            Chunk chunk = new Chunk(mapX, mapY);
+            chunk.setTileTypeIds(tileIds);
+            return chunk;
+        }
+        RegionFile chunkFile = new RegionFile(file.getPath());
+        chunkFile.read();
+        return chunkFile.loadChunk(mapX, mapY);
+    }
+
+    public synchronized int getNumChunks() {
+        return this.savedKeys.size();
+    }
+
+    /**
+     * This method gets the chunk file of a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The chunk file.
+     */
+    private File getFile(int mapX, int mapY) {
+        return new File(this.directory, "chunk " + mapX + " " + mapY + MapFile.EXTENSION);
+    }
+}
@@ -0,0 +1,195 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class loads chunks from a {@code ChunkProvider} on background threads,
+ * so the game never waits for the disk or for chunks to be generated. Requests
+ * are loaded in order of priority, and the finished chunks are handed back
+ * through a lock-free queue that the game polls once every update.
+ * <p>
+ * The requests are made and the finished chunks are polled on the game thread
+ * only. The worker threads only call the provider.
+ * </p>
+ * @see Map#startStreaming
+ */
+public class ChunkStreamer {
+    private ChunkProvider provider;
+    private ThreadPoolExecutor workers;
+    // The requests that the workers have finished, in the order they finished.
+    private ConcurrentLinkedQueue<ChunkRequest> finishedRequests;
+    // The requests that have been made but not polled yet.
+    private ArrayList<ChunkRequest> pendingRequests;
+    // The requests that have not been given to the workers yet.
+    private ArrayList<ChunkRequest> newRequests;
+
+    /**
+     * This constructs a {@code ChunkStreamer} object and starts its worker threads.
+     * The threads do not keep the program running once the game closes.
+     * @param provider The provider to load chunks from.
+     * @param numWorkers The number of worker threads.
+     */
+    public ChunkStreamer(ChunkProvider provider, int numWorkers) {
+        this.provider = provider;
+        this.finishedRequests = new ConcurrentLinkedQueue<ChunkRequest>();
+        this.pendingRequests = new ArrayList<ChunkRequest>();
+        this.newRequests = new ArrayList<ChunkRequest>();
+        this.workers = new ThreadPoolExecutor(numWorkers, numWorkers, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "Chunk streamer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        // Start the threads now so every request waits in the queue and is taken in order of priority.
+        this.workers.prestartAllCoreThreads();
+    }
+
+    /**
+     * This method asks for a chunk to be loaded in the background. Nothing
+     * happens if the chunk has already been asked for. The request is only
+     * given to the workers by {@link ChunkStreamer#submitRequests}.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @param priority How soon to load the chunk. Lower priorities are loaded first.
+     */
+    public void request(int mapX, int mapY, double priority) {
+        if (this.checkPending(mapX, mapY)) {
+            return;
+        }
+        ChunkRequest request = new ChunkRequest(mapX, mapY, priority);
+        this.pendingRequests.add(request);
+        this.newRequests.add(request);
+    }
+
+    /**
+     * This method gives the new requests to the workers, most urgent first.
+     * Loading a chunk takes about as long as making a request, so the workers
+     * would otherwise load them in the order they were asked for.
+     */
+    public void submitRequests() {
+        Collections.sort(this.newRequests);
+        for (int i = 0; i < this.newRequests.size(); i++) {
+            this.workers.execute(this.newRequests.get(i));
+        }
+        this.newRequests.clear();
+    }
+
+    /**
+     * This method checks if a chunk has been asked for but not polled yet.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if the chunk is pending, {@code false} otherwise.
+     */
+    public boolean checkPending(int mapX, int mapY) {
+        for (int i = 0; i < this.pendingRequests.size(); i++) {
+            ChunkRequest request = this.pendingRequests.get(i);
+            if (request.mapX == mapX && request.mapY == mapY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getNumPending() {
+        return this.pendingRequests.size();
+    }
+
+    /**
+     * This method cancels the requests for chunks that are now too far from the
+     * camera. Requests that the workers have not started are removed from the queue.
+     * @param cameraMapX The map x-coordinate of the camera.
+     * @param cameraMapY The map y-coordinate of the camera.
+     * @param distance The number of chunks away from the camera past which requests are cancelled.
+     */
+    public void cancelFarRequests(int cameraMapX, int cameraMapY, int distance) {
+        int squareDistance = distance * distance;
+        for (int i = this.pendingRequests.size() - 1; i >= 0; i--) {
+            ChunkRequest request = this.pendingRequests.get(i);
+            int deltaX = request.mapX - cameraMapX;
+            int deltaY = request.mapY - cameraMapY;
+            if (deltaX * deltaX + deltaY * deltaY > squareDistance) {
+                request.cancelled = true;
+                this.workers.remove(request);
+                this.newRequests.remove(request);
+                this.pendingRequests.remove(i);
+            }
+        }
+    }
+
+    /**
+     * This method takes the next chunk that has finished loading. It never
+     * waits for a worker.
+     * @return The next loaded {@code Chunk}, or {@code null} if none is ready.
+     */
+    public Chunk poll() {
+        ChunkRequest request = this.finishedRequests.poll();
+        while (request != null) {
+            // Cancelled requests were already forgotten, and failed ones have no chunk.
+            if (!request.cancelled) {
+                this.pendingRequests.remove(request);
+                if (request.chunk != null) {
+                    return request.chunk;
+                }
+            }
+            request = this.finishedRequests.poll();
+        }
+        return null;
+    }
+
+    /**
+     * This method stops the worker threads. Requests that have not started are dropped.
+     */
+    public void stop() {
+        this.workers.shutdownNow();
+    }
+
+    /**
+     * This class represents a request to load one chunk, which is run by a worker.
+     */
+    private class ChunkRequest implements Runnable, Comparable<ChunkRequest> {
+        private int mapX;
+        private int mapY;
+        private double priority;
+        // Set on the game thread and read by the worker, so it must be volatile.
+        private volatile boolean cancelled;
+        // Set by the worker before the request is added to the finished queue.
+        private Chunk chunk;
+
+        /**
+         * This constructs a {@code ChunkRequest} object.
+         * @param mapX The map x-coordinate.
+         * @param mapY The map y-coordinate.
+         * @param priority How soon to load the chunk. Lower priorities are loaded first.
+         */
+        private ChunkRequest(int mapX, int mapY, double priority) {
+            this.mapX = mapX;
+            this.mapY = mapY;
+            this.priority = priority;
+            this.cancelled = false;
+            this.chunk = null;
+        }
+
+        /**
+         * This method loads the chunk and hands it back to the game thread.
+         */
+        @Override
+        public void run() {
+            if (this.cancelled) {
+                return;
+            }
+            this.chunk = provider.loadChunk(this.mapX, this.mapY);
+            finishedRequests.offer(this);
+        }
+
+        @Override
+        public int compareTo(ChunkRequest other) {
+            return Double.compare(this.priority, other.priority);
+        }
+    }
+}
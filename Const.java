@@ -1,6 +1,7 @@
 import java.awt.image.BufferedImage;
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.GraphicsEnvironment;
 import java.io.File;
 
 import java.awt.event.KeyEvent;
@@ -9,12 +10,16 @@ import java.io.IOException;
 import java.awt.FontFormatException;
 
 public final class Const {
+    // Whether there is no display. Images, fonts and sounds are not loaded without one.
+    public static final boolean HEADLESS = GraphicsEnvironment.isHeadless();
+
     // Dimensions of the window.
     public static final int WIDTH = 1000;
     public static final int HEIGHT = 750;
 
     // Update rates.
     public static final int MS_PER_S = 1000;
+    public static final long NS_PER_MS = 1000000;
 
     // The duration between window redraws in milliseconds.
     public static final int DEFAULT_FRAME_PERIOD = MS_PER_S / 60;
@@ -22,11 +27,23 @@ public final class Const {
     public static final int UPDATE_PERIOD = MS_PER_S / 45;
     // The duration betweeen each frame in an animation in milliseconds.
     public static final int ANIMATE_PERIOD = MS_PER_S / 12;
+    // The most game time that is simulated in one loop of the game in milliseconds.
+    public static final int MAX_FRAME_TIME = MS_PER_S / 4;
+    // The most updates that are run in one loop of the game when catching up.
+    public static final int MAX_UPDATES_PER_FRAME = 5;
+    // Whether the game is drawn by the game loop instead of by Swing repaints.
+    public static final boolean ACTIVE_RENDERING = true;
+    // The number of buffers used when actively rendering. 2 is double buffering, 3 is triple buffering.
+    public static final int NUM_RENDER_BUFFERS = 2;
 
     public static final int NUM_START_ENEMIES = 6;
     public static final int NUM_MAX_ENEMIES = 20;
+    // The number of random places tried for a new enemy before giving up.
+    public static final int MAX_SPAWN_ATTEMPTS = 20;
     public static final int SWORD_DAMAGE = 100;
     public static final int PLAYER_REGEN = 1;
+    // The cell size of the grid used to find which entities are close enough to fight.
+    public static final int COMBAT_CELL_SIZE = 128;
 
     // Easy mode settings.
     public static final int EASY_SPAWN_SPEED = MS_PER_S * 8;
@@ -80,9 +97,20 @@ public final class Const {
     public static final int K_LEFT = KeyEvent.VK_A;
     public static final int K_DOWN = KeyEvent.VK_S;
     public static final int K_RIGHT = KeyEvent.VK_D;
+    public static final int K_PERFORMANCE = KeyEvent.VK_F3;
+    public static final int K_PERFORMANCE_DUMP = KeyEvent.VK_F4;
     
+    // The number of recent samples kept for each performance metric.
+    public static final int NUM_PERFORMANCE_SAMPLES = 240;
+    // The file that the performance metrics are written to.
+    public static final String PERFORMANCE_FILE_NAME = "performance.csv";
+
     // Map data file.
-    public static final String MAP_FILE_NAME = "assets/map/map.txt";
+    public static final String MAP_FILE_NAME = "assets/map/map.bin";
+    // The number of threads that read chunks of the map in the background.
+    public static final int NUM_STREAMING_THREADS = 2;
+    // The most memory in bytes that chunks far from the camera are kept in. About 2000 chunks.
+    public static final long CHUNK_CACHE_BUDGET = 1024 * 1024;
 
     // Minimap constants.
     public static final Vector MINIMAP_POS = new Vector(40, 40);
@@ -143,6 +171,12 @@ public final class Const {
     // Sound files.
     public static final String SWING_SOUND_FILE_NAME = "assets/audio/swing_sound.wav";
 
+    // The number of sounds that can play at the same time.
+    public static final int NUM_SOUND_VOICES = 4;
+    // Sound priorities. A sound can cut off sounds with the same or a lower priority.
+    public static final int ENEMY_SOUND_PRIORITY = 0;
+    public static final int PLAYER_SOUND_PRIORITY = 1;
+
     // Tile and map sprites.
     public static final Sprite SAND_TILE_SPRITE = new Sprite(0, 0, "assets/images/tiles/sand_tile.png");
     public static final Sprite ROCK_TILE_SPRITE = new Sprite(0, 0, "assets/images/tiles/rock_tile.png");
@@ -151,6 +185,11 @@ public final class Const {
         Font fallbackFont = new Font("Calibri", fontStyle, fontSize);
         Font font;
 
+        // Text is never drawn without a display.
+        if (HEADLESS) {
+            return fallbackFont;
+        }
+
         // Try to load the font.
         try {
             Font baseFont = Font.createFont(fontType, new File(baseFontName));
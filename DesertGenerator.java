@@ -0,0 +1,137 @@
+/**
+ * This class generates an endless desert of sand with clusters of rocks. The
+ * rocks are placed with value noise: random values are picked at the corners of
+ * a grid of cells and smoothly blended across each cell, and a tile is rock
+ * where the blended value is high. A second, finer layer of noise roughens the
+ * edges of the clusters.
+ * <p>
+ * The random values only depend on the seed and the position, so the same
+ * chunk is always generated the same way, in any order and on any thread.
+ * </p>
+ * @see ChunkProvider
+ */
+public class DesertGenerator implements ChunkProvider {
+    // The size of the cells of the noise in tiles. Larger cells make larger clusters of rocks.
+    private static final int CELL_SIZE = 8;
+    private static final int DETAIL_CELL_SIZE = 3;
+    // How much the finer layer of noise counts compared to the main layer.
+    private static final double DETAIL_WEIGHT = 0.4;
+    // Tiles where the noise is above this value are rock. Higher values make fewer rocks.
+    private static final double ROCK_THRESHOLD = 0.72;
+    // Space to generate the tiles of a chunk into. Each thread that generates chunks gets its own.
+    private static final ThreadLocal<byte[]> TILE_IDS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[Chunk.LENGTH * Chunk.LENGTH];
+        }
+    };
+
+    private long seed;
+    private long detailSeed;
+
+    /**
+     * This constructs a {@code DesertGenerator} object.
+     * @param seed The seed that decides where the rocks are.
+     */
+    public DesertGenerator(long seed) {
+        this.seed = seed;
+        this.detailSeed = mix(seed + 1);
+    }
+
+    /**
+     * This method checks if there is a chunk at a map position. Every map
+     * position has one, since the desert does not end.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean checkContains(int mapX, int mapY) {
+        return true;
+    }
+
+    /**
+     * This method generates the chunk at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return A new {@code Chunk}.
+     */
+    @Override
+    public Chunk loadChunk(int mapX, int mapY) {
+        byte[] tileIds = TILE_IDS.get();
+        int originX = mapX * Chunk.LENGTH;
+        int originY = mapY * Chunk.LENGTH;
+        for (int y = 0; y < Chunk.LENGTH; y++) {
+            for (int x = 0; x < Chunk.LENGTH; x++) {
+                double noise = (calculateNoise(this.seed, originX + x, originY + y, CELL_SIZE)
+                        + DETAIL_WEIGHT * calculateNoise(this.detailSeed, originX + x, originY + y, DETAIL_CELL_SIZE))
+                        / (1 + DETAIL_WEIGHT);
+                tileIds[y * Chunk.LENGTH + x] = (noise > ROCK_THRESHOLD) ? TileType.ROCK.getId() : TileType.SAND.getId();
+            }
+        }
+
+        Chunk chunk = new Chunk(mapX, mapY);
+        chunk.setTileTypeIds(tileIds);
+        return chunk;
+    }
+
+    /**
+     * This method calculates the value noise at a tile.
+     * @param seed The seed of the layer of noise.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @param cellSize The size of the cells in tiles.
+     * @return The noise, from {@code 0} to {@code 1}.
+     */
+    private static double calculateNoise(long seed, int tileX, int tileY, int cellSize) {
+        int cellX = Math.floorDiv(tileX, cellSize);
+        int cellY = Math.floorDiv(tileY, cellSize);
+        // Sample the middle of the tile, so no tile sits exactly on a corner.
+        double fractionX = smooth((Math.floorMod(tileX, cellSize) + 0.5) / cellSize);
+        double fractionY = smooth((Math.floorMod(tileY, cellSize) + 0.5) / cellSize);
+
+        double top = lerp(calculateCornerValue(seed, cellX, cellY),
+                calculateCornerValue(seed, cellX + 1, cellY), fractionX);
+        double bottom = lerp(calculateCornerValue(seed, cellX, cellY + 1),
+                calculateCornerValue(seed, cellX + 1, cellY + 1), fractionX);
+        return lerp(top, bottom, fractionY);
+    }
+
+    /**
+     * This method picks the random value at a corner of the grid of cells.
+     * @param seed The seed of the layer of noise.
+     * @param cornerX The x-coordinate of the corner, in cells.
+     * @param cornerY The y-coordinate of the corner, in cells.
+     * @return The value, from {@code 0} to {@code 1}.
+     */
+    private static double calculateCornerValue(long seed, int cornerX, int cornerY) {
+        long hash = mix(seed ^ (cornerX * 0x9E3779B97F4A7C15L) ^ (cornerY * 0xC2B2AE3D27D4EB4FL));
+        // Use the top 53 bits, which fit exactly in a double.
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * This method mixes the bits of a number so that similar numbers give very
+     * different results.
+     * @param value The number to mix.
+     * @return The mixed number.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * This method eases a fraction so the noise has no sharp creases at the cell edges.
+     * @param fraction The fraction, from {@code 0} to {@code 1}.
+     * @return The eased fraction.
+     */
+    private static double smooth(double fraction) {
+        return fraction * fraction * (3 - 2 * fraction);
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + (end - start) * fraction;
+    }
+}
@@ -0,0 +1,923 @@
+import java.awt.BasicStroke;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+
+import java.util.Arrays;
+
+/**
+ * This class stores every enemy in the game. Instead of each enemy being an
+ * object holding its own cycles, sword and health bar, each component of the
+ * enemies is kept in its own array of primitives, and enemy {@code i} is index
+ * {@code i} of every array. The systems that move, animate, fight and remove
+ * the enemies loop over the arrays in order, so a game with thousands of
+ * enemies reads memory in a straight line and creates no objects per enemy.
+ * <p>
+ * The sprites and hitboxes come from {@code AnimationTemplate}s shared by every
+ * enemy, so an enemy only needs which cycle it is playing, the frame of each of
+ * its cycles, and the direction it faces. Each cycle keeps its own frame, so a
+ * cycle that gets interrupted carries on where it left off, which lets the death
+ * cycle finish while the enemy keeps getting told to walk.
+ * </p>
+ * <p>
+ * Removing enemies moves the ones after them down, keeping them in order, so
+ * an index only stays the same until the next removal.
+ * </p>
+ * <p>
+ * The slots past the last enemy are a pool. A removed enemy leaves its slot
+ * there, and the next enemy added takes it over, getting all of its components
+ * reset, so once the arrays are big enough adding enemies creates no objects.
+ * The arrays can be grown ahead of time with {@link #reserve}.
+ * </p>
+ * @see Enemy
+ */
+public class EnemyWorld implements Drawable, Debuggable {
+    // The cycles of an enemy body.
+    public static final int IDLE = 0;
+    public static final int WALK = 1;
+    public static final int ATTACK = 2;
+    public static final int HURT = 3;
+    public static final int DEATH = 4;
+    private static final int NUM_CYCLES = 5;
+    // The cycles of an enemy sword.
+    public static final int SWORD_IDLE = 0;
+    public static final int SWORD_ATTACK = 1;
+    private static final int NUM_SWORD_CYCLES = 2;
+
+    private static final int WALK_SPEED = 4;
+    private static final int ATTACK_RANGE = 20;
+    // The number of tiles from the player where enemies stop following the flow field.
+    private static final int FLOW_FIELD_MIN_DISTANCE = 2;
+    // Where the health bar is drawn above the general hitbox, and how far in from the sides of the frame.
+    private static final int HEALTH_BAR_RAISE = 53;
+    private static final int HEALTH_BAR_MARGIN = 20;
+    private static final int HEALTH_BAR_HEIGHT = 7;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Player player;
+    private FlowField flowField;
+    private AnimationTemplate[] templates;
+    private AnimationTemplate[] swordTemplates;
+    private SoundSample swingSound;
+    private int size;
+    // The number of slots that have held an enemy, which never goes down.
+    private int numUsedSlots;
+    private int numRecycled;
+    // The number of enemies added so far, to give each a different name.
+    private int numAdded;
+
+    // Position and velocity components.
+    private double[] x;
+    private double[] y;
+    private double[] prevX;
+    private double[] prevY;
+    private double[] speedX;
+    private double[] speedY;
+    private double[] targetX;
+    private double[] targetY;
+
+    // Health components.
+    private int[] health;
+    private int[] maxHealth;
+    private boolean[] fullyDead;
+
+    // Animation components. The frames of enemy i are at i * NUM_CYCLES + cycle.
+    private int[] cycleIds;
+    private int[] frameIndices;
+    private int[] frameSteps;
+    private int[] directions;
+
+    // Sword components. The frames of enemy i are at i * NUM_SWORD_CYCLES + cycle.
+    private int[] swordCycleIds;
+    private int[] swordFrameIndices;
+    private int[] swordFrameSteps;
+    private int[] swordDamages;
+
+    private int[] numbers;
+
+    // The enemies and their swords, by position, to find which ones are close to the player.
+    private SpatialHash combatGrid;
+    // Whether the player's sword or body may touch each enemy, by enemy index.
+    private boolean[] checkSwordNear;
+    private boolean[] checkBodyNear;
+    // Reused to work out the speed of each enemy without creating a new Vector.
+    private Vector speed;
+
+    /**
+     * This constructs an {@code EnemyWorld} object with no enemies.
+     * @param player The player that the enemies chase and fight.
+     * @param flowField The flow field leading to the player, or {@code null} to walk straight at the player.
+     */
+    public EnemyWorld(Player player, FlowField flowField) {
+        this.player = player;
+        this.flowField = flowField;
+
+        this.templates = new AnimationTemplate[NUM_CYCLES];
+        this.templates[IDLE] = AnimationTemplate.getInstance(Const.ENEMY_IDLE_SPRITE_SHEET, Const.ENEMY_IDLE_FILE_NAME);
+        this.templates[WALK] = AnimationTemplate.getInstance(Const.ENEMY_WALK_SPRITE_SHEET, Const.ENEMY_WALK_FILE_NAME);
+        this.templates[ATTACK] = AnimationTemplate.getInstance(Const.ENEMY_ATTACK_SPRITE_SHEET, Const.ENEMY_ATTACK_FILE_NAME);
+        this.templates[HURT] = AnimationTemplate.getInstance(Const.ENEMY_HURT_SPRITE_SHEET, Const.ENEMY_HURT_FILE_NAME);
+        this.templates[DEATH] = AnimationTemplate.getInstance(Const.ENEMY_DEATH_SPRITE_SHEET, Const.ENEMY_DEATH_FILE_NAME);
+        this.swordTemplates = new AnimationTemplate[NUM_SWORD_CYCLES];
+        this.swordTemplates[SWORD_IDLE] = AnimationTemplate.getInstance(Const.SWORD_IDLE_SPRITE_SHEET, Const.SWORD_IDLE_FILE_NAME);
+        this.swordTemplates[SWORD_ATTACK] = AnimationTemplate.getInstance(Const.SWORD_ATTACK_SPRITE_SHEET, Const.SWORD_ATTACK_FILE_NAME);
+        this.swingSound = SoundSample.getInstance(Const.SWING_SOUND_FILE_NAME);
+
+        this.size = 0;
+        this.numUsedSlots = 0;
+        this.numRecycled = 0;
+        this.numAdded = 0;
+        this.combatGrid = new SpatialHash(Const.COMBAT_CELL_SIZE);
+        this.speed = Vector.VECTOR_ZERO.clone();
+        this.setCapacity(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This method sets how many enemies the arrays can hold, keeping the enemies in them.
+     * @param capacity The new number of enemies.
+     */
+    private void setCapacity(int capacity) {
+        this.x = copyOf(this.x, capacity);
+        this.y = copyOf(this.y, capacity);
+        this.prevX = copyOf(this.prevX, capacity);
+        this.prevY = copyOf(this.prevY, capacity);
+        this.speedX = copyOf(this.speedX, capacity);
+        this.speedY = copyOf(this.speedY, capacity);
+        this.targetX = copyOf(this.targetX, capacity);
+        this.targetY = copyOf(this.targetY, capacity);
+
+        this.health = copyOf(this.health, capacity);
+        this.maxHealth = copyOf(this.maxHealth, capacity);
+        this.fullyDead = copyOf(this.fullyDead, capacity);
+
+        this.cycleIds = copyOf(this.cycleIds, capacity);
+        this.frameIndices = copyOf(this.frameIndices, capacity * NUM_CYCLES);
+        this.frameSteps = copyOf(this.frameSteps, capacity * NUM_CYCLES);
+        this.directions = copyOf(this.directions, capacity);
+
+        this.swordCycleIds = copyOf(this.swordCycleIds, capacity);
+        this.swordFrameIndices = copyOf(this.swordFrameIndices, capacity * NUM_SWORD_CYCLES);
+        this.swordFrameSteps = copyOf(this.swordFrameSteps, capacity * NUM_SWORD_CYCLES);
+        this.swordDamages = copyOf(this.swordDamages, capacity);
+
+        this.numbers = copyOf(this.numbers, capacity);
+        this.checkSwordNear = copyOf(this.checkSwordNear, capacity);
+        this.checkBodyNear = copyOf(this.checkBodyNear, capacity);
+    }
+
+    /**
+     * This method grows the arrays so they can hold a number of enemies without
+     * growing again. It does nothing if they already can.
+     * @param capacity The number of enemies.
+     */
+    public void reserve(int capacity) {
+        if (capacity > this.x.length) {
+            this.setCapacity(capacity);
+        }
+    }
+
+    private static double[] copyOf(double[] array, int length) {
+        return (array == null) ? new double[length] : Arrays.copyOf(array, length);
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        return (array == null) ? new int[length] : Arrays.copyOf(array, length);
+    }
+
+    private static boolean[] copyOf(boolean[] array, int length) {
+        return (array == null) ? new boolean[length] : Arrays.copyOf(array, length);
+    }
+
+    /**
+     * This method adds an enemy at the end of the arrays, reusing the slot of a
+     * removed enemy if there is one. It starts idle, facing left, with full health.
+     * @param newX The top-left x-coordinate.
+     * @param newY The top-left y-coordinate.
+     * @param maxHealthPoints The max health of the enemy.
+     * @param swordDamagePoints The sword damage of the enemy.
+     * @return The index of the new enemy.
+     */
+    public int add(double newX, double newY, int maxHealthPoints, int swordDamagePoints) {
+        if (this.size == this.x.length) {
+            this.setCapacity(this.size * 2);
+        }
+
+        int index = this.size;
+        this.size++;
+        if (index < this.numUsedSlots) {
+            this.numRecycled++;
+        } else {
+            this.numUsedSlots++;
+        }
+
+        this.x[index] = newX;
+        this.y[index] = newY;
+        this.prevX[index] = newX;
+        this.prevY[index] = newY;
+        this.speedX[index] = 0;
+        this.speedY[index] = 0;
+        this.targetX[index] = newX;
+        this.targetY[index] = newY;
+
+        this.health[index] = maxHealthPoints;
+        this.maxHealth[index] = maxHealthPoints;
+        this.fullyDead[index] = false;
+
+        this.cycleIds[index] = IDLE;
+        for (int cycle = 0; cycle < NUM_CYCLES; cycle++) {
+            this.frameIndices[index * NUM_CYCLES + cycle] = 0;
+            this.frameSteps[index * NUM_CYCLES + cycle] = 1;
+        }
+        this.directions[index] = Const.LEFT;
+
+        this.swordCycleIds[index] = SWORD_IDLE;
+        for (int cycle = 0; cycle < NUM_SWORD_CYCLES; cycle++) {
+            this.swordFrameIndices[index * NUM_SWORD_CYCLES + cycle] = 0;
+            this.swordFrameSteps[index * NUM_SWORD_CYCLES + cycle] = 1;
+        }
+        this.swordDamages[index] = swordDamagePoints;
+
+        this.numbers[index] = this.numAdded;
+        this.numAdded++;
+        return index;
+    }
+
+    /**
+     * This method removes an enemy. The enemies after it move down one index.
+     * @param index The index of the enemy.
+     */
+    public void remove(int index) {
+        for (int i = index + 1; i < this.size; i++) {
+            this.move(i, i - 1);
+        }
+        this.size--;
+    }
+
+    /**
+     * This method copies every component of an enemy to another index.
+     * @param from The index to copy from.
+     * @param to The index to copy to.
+     */
+    private void move(int from, int to) {
+        this.x[to] = this.x[from];
+        this.y[to] = this.y[from];
+        this.prevX[to] = this.prevX[from];
+        this.prevY[to] = this.prevY[from];
+        this.speedX[to] = this.speedX[from];
+        this.speedY[to] = this.speedY[from];
+        this.targetX[to] = this.targetX[from];
+        this.targetY[to] = this.targetY[from];
+
+        this.health[to] = this.health[from];
+        this.maxHealth[to] = this.maxHealth[from];
+        this.fullyDead[to] = this.fullyDead[from];
+
+        this.cycleIds[to] = this.cycleIds[from];
+        System.arraycopy(this.frameIndices, from * NUM_CYCLES, this.frameIndices, to * NUM_CYCLES, NUM_CYCLES);
+        System.arraycopy(this.frameSteps, from * NUM_CYCLES, this.frameSteps, to * NUM_CYCLES, NUM_CYCLES);
+        this.directions[to] = this.directions[from];
+
+        this.swordCycleIds[to] = this.swordCycleIds[from];
+        System.arraycopy(this.swordFrameIndices, from * NUM_SWORD_CYCLES, this.swordFrameIndices,
+                to * NUM_SWORD_CYCLES, NUM_SWORD_CYCLES);
+        System.arraycopy(this.swordFrameSteps, from * NUM_SWORD_CYCLES, this.swordFrameSteps,
+                to * NUM_SWORD_CYCLES, NUM_SWORD_CYCLES);
+        this.swordDamages[to] = this.swordDamages[from];
+
+        this.numbers[to] = this.numbers[from];
+    }
+
+    /**
+     * This method records the current positions of the enemies as their
+     * previous positions, to draw between them.
+     */
+    public void savePrevPositions() {
+        System.arraycopy(this.x, 0, this.prevX, 0, this.size);
+        System.arraycopy(this.y, 0, this.prevY, 0, this.size);
+    }
+
+    /**
+     * This method is the movement system. It moves every enemy towards its
+     * target, and makes the enemies near the player attack.
+     */
+    public void update() {
+        for (int i = 0; i < this.size; i++) {
+            this.update(i);
+        }
+    }
+
+    /**
+     * This method moves an enemy and picks its next target. Enemies given a
+     * flow field follow it around solid tiles and slide along them; otherwise
+     * they walk straight at their target.
+     * @param index The index of the enemy.
+     */
+    private void update(int index) {
+        // Update the speed.
+        boolean followingFlowField = this.checkFollowingFlowField(index);
+        int centerX = this.getCenterX(index);
+        int centerY = this.getCenterY(index);
+        if (followingFlowField) {
+            // Head for the center of the next tile on the way to the player.
+            int tileX = Map.calculateTileCoordinate(centerX);
+            int tileY = Map.calculateTileCoordinate(centerY);
+            double nextX = (tileX + this.flowField.getDirectionX(tileX, tileY) + 0.5) * Tile.LENGTH;
+            double nextY = (tileY + this.flowField.getDirectionY(tileX, tileY) + 0.5) * Tile.LENGTH;
+            this.speed.setTo(nextX - centerX, nextY - centerY);
+            this.speed.setLength(WALK_SPEED);
+        } else {
+            this.speed.setTo(this.targetX[index] - centerX, this.targetY[index] - centerY);
+            this.speed.setLength(Math.min(WALK_SPEED, (int) (Vector.getEuclideanDistanceFrom(
+                    this.x[index], this.y[index], this.targetX[index], this.targetY[index]))));
+        }
+
+        if (this.intersects(index, this.player.getActiveCycle().getGeneralHitbox())) {
+            this.speed.setTo(0, 0);
+        }
+
+        // Update the position, sliding along solid tiles if there is a flow field.
+        if (this.checkCanMove(index)) {
+            if (this.flowField != null) {
+                AnimationTemplate template = this.templates[this.cycleIds[index]];
+                this.flowField.getMap().sweep(this.x[index], this.y[index], template.getGeneralHitboxRelX(),
+                        template.getGeneralHitboxRelY(), template.getGeneralHitboxWidth(),
+                        template.getGeneralHitboxHeight(), this.speed);
+            }
+            this.x[index] += this.speed.getX();
+            this.y[index] += this.speed.getY();
+        }
+        this.speedX[index] = this.speed.getX();
+        this.speedY[index] = this.speed.getY();
+
+        // Attack or set a new target position. The target follows the player
+        // while the flow field leads the way.
+        if (Vector.compareDistance(this.getCenterX(index), this.getCenterY(index),
+                this.player.getCenterX(), this.player.getCenterY(), ATTACK_RANGE) <= 0) {
+            this.attack(index);
+        } else if (followingFlowField || this.checkAtTarget(index)) {
+            this.setTargetPos(index, this.player.getCenterX(), this.player.getCenterY());
+        }
+    }
+
+    /**
+     * This method checks if an enemy should follow the flow field. The flow
+     * field is followed until the enemy is a few tiles from the player, and
+     * then the enemy walks straight at the player.
+     * @param index The index of the enemy.
+     * @return {@code true} if it should follow the flow field, {@code false} otherwise.
+     */
+    private boolean checkFollowingFlowField(int index) {
+        if (this.flowField == null) {
+            return false;
+        }
+        int tileX = Map.calculateTileCoordinate(this.getCenterX(index));
+        int tileY = Map.calculateTileCoordinate(this.getCenterY(index));
+        return this.flowField.checkHasDirection(tileX, tileY) &&
+                this.flowField.getDistance(tileX, tileY) > FLOW_FIELD_MIN_DISTANCE;
+    }
+
+    /**
+     * This method is the animation system. It moves every enemy and sword to
+     * their next frames, and switches cycles when a cycle ends.
+     */
+    public void animate() {
+        for (int i = 0; i < this.size; i++) {
+            int frame = i * NUM_CYCLES + this.cycleIds[i];
+            AnimationTemplate template = this.templates[this.cycleIds[i]];
+            loadNextFrame(template, this.frameIndices, this.frameSteps, frame);
+            if (checkDone(template, this.frameIndices, frame)) {
+                // The enemy is completely dead once the death animation ends.
+                if (this.cycleIds[i] == DEATH) {
+                    this.fullyDead[i] = true;
+                }
+                resetFrame(this.frameIndices, this.frameSteps, frame);
+                resetFrame(this.frameIndices, this.frameSteps, i * NUM_CYCLES + ATTACK);
+            }
+
+            // Walk towards the target.
+            if (this.checkAtTarget(i)) {
+                this.attack(i);
+            } else {
+                this.cycleIds[i] = WALK;
+            }
+
+            int swordFrame = i * NUM_SWORD_CYCLES + this.swordCycleIds[i];
+            AnimationTemplate swordTemplate = this.swordTemplates[this.swordCycleIds[i]];
+            loadNextFrame(swordTemplate, this.swordFrameIndices, this.swordFrameSteps, swordFrame);
+            if (checkDone(swordTemplate, this.swordFrameIndices, swordFrame)) {
+                resetFrame(this.swordFrameIndices, this.swordFrameSteps, swordFrame);
+                resetFrame(this.swordFrameIndices, this.swordFrameSteps, i * NUM_SWORD_CYCLES + SWORD_ATTACK);
+                this.swordCycleIds[i] = SWORD_IDLE;
+            }
+        }
+    }
+
+    /**
+     * This method moves a cycle to its next frame, following the looping type of
+     * its {@code AnimationTemplate}, the same way as {@link AnimationCycle#loadNextFrame}.
+     * @param template The {@code AnimationTemplate} of the cycle.
+     * @param frameIndices The frame of every cycle.
+     * @param frameSteps The direction each cycle is playing in.
+     * @param frame Where the cycle is in the arrays.
+     */
+    private static void loadNextFrame(AnimationTemplate template, int[] frameIndices, int[] frameSteps, int frame) {
+        if (checkDone(template, frameIndices, frame)) {
+            return;
+        }
+
+        int numFrames = template.getNumFrames();
+        frameIndices[frame] = (frameIndices[frame] + frameSteps[frame]) % numFrames;
+        if (template.getLoopType() == AnimationCycle.LOOP_BACKWARDS) {
+            if (frameIndices[frame] == 0) {
+                frameSteps[frame] = 1;
+            } else if (frameIndices[frame] == numFrames - 1) {
+                frameSteps[frame] = -1;
+            }
+        }
+    }
+
+    private static boolean checkDone(AnimationTemplate template, int[] frameIndices, int frame) {
+        return template.getLoopType() == AnimationCycle.NO_LOOPING && frameIndices[frame] == template.getNumFrames() - 1;
+    }
+
+    private static void resetFrame(int[] frameIndices, int[] frameSteps, int frame) {
+        frameIndices[frame] = 0;
+        frameSteps[frame] = 1;
+    }
+
+    /**
+     * This method is the combat system. It deals the damage of every sword that
+     * hits. The enemies are put into a grid first, so the hitboxes of the frames
+     * are only compared for the enemies close to the player. The enemies are
+     * still checked in order, the same as comparing every one of them.
+     */
+    public void handleCombat() {
+        // Add the enemy bodies with ids from 0, and their swords after them.
+        this.combatGrid.clear();
+        for (int i = 0; i < this.size; i++) {
+            AnimationTemplate template = this.templates[this.cycleIds[i]];
+            AnimationTemplate swordTemplate = this.swordTemplates[this.swordCycleIds[i]];
+            int left = (int) Math.floor(this.x[i]) - 1;
+            int top = (int) Math.floor(this.y[i]) - 1;
+            this.combatGrid.insert(i, left + template.getBoundsRelX(), top + template.getBoundsRelY(),
+                    left + template.getBoundsRelX() + template.getBoundsWidth() + 2,
+                    top + template.getBoundsRelY() + template.getBoundsHeight() + 2);
+            this.combatGrid.insert(this.size + i, left + swordTemplate.getBoundsRelX(),
+                    top + swordTemplate.getBoundsRelY(),
+                    left + swordTemplate.getBoundsRelX() + swordTemplate.getBoundsWidth() + 2,
+                    top + swordTemplate.getBoundsRelY() + swordTemplate.getBoundsHeight() + 2);
+        }
+
+        // Find the enemy bodies near the player's sword.
+        Sword playerSword = this.player.getSword();
+        AnimationCycle playerSwordCycle = playerSword.getActiveCycle();
+        Arrays.fill(this.checkSwordNear, 0, this.size, false);
+        int numFound = this.combatGrid.query(playerSwordCycle.getBoundsLeft(), playerSwordCycle.getBoundsTop(),
+                playerSwordCycle.getBoundsRight(), playerSwordCycle.getBoundsBottom());
+        for (int i = 0; i < numFound; i++) {
+            int id = this.combatGrid.getResult(i);
+            if (id < this.size) {
+                this.checkSwordNear[id] = true;
+            }
+        }
+
+        AnimationCycle playerCycle = this.player.getActiveCycle();
+        this.findSwordsNear(playerCycle);
+
+        for (int i = 0; i < this.size; i++) {
+            boolean reflected = this.checkReflected(i);
+
+            // Deal player damage onto enemy.
+            if (this.checkSwordNear[i] && playerSwordCycle.intersects(this.getFrame(i),
+                    this.x[i], this.y[i], reflected)) {
+                this.takeDamage(i, playerSword.getDamage());
+            }
+
+            // Deal enemy damages onto player.
+            if (this.checkBodyNear[i] && this.getSwordFrame(i).intersects(this.x[i], this.y[i], reflected,
+                    playerCycle.getActiveFrame(), playerCycle.getX(), playerCycle.getY(),
+                    playerCycle.checkReflectedHorizontally())) {
+                this.player.takeDamage(this.swordDamages[i]);
+
+                // Find the swords near the player again if getting hurt changed their animation.
+                if (this.player.getActiveCycle() != playerCycle) {
+                    playerCycle = this.player.getActiveCycle();
+                    this.findSwordsNear(playerCycle);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method marks the enemies with swords that may touch an {@code AnimationCycle}
+     * of the player.
+     * @param playerCycle The active {@code AnimationCycle} of the player.
+     */
+    private void findSwordsNear(AnimationCycle playerCycle) {
+        Arrays.fill(this.checkBodyNear, 0, this.size, false);
+        int numFound = this.combatGrid.query(playerCycle.getBoundsLeft(), playerCycle.getBoundsTop(),
+                playerCycle.getBoundsRight(), playerCycle.getBoundsBottom());
+        for (int i = 0; i < numFound; i++) {
+            int id = this.combatGrid.getResult(i);
+            if (id >= this.size) {
+                this.checkBodyNear[id - this.size] = true;
+            }
+        }
+    }
+
+    /**
+     * This method is the death system. Enemies without health start their death
+     * cycle, and enemies that finished it are removed. The enemies left keep
+     * their order.
+     * @return The number of enemies removed.
+     */
+    public int removeDead() {
+        int numLeft = 0;
+        for (int i = 0; i < this.size; i++) {
+            // Play the enemy death animation.
+            if (!this.checkAlive(i)) {
+                this.cycleIds[i] = DEATH;
+            }
+
+            // Remove the enemy once the death animation gets played.
+            if (this.fullyDead[i]) {
+                continue;
+            }
+            if (numLeft != i) {
+                this.move(i, numLeft);
+            }
+            numLeft++;
+        }
+
+        int numRemoved = this.size - numLeft;
+        this.size = numLeft;
+        return numRemoved;
+    }
+
+    /**
+     * This method draws every enemy without culling them.
+     */
+    @Override
+    public void draw(Graphics graphics) {
+        for (int i = 0; i < this.size; i++) {
+            this.draw(graphics, i);
+        }
+    }
+
+    /**
+     * This method draws the enemies that the camera can see, between their
+     * previous and current positions.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} that decides which enemies are seen.
+     * @param interpolation How far between the positions, from {@code 0} (previous) to {@code 1} (current).
+     * @param debug Whether to draw the debug info instead of the enemies.
+     */
+    public void draw(Graphics graphics, Camera camera, double interpolation, boolean debug) {
+        for (int i = 0; i < this.size; i++) {
+            if (!camera.shouldDraw((int) this.x[i], (int) this.y[i], this.getWidth(i), this.getHeight(i))) {
+                continue;
+            }
+
+            int offsetX = (int) Math.round(this.prevX[i] + (this.x[i] - this.prevX[i]) * interpolation - this.x[i]);
+            int offsetY = (int) Math.round(this.prevY[i] + (this.y[i] - this.prevY[i]) * interpolation - this.y[i]);
+            graphics.translate(offsetX, offsetY);
+            if (debug) {
+                this.drawDebugInfo(graphics, i);
+            } else {
+                this.draw(graphics, i);
+            }
+            graphics.translate(-offsetX, -offsetY);
+        }
+    }
+
+    /**
+     * This method draws an enemy with its health bar and sword.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param index The index of the enemy.
+     */
+    public void draw(Graphics graphics, int index) {
+        boolean reflected = this.checkReflected(index);
+        this.getFrame(index).draw(graphics, this.x[index], this.y[index], reflected);
+
+        // Draw the full health bar in red and the health left in green.
+        int barX = this.getCenterX(index) - this.getWidth(index) / 2 + HEALTH_BAR_MARGIN;
+        int barY = this.getCenterY(index) - HEALTH_BAR_RAISE;
+        int barWidth = this.templates[IDLE].getFrameWidth() - 2 * HEALTH_BAR_MARGIN;
+        graphics.setColor(Const.RED);
+        graphics.fillRect(barX, barY, barWidth, HEALTH_BAR_HEIGHT);
+        if (this.maxHealth[index] != 0) {
+            graphics.setColor(Const.GREEN);
+            graphics.fillRect(barX, barY, barWidth * this.health[index] / this.maxHealth[index], HEALTH_BAR_HEIGHT);
+        }
+
+        this.getSwordFrame(index).draw(graphics, this.x[index], this.y[index], reflected);
+    }
+
+    /**
+     * This method draws the debug info of every enemy without culling them.
+     */
+    @Override
+    public void drawDebugInfo(Graphics graphics) {
+        for (int i = 0; i < this.size; i++) {
+            this.drawDebugInfo(graphics, i);
+        }
+    }
+
+    /**
+     * This method draws the hitboxes, the target, and other debug info for an enemy.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param index The index of the enemy.
+     */
+    public void drawDebugInfo(Graphics graphics, int index) {
+        boolean reflected = this.checkReflected(index);
+        this.drawGeneralHitbox(graphics, this.templates[this.cycleIds[index]], index);
+        this.getFrame(index).drawDebugInfo(graphics, this.x[index], this.y[index], reflected);
+        this.drawGeneralHitbox(graphics, this.swordTemplates[this.swordCycleIds[index]], index);
+        this.getSwordFrame(index).drawDebugInfo(graphics, this.x[index], this.y[index], reflected);
+
+        // Draw the coordinates of the enemy.
+        String info = this.getName(index) + "(" + (Math.round(this.getCenterX(index) * 10) / 10.0) +
+                ", " + (Math.round(this.y[index] * 10) / 10.0) + ")";
+        Text text = new Text(info, Const.DEBUG_FONT, this.getCenterX(index), (int) this.y[index]);
+        text.draw(graphics);
+
+        // Draw the enemy target.
+        graphics.setColor(Const.GRAY);
+        graphics.fillOval((int) this.targetX[index] - 3, (int) this.targetY[index] - 3, 6, 6);
+    }
+
+    private void drawGeneralHitbox(Graphics graphics, AnimationTemplate template, int index) {
+        graphics.setColor(Const.GREEN);
+        ((Graphics2D) graphics).setStroke(new BasicStroke(1));
+        graphics.drawRect((int) (this.x[index] + template.getGeneralHitboxRelX()),
+                (int) (this.y[index] + template.getGeneralHitboxRelY()),
+                template.getGeneralHitboxWidth(), template.getGeneralHitboxHeight());
+    }
+
+    /**
+     * This method creates a view of an enemy, for code that works with one
+     * enemy at a time.
+     * @param index The index of the enemy.
+     * @return A new {@code Enemy} that reads and changes this {@code EnemyWorld}.
+     */
+    public Enemy get(int index) {
+        return new Enemy(this, index);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getCapacity() {
+        return this.x.length;
+    }
+
+    /**
+     * This method counts the free slots that can be reused by new enemies
+     * without growing the arrays.
+     * @return The number of free slots.
+     */
+    public int getNumFree() {
+        return this.x.length - this.size;
+    }
+
+    /**
+     * This method counts the enemies that were added in the slot of a removed enemy.
+     * @return The number of reused slots.
+     */
+    public int getNumRecycled() {
+        return this.numRecycled;
+    }
+
+    /**
+     * This method counts the enemies that were added in a slot that had never
+     * held an enemy.
+     * @return The number of new slots.
+     */
+    public int getNumCreated() {
+        return this.numUsedSlots;
+    }
+
+    public String getName(int index) {
+        return "Unnamed Enemy " + this.numbers[index];
+    }
+
+    public double getX(int index) {
+        return this.x[index];
+    }
+
+    public double getY(int index) {
+        return this.y[index];
+    }
+
+    /**
+     * This method moves an enemy.
+     * @param index The index of the enemy.
+     * @param newX The new top-left x-coordinate.
+     * @param newY The new top-left y-coordinate.
+     */
+    public void setPos(int index, double newX, double newY) {
+        this.x[index] = newX;
+        this.y[index] = newY;
+    }
+
+    public double getSpeedX(int index) {
+        return this.speedX[index];
+    }
+
+    public double getSpeedY(int index) {
+        return this.speedY[index];
+    }
+
+    public int getWidth(int index) {
+        return this.templates[this.cycleIds[index]].getFrameWidth();
+    }
+
+    public int getHeight(int index) {
+        return this.templates[this.cycleIds[index]].getFrameHeight();
+    }
+
+    /**
+     * This method gets the left edge of the general hitbox of the cycle an enemy is playing.
+     * @param index The index of the enemy.
+     * @return The x-coordinate of the left edge.
+     */
+    public int getGeneralHitboxX(int index) {
+        return (int) (this.x[index] + this.templates[this.cycleIds[index]].getGeneralHitboxRelX());
+    }
+
+    /**
+     * This method gets the top edge of the general hitbox of the cycle an enemy is playing.
+     * @param index The index of the enemy.
+     * @return The y-coordinate of the top edge.
+     */
+    public int getGeneralHitboxY(int index) {
+        return (int) (this.y[index] + this.templates[this.cycleIds[index]].getGeneralHitboxRelY());
+    }
+
+    public int getGeneralHitboxWidth(int index) {
+        return this.templates[this.cycleIds[index]].getGeneralHitboxWidth();
+    }
+
+    public int getGeneralHitboxHeight(int index) {
+        return this.templates[this.cycleIds[index]].getGeneralHitboxHeight();
+    }
+
+    public int getCenterX(int index) {
+        return this.getGeneralHitboxX(index) + this.getGeneralHitboxWidth(index) / 2;
+    }
+
+    public int getCenterY(int index) {
+        return this.getGeneralHitboxY(index) + this.getGeneralHitboxHeight(index) / 2;
+    }
+
+    public int getCycleId(int index) {
+        return this.cycleIds[index];
+    }
+
+    public int getHealth(int index) {
+        return this.health[index];
+    }
+
+    public int getMaxHealth(int index) {
+        return this.maxHealth[index];
+    }
+
+    /**
+     * This method sets a new maximum health for an enemy. It also refills the
+     * health of the enemy to the new maximum. Negative maximums are ignored.
+     * @param index The index of the enemy.
+     * @param newMaxHealthPoints The new maximum health points of the enemy.
+     */
+    public void setMaxHealthPoints(int index, int newMaxHealthPoints) {
+        if (newMaxHealthPoints >= 0) {
+            this.maxHealth[index] = newMaxHealthPoints;
+            this.health[index] = newMaxHealthPoints;
+        }
+    }
+
+    public int getSwordDamage(int index) {
+        return this.swordDamages[index];
+    }
+
+    /**
+     * This method sets the target position of an enemy and turns it towards
+     * the target. The enemy will try to walk towards its target.
+     * @param index The index of the enemy.
+     * @param newTargetX The x-coordinate of the target position.
+     * @param newTargetY The y-coordinate of the target position.
+     */
+    public void setTargetPos(int index, double newTargetX, double newTargetY) {
+        this.targetX[index] = newTargetX;
+        this.targetY[index] = newTargetY;
+
+        // Turn towards target.
+        if (Double.compare(newTargetX, this.getCenterX(index)) <= 0) {
+            this.directions[index] = Const.LEFT;
+        } else {
+            this.directions[index] = Const.RIGHT;
+        }
+    }
+
+    /**
+     * This method checks if an enemy is reflected, which it is while facing right.
+     * @param index The index of the enemy.
+     * @return {@code true} if it is reflected, {@code false} otherwise.
+     */
+    private boolean checkReflected(int index) {
+        return this.directions[index] == Const.RIGHT;
+    }
+
+    private AnimationFrame getFrame(int index) {
+        int cycle = this.cycleIds[index];
+        return this.templates[cycle].getFrame(this.frameIndices[index * NUM_CYCLES + cycle]);
+    }
+
+    private AnimationFrame getSwordFrame(int index) {
+        int cycle = this.swordCycleIds[index];
+        return this.swordTemplates[cycle].getFrame(this.swordFrameIndices[index * NUM_SWORD_CYCLES + cycle]);
+    }
+
+    public boolean checkAlive(int index) {
+        return this.health[index] > 0;
+    }
+
+    /**
+     * This method checks if an enemy has died and finished its death cycle.
+     * @param index The index of the enemy.
+     * @return {@code true} if the enemy is completely dead, {@code false} otherwise.
+     */
+    public boolean checkFullyDead(int index) {
+        return this.fullyDead[index];
+    }
+
+    /**
+     * This method checks if an enemy is within a certain distance threshold from its target.
+     * @param index The index of the enemy.
+     * @return {@code true} if it is close to its target, {@code false} otherwise.
+     */
+    public boolean checkAtTarget(int index) {
+        return Vector.compareDistance(this.getCenterX(index), this.getCenterY(index),
+                this.targetX[index], this.targetY[index], Tile.LENGTH * 2) <= 0;
+    }
+
+    public boolean checkAttacking(int index) {
+        return this.swordCycleIds[index] == SWORD_ATTACK;
+    }
+
+    /**
+     * This method checks if an enemy can currently move. The only time an enemy
+     * cannot move is when it is being hit.
+     * @param index The index of the enemy.
+     * @return {@code true} if it can move, {@code false} otherwise.
+     */
+    public boolean checkCanMove(int index) {
+        return this.cycleIds[index] != HURT;
+    }
+
+    /**
+     * This method makes an enemy swing its sword if it is not already, and if it is
+     * not being hit.
+     * @param index The index of the enemy.
+     */
+    public void attack(int index) {
+        if (!this.checkAttacking(index) && this.checkCanMove(index)) {
+            this.cycleIds[index] = ATTACK;
+            this.swordCycleIds[index] = SWORD_ATTACK;
+            SoundPool.getInstance().play(this.swingSound, Const.ENEMY_SOUND_PRIORITY);
+        }
+    }
+
+    /**
+     * This method inflicts damage onto an enemy and plays its hurt cycle.
+     * @param index The index of the enemy.
+     * @param damagePoints The amount of damage to deal to the enemy.
+     */
+    public void takeDamage(int index, int damagePoints) {
+        if (this.checkAlive(index)) {
+            this.health[index] = Math.max(0, this.health[index] - damagePoints);
+            this.cycleIds[index] = HURT;
+        }
+    }
+
+    /**
+     * This method checks if a coordinate is inside the hitboxes of an enemy.
+     * @param index The index of the enemy.
+     * @param pointX The x-coordinate.
+     * @param pointY The y-coordinate.
+     * @return {@code true} if it is inside, {@code false} otherwise.
+     */
+    public boolean contains(int index, int pointX, int pointY) {
+        return this.getFrame(index).contains(this.x[index], this.y[index], this.checkReflected(index), pointX, pointY);
+    }
+
+    /**
+     * This method checks if a hitbox intersects with the hitboxes of an enemy.
+     * @param index The index of the enemy.
+     * @param other The hitbox to check.
+     * @return {@code true} if they intersect, {@code false} otherwise.
+     */
+    public boolean intersects(int index, Hitbox other) {
+        return this.getFrame(index).intersects(this.x[index], this.y[index], this.checkReflected(index),
+                other.getX(), other.getY(), other.getWidth(), other.getHeight());
+    }
+}
@@ -3,35 +3,51 @@
  * All entities have a name, position, and some sort of dimension.
  */
 abstract public class Entity implements Drawable, Debuggable {
-    private Vector position;
+    private double x;
+    private double y;
     private String name;
 
+    // The position at the start of the last update, used to draw between updates.
+    private double prevX;
+    private double prevY;
+
     /**
      * This constructs an {@code Entity} object at a position with a default name. 
      * @param x The top-left x-coordinate.
      * @param y The top-left y-coordinate.
      */
     public Entity(int x, int y) {
-        this.position = new Vector(x, y);
+        this.x = x;
+        this.y = y;
         this.name = "Unnamed Entity";
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     /**
      * This constructs an {@code Entity} object at a position with a default name.
+     * It does NOT store a reference to the position.
      * @param position The top-left coordinate.
      */
     public Entity(Vector position) {
-        this.position = position;
+        this.x = position.getX();
+        this.y = position.getY();
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     /**
-     * This constructs an {@code Entity} object at a position with a name.
+     * This constructs an {@code Entity} object at a position with a name. It
+     * does NOT store a reference to the position.
      * @param position The top-left coordinate.
      * @param name The name of this {@code Entity}.
      */
     public Entity(Vector position, String name) {
-        this.position = position;
+        this.x = position.getX();
+        this.y = position.getY();
         this.name = name;
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     /**
@@ -41,8 +57,11 @@ abstract public class Entity implements Drawable, Debuggable {
      * @param name The name of this {@code Entity}.
      */
     public Entity(int x, int y, String name) {
-        this.position = new Vector(x, y);
+        this.x = x;
+        this.y = y;
         this.name = name;
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     public String getName() {
@@ -50,19 +69,46 @@ abstract public class Entity implements Drawable, Debuggable {
     }
     
     public double getX() {
-        return this.position.getX();
+        return this.x;
     }
     
     public double getY() {
-        return this.position.getY();
+        return this.y;
     }
 
+    /**
+     * This method creates a copy of the position of this {@code Entity}. Use
+     * {@link Entity#getX} and {@link Entity#getY} to avoid creating a new {@code Vector}.
+     * @return A new {@code Vector} at the top-left coordinate.
+     */
     public Vector getPos() {
-        return this.position.clone();
+        return new Vector(this.x, this.y);
+    }
+
+    public double getPrevX() {
+        return this.prevX;
+    }
+
+    public double getPrevY() {
+        return this.prevY;
+    }
+
+    /**
+     * This method gets the x-coordinate between the previous and current positions.
+     * @param alpha How far between the positions, from {@code 0} (previous) to {@code 1} (current).
+     * @return The interpolated x-coordinate.
+     */
+    public double getInterpolatedX(double alpha) {
+        return this.prevX + (this.x - this.prevX) * alpha;
     }
 
-    public Vector getRefPos() {
-        return this.position;
+    /**
+     * This method gets the y-coordinate between the previous and current positions.
+     * @param alpha How far between the positions, from {@code 0} (previous) to {@code 1} (current).
+     * @return The interpolated y-coordinate.
+     */
+    public double getInterpolatedY(double alpha) {
+        return this.prevY + (this.y - this.prevY) * alpha;
     }
 
     abstract public int getWidth();
@@ -83,15 +129,40 @@ abstract public class Entity implements Drawable, Debuggable {
     }
 
     public void setX(double newX) {
-        this.position.setX(newX);
+        this.setPos(newX, this.y);
     }
 
     public void setY(double newY) {
-        this.position.setY(newY);
+        this.setPos(this.x, newY);
     }
 
+    /**
+     * This method sets the position of this {@code Entity}. It does NOT store a
+     * reference to the new position.
+     * @param newPos The new top-left coordinate.
+     */
     public void setPos(Vector newPos) {
-        this.position = newPos;
+        this.setPos(newPos.getX(), newPos.getY());
+    }
+
+    /**
+     * This method sets the position of this {@code Entity}. Subclasses that move
+     * other objects along with them should override this method.
+     * @param newX The new top-left x-coordinate.
+     * @param newY The new top-left y-coordinate.
+     */
+    public void setPos(double newX, double newY) {
+        this.x = newX;
+        this.y = newY;
+    }
+
+    /**
+     * This method records the current position as the previous position. It
+     * should be called at the start of each update.
+     */
+    public void savePrevPos() {
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     /**
@@ -99,6 +170,6 @@ abstract public class Entity implements Drawable, Debuggable {
      * "name (x, y)".
      */
     public String toString() {
-        return this.name + " " + this.position;
+        return this.name + " (" + this.x + ", " + this.y + ")";
     }
 }
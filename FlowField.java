@@ -0,0 +1,389 @@
+import java.util.Arrays;
+
+/**
+ * This class stores a flow field that leads every tile near the player towards
+ * the player. It is calculated once with a breadth-first search out from the
+ * tile of the player, over the tiles of the active chunks, and then each tile
+ * stores which neighbouring tile is one step closer. An enemy only needs to look
+ * up the tile it is on to know which way to walk around solid tiles, so the cost
+ * does not grow with the number of enemies.
+ * <p>
+ * The field is only calculated again when the player moves onto a different tile.
+ * Tiles that are solid or outside the active chunks cannot be walked through.
+ * Enemies can be larger than a tile, so a tile is also closed if a box the size
+ * of an enemy centered on it would touch a closed tile.
+ * </p>
+ * @see Map
+ * @see Enemy
+ */
+public class FlowField {
+    // The distance of a tile that cannot reach the player.
+    public static final int UNREACHABLE = -1;
+    // The direction of a tile that has no tile closer to the player.
+    private static final byte NO_DIRECTION = -1;
+    // The number of chunks away from the player's chunk that the field covers.
+    private static final int FIELD_DISTANCE = Map.RENDER_DISTANCE + 1;
+
+    // The eight directions, orthogonal first so they are preferred on ties.
+    private static final int[] DIRECTION_X = {0, -1, 0, 1, -1, -1, 1, 1};
+    private static final int[] DIRECTION_Y = {-1, 0, 1, 0, -1, 1, 1, -1};
+
+    private Map map;
+    // The number of tiles along each side of the field.
+    private int size;
+    // The number of tiles on each side of a tile that an enemy centered on it reaches into.
+    private int clearanceX;
+    private int clearanceY;
+    // The tile coordinate of the top-left tile of the field.
+    private int originTileX;
+    private int originTileY;
+    // The tile coordinate of the player.
+    private int goalTileX;
+    private int goalTileY;
+    private boolean calculated;
+
+    // The data of each tile. Tile (x, y) of the field is at index y * size + x.
+    private boolean[] closed;
+    private boolean[] closedRows;
+    private boolean[] blocked;
+    private int[] distances;
+    private byte[] directions;
+    private int[] queue;
+    // The number of tiles that can reach the player, including the player's own.
+    private int numReachable;
+
+    private long numCalculations;
+
+    /**
+     * This constructs a {@code FlowField} object for a map. It covers every chunk
+     * within one more than the render distance of the chunk the player is in, 
+     * so it still covers the active chunks when the player's center is in a 
+     * different chunk than the player's position.
+     * @param map The {@code Map} to find paths through.
+     * @param agentWidth The width of the hitbox of the enemies that follow the field.
+     * @param agentHeight The height of the hitbox of the enemies that follow the field.
+     */
+    public FlowField(Map map, int agentWidth, int agentHeight) {
+        this.map = map;
+        this.size = (2 * FIELD_DISTANCE + 1) * Chunk.LENGTH;
+        this.clearanceX = calculateClearance(agentWidth);
+        this.clearanceY = calculateClearance(agentHeight);
+        this.calculated = false;
+        this.numReachable = 0;
+        this.numCalculations = 0;
+
+        int numTiles = this.size * this.size;
+        this.closed = new boolean[numTiles];
+        this.closedRows = new boolean[numTiles];
+        this.blocked = new boolean[numTiles];
+        this.distances = new int[numTiles];
+        this.directions = new byte[numTiles];
+        this.queue = new int[numTiles];
+    }
+
+    /**
+     * This method calculates how many tiles a box centered on a tile reaches
+     * into on each side. Touching the edge of a tile counts as reaching into it.
+     * @param length The width or height of the box.
+     * @return The number of tiles on each side.
+     */
+    private static int calculateClearance(int length) {
+        int overhang = length / 2 - Tile.LENGTH / 2;
+        if (overhang < 0) {
+            return 0;
+        }
+        return overhang / Tile.LENGTH + 1;
+    }
+
+    public Map getMap() {
+        return this.map;
+    }
+
+    public int getGoalTileX() {
+        return this.goalTileX;
+    }
+
+    public int getGoalTileY() {
+        return this.goalTileY;
+    }
+
+    public long getNumCalculations() {
+        return this.numCalculations;
+    }
+
+    /**
+     * This method calculates the flow field again if the player has moved onto a
+     * different tile since the last time it was calculated.
+     * @param playerX The x-coordinate of the center of the player.
+     * @param playerY The y-coordinate of the center of the player.
+     * @return {@code true} if the field was calculated again, {@code false} otherwise.
+     */
+    public boolean update(int playerX, int playerY) {
+        int tileX = Map.calculateTileCoordinate(playerX);
+        int tileY = Map.calculateTileCoordinate(playerY);
+        if (this.calculated && tileX == this.goalTileX && tileY == this.goalTileY) {
+            return false;
+        }
+
+        this.calculate(tileX, tileY);
+        return true;
+    }
+
+    /**
+     * This method makes the flow field be calculated again on the next update,
+     * such as after the active chunks change.
+     */
+    public void invalidate() {
+        this.calculated = false;
+    }
+
+    /**
+     * This method calculates the distance of every tile from the player, and then
+     * the direction each tile should be left in.
+     * @param tileX The x-coordinate of the tile the player is on, in tiles.
+     * @param tileY The y-coordinate of the tile the player is on, in tiles.
+     */
+    private void calculate(int tileX, int tileY) {
+        this.goalTileX = tileX;
+        this.goalTileY = tileY;
+        this.calculated = true;
+        this.numCalculations++;
+
+        // Center the field on the chunk of the player.
+        int playerMapX = Math.floorDiv(tileX, Chunk.LENGTH);
+        int playerMapY = Math.floorDiv(tileY, Chunk.LENGTH);
+        this.originTileX = (playerMapX - FIELD_DISTANCE) * Chunk.LENGTH;
+        this.originTileY = (playerMapY - FIELD_DISTANCE) * Chunk.LENGTH;
+
+        this.findBlockedTiles();
+        Arrays.fill(this.distances, UNREACHABLE);
+        Arrays.fill(this.directions, NO_DIRECTION);
+
+        int goalIndex = (tileY - this.originTileY) * this.size + (tileX - this.originTileX);
+        this.distances[goalIndex] = 0;
+
+        // Search outwards from the player one step at a time.
+        int head = 0;
+        int tail = 0;
+        this.queue[tail++] = goalIndex;
+        while (head < tail) {
+            int index = this.queue[head++];
+            int x = index % this.size;
+            int y = index / this.size;
+            int nextDistance = this.distances[index] + 1;
+
+            for (int i = 0; i < 4; i++) {
+                int nextX = x + DIRECTION_X[i];
+                int nextY = y + DIRECTION_Y[i];
+                if (!this.checkOpen(nextX, nextY)) {
+                    continue;
+                }
+                int nextIndex = nextY * this.size + nextX;
+                if (this.distances[nextIndex] == UNREACHABLE) {
+                    this.distances[nextIndex] = nextDistance;
+                    this.queue[tail++] = nextIndex;
+                }
+            }
+        }
+
+        this.numReachable = tail;
+
+        // Point each tile at its closest neighbour, including diagonals.
+        for (int i = 0; i < tail; i++) {
+            this.directions[this.queue[i]] = this.findDirection(this.queue[i]);
+        }
+    }
+
+    /**
+     * This method marks the tiles that cannot be walked through. Only tiles in
+     * the active chunks can be walked through, and only if they are not solid.
+     * The closed tiles are then grown by the clearance of the enemies, first
+     * along the rows and then along the columns.
+     */
+    private void findBlockedTiles() {
+        Arrays.fill(this.closed, true);
+
+        for (Chunk chunk: this.map.getActiveChunks()) {
+            int startX = chunk.getX() - this.originTileX;
+            int startY = chunk.getY() - this.originTileY;
+            if (startX < 0 || startY < 0 || startX >= this.size || startY >= this.size) {
+                continue;
+            }
+
+            for (int y = 0; y < Chunk.LENGTH; y++) {
+                int rowIndex = (startY + y) * this.size + startX;
+                for (int x = 0; x < Chunk.LENGTH; x++) {
+                    this.closed[rowIndex + x] = chunk.checkSolid(x, y);
+                }
+            }
+        }
+
+        for (int y = 0; y < this.size; y++) {
+            for (int x = 0; x < this.size; x++) {
+                this.closedRows[y * this.size + x] = this.checkAnyClosed(this.closed, 
+                        y * this.size, 1, x, this.clearanceX);
+            }
+        }
+        for (int y = 0; y < this.size; y++) {
+            for (int x = 0; x < this.size; x++) {
+                this.blocked[y * this.size + x] = this.checkAnyClosed(this.closedRows, 
+                        x, this.size, y, this.clearanceY);
+            }
+        }
+    }
+
+    /**
+     * This method checks if any tile near a tile along one row or column is closed.
+     * Tiles outside the field count as closed.
+     * @param tiles The tiles to check.
+     * @param startIndex The index of the first tile of the row or column.
+     * @param step The distance between the indices of neighbouring tiles.
+     * @param position The position of the tile in the row or column.
+     * @param distance The number of tiles on each side to check.
+     * @return {@code true} if a tile is closed, {@code false} otherwise.
+     */
+    private boolean checkAnyClosed(boolean[] tiles, int startIndex, int step, int position, int distance) {
+        if (position - distance < 0 || position + distance >= this.size) {
+            return true;
+        }
+        for (int i = position - distance; i <= position + distance; i++) {
+            if (tiles[startIndex + i * step]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method finds the neighbour of a tile that is closest to the player. A
+     * diagonal step is only taken if both tiles beside it are open, so enemies
+     * do not cut across the corners of solid tiles.
+     * @param index The index of the tile in the field.
+     * @return The index of the direction, or {@code NO_DIRECTION} if the tile is the player's.
+     */
+    private byte findDirection(int index) {
+        int x = index % this.size;
+        int y = index / this.size;
+        int bestDistance = this.distances[index];
+        byte bestDirection = NO_DIRECTION;
+
+        for (int i = 0; i < DIRECTION_X.length; i++) {
+            int nextX = x + DIRECTION_X[i];
+            int nextY = y + DIRECTION_Y[i];
+            if (!this.checkOpen(nextX, nextY)) {
+                continue;
+            }
+            if (i >= 4 && !(this.checkOpen(nextX, y) && this.checkOpen(x, nextY))) {
+                continue;
+            }
+
+            int nextDistance = this.distances[nextY * this.size + nextX];
+            if (nextDistance != UNREACHABLE && nextDistance < bestDistance) {
+                bestDistance = nextDistance;
+                bestDirection = (byte) i;
+            }
+        }
+        return bestDirection;
+    }
+
+    /**
+     * This method checks if a tile is inside the field and can be walked through.
+     * @param x The x-coordinate of the tile, relative to the field.
+     * @param y The y-coordinate of the tile, relative to the field.
+     * @return {@code true} if it can be walked through, {@code false} otherwise.
+     */
+    private boolean checkOpen(int x, int y) {
+        return 0 <= x && x < this.size && 0 <= y && y < this.size && !this.blocked[y * this.size + x];
+    }
+
+    /**
+     * This method gets the index of a tile in the field.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return The index of the tile, or {@code -1} if the tile is outside the field.
+     */
+    private int getIndex(int tileX, int tileY) {
+        int x = tileX - this.originTileX;
+        int y = tileY - this.originTileY;
+        if (!this.calculated || x < 0 || y < 0 || x >= this.size || y >= this.size) {
+            return -1;
+        }
+        return y * this.size + x;
+    }
+
+    /**
+     * This method gets the number of steps from a tile to the player, walking
+     * around solid tiles.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return The number of steps, or {@code UNREACHABLE} if the player cannot be reached.
+     */
+    public int getDistance(int tileX, int tileY) {
+        int index = this.getIndex(tileX, tileY);
+        if (index < 0) {
+            return UNREACHABLE;
+        }
+        return this.distances[index];
+    }
+
+    /**
+     * This method checks if the player can be reached from a tile.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return {@code true} if it can be reached, {@code false} otherwise.
+     */
+    public boolean checkReachable(int tileX, int tileY) {
+        return this.getDistance(tileX, tileY) != UNREACHABLE;
+    }
+
+    /**
+     * This method checks if any tile besides the player's own can reach the
+     * player. None can when the player stands somewhere too narrow for an enemy,
+     * such as a corridor one tile wide.
+     * @return {@code true} if a tile can reach the player, {@code false} otherwise.
+     */
+    public boolean checkAnyReachable() {
+        return this.calculated && this.numReachable > 1;
+    }
+
+    /**
+     * This method checks if a tile has a neighbouring tile that is closer to the player.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return {@code true} if it has a direction, {@code false} otherwise.
+     */
+    public boolean checkHasDirection(int tileX, int tileY) {
+        int index = this.getIndex(tileX, tileY);
+        return index >= 0 && this.directions[index] != NO_DIRECTION;
+    }
+
+    /**
+     * This method gets the horizontal step towards the player from a tile.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return {@code -1}, {@code 0} or {@code 1}, or {@code 0} if the tile has no direction.
+     * @see FlowField#checkHasDirection
+     */
+    public int getDirectionX(int tileX, int tileY) {
+        int index = this.getIndex(tileX, tileY);
+        if (index < 0 || this.directions[index] == NO_DIRECTION) {
+            return 0;
+        }
+        return DIRECTION_X[this.directions[index]];
+    }
+
+    /**
+     * This method gets the vertical step towards the player from a tile.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return {@code -1}, {@code 0} or {@code 1}, or {@code 0} if the tile has no direction.
+     * @see FlowField#checkHasDirection
+     */
+    public int getDirectionY(int tileX, int tileY) {
+        int index = this.getIndex(tileX, tileY);
+        if (index < 0 || this.directions[index] == NO_DIRECTION) {
+            return 0;
+        }
+        return DIRECTION_Y[this.directions[index]];
+    }
+}
@@ -1,13 +1,11 @@
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Random;
 
-import java.awt.event.ActionListener;
-import java.awt.event.ActionEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseListener;
@@ -16,7 +14,16 @@ import java.awt.event.MouseEvent;
 
 /**
  * This class represents the game. It contains all the game entities and is
- * responsible for running the logic of their behaviour.
+ * responsible for running the logic of their behaviour. The game is updated on
+ * the thread of a {@code GameLoop}, while it is drawn and receives input on the
+ * Swing event thread. Each of these holds the lock of the {@code Game} object,
+ * so the window always draws the state after a whole update.
+ * <p>
+ * A game can also be made without a window. It is then only updated when
+ * {@link Game#step} is called, and all of its randomness comes from a seed, so
+ * the same seed and input always play out the same way.
+ * </p>
+ * @see GameLoop
  */
 public class Game implements Drawable, Debuggable {
     // Difficulty levels.
@@ -25,59 +32,135 @@ public class Game implements Drawable, Debuggable {
     public static final int MEDIUM = 1;
     public static final int HARD = 2;
 
+    // Performance metrics. Timings are in nanoseconds.
+    private static final String[] METRIC_NAMES = {"Frame", "Tick", "Update", "Animate", "Spawn", 
+            "Minimap update", "Map draw", "Entity draw", "Present", "Enemies", "Active chunks", "Drawn sprites", "Free enemy slots"};
+    private static final String[] METRIC_UNITS = {PerformanceMonitor.NANOSECONDS, PerformanceMonitor.NANOSECONDS,
+            PerformanceMonitor.NANOSECONDS, PerformanceMonitor.NANOSECONDS, PerformanceMonitor.NANOSECONDS,
+            PerformanceMonitor.NANOSECONDS, PerformanceMonitor.NANOSECONDS, PerformanceMonitor.NANOSECONDS,
+            PerformanceMonitor.NANOSECONDS, PerformanceMonitor.COUNT, PerformanceMonitor.COUNT, PerformanceMonitor.COUNT,
+            PerformanceMonitor.COUNT};
+    public static final int FRAME_METRIC = 0;
+    public static final int TICK_METRIC = 1;
+    public static final int UPDATE_METRIC = 2;
+    public static final int ANIMATE_METRIC = 3;
+    public static final int SPAWN_METRIC = 4;
+    public static final int MINIMAP_METRIC = 5;
+    public static final int MAP_DRAW_METRIC = 6;
+    public static final int ENTITY_DRAW_METRIC = 7;
+    public static final int PRESENT_METRIC = 8;
+    public static final int ENEMY_COUNT_METRIC = 9;
+    public static final int CHUNK_COUNT_METRIC = 10;
+    public static final int SPRITE_COUNT_METRIC = 11;
+    public static final int FREE_ENEMY_SLOTS_METRIC = 12;
+
     private boolean debugMode;
+    private boolean performanceMode;
     private int difficulty;
 
     private Player player;
     private Map map;
+    private FlowField flowField;
     private Minimap minimap;
-    private ArrayList<Enemy> enemies;
+    private EnemyWorld enemies;
+    // Reused to find spawn positions without creating a Vector each attempt.
+    private Vector spawnPos;
+    private Camera camera;
+    private Random random;
     private Window window;
-
-    private Timer updateLoop;
-    private Timer animateLoop;
-    private Timer enemySpawnLoop;
+    private GameCanvas canvas;
+    // How far the drawn frame is between the previous and current update, from 0 to 1.
+    private double interpolation;
+    private PerformanceMonitor monitor;
+    private PerformanceOverlay performanceOverlay;
+    // When the last frame was drawn, or 0 if none has been drawn since the game started running.
+    private long prevFrameTime;
+
+    private GameLoop gameLoop;
+    // The game time since the last animation and enemy spawn in milliseconds.
+    private int animateTimer;
+    private int enemySpawnTimer;
+    private int enemySpawnPeriod;
     
     /**
      * This constructs a {@code Game} object.
      * @param window The window that the game takes place in.
      */
     public Game(Window window) {
+        this(window, new Random());
+    }
+
+    /**
+     * This constructs a {@code Game} object without a window. It has no minimap
+     * and is only updated by {@link Game#step}. Run it with
+     * {@code -Djava.awt.headless=true} to skip loading images, fonts and sounds.
+     * @param seed The seed of every random choice in the game.
+     */
+    public Game(long seed) {
+        this(null, new Random(seed));
+    }
+
+    /**
+     * This constructs a {@code Game} object.
+     * @param window The window that the game takes place in, or {@code null} for no window.
+     * @param random The random number generator used by the game.
+     */
+    private Game(Window window, Random random) {
+        this.random = random;
         this.map = new Map(Const.MAP_FILE_NAME);
-        this.player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, this.map);
-        this.enemies = new ArrayList<Enemy>();
+        this.player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, this.map, this.random);
+        this.camera = new Camera(Const.WIDTH, Const.HEIGHT);
 
         this.map.loadFromFile();
+        // The handwritten chunks are surrounded by generated desert.
+        this.map.addProvider(new DesertGenerator(this.random.nextLong()));
         this.map.updateRendering(this.player.getPos());
-        this.minimap = new Minimap(Const.MINIMAP_POS, Const.MINIMAP_WIDTH, 
-                Const.MINIMAP_HEIGHT, Const.MINIMAP_SCALE, this.map, this.player,
-                this.enemies);
+        // Headless games read chunks right away, so the same seed always plays out the same way.
+        if (window != null) {
+            this.map.startStreaming(Const.NUM_STREAMING_THREADS);
+        }
+        AnimationTemplate enemyTemplate = AnimationTemplate.getInstance(Const.ENEMY_WALK_SPRITE_SHEET, 
+                Const.ENEMY_WALK_FILE_NAME);
+        this.flowField = new FlowField(this.map, enemyTemplate.getGeneralHitboxWidth(), 
+                enemyTemplate.getGeneralHitboxHeight());
+        this.flowField.update(this.player.getCenterX(), this.player.getCenterY());
+        this.enemies = new EnemyWorld(this.player, this.flowField);
+        // Warm up the enemy pool, so spawning never has to grow it.
+        this.enemies.reserve(Const.NUM_MAX_ENEMIES);
+        this.spawnPos = new Vector();
+
+        // The minimap is only needed when there is a window to draw it in.
+        this.minimap = null;
+        if (window != null) {
+            this.minimap = new Minimap(Const.MINIMAP_POS, Const.MINIMAP_WIDTH, 
+                    Const.MINIMAP_HEIGHT, Const.MINIMAP_SCALE, this.map, this.player,
+                    this.enemies);
+        }
+        // Open the audio lines now, so the first attack does not wait for them.
+        if (window != null) {
+            SoundPool.getInstance().open();
+        }
         
         for (int i = 0; i < Const.NUM_START_ENEMIES; i++) {
             this.spawnEnemy();
         }
         
-        this.updateLoop = new Timer(Const.UPDATE_PERIOD, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                update();
-            }
-        });
-
-        this.animateLoop = new Timer(Const.ANIMATE_PERIOD, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                animate();
-            }
-        });
-        
-        this.enemySpawnLoop = new Timer(Const.MEDIUM_SPAWN_SPEED, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                spawnEnemy();
-            }
-        });
+        this.gameLoop = new GameLoop(this, Const.UPDATE_PERIOD);
+        this.animateTimer = 0;
+        this.enemySpawnTimer = 0;
+        this.enemySpawnPeriod = Const.MEDIUM_SPAWN_SPEED;
 
         this.debugMode = false;
+        this.performanceMode = false;
+        this.monitor = new PerformanceMonitor(METRIC_NAMES, METRIC_UNITS, Const.NUM_PERFORMANCE_SAMPLES);
+        this.performanceOverlay = new PerformanceOverlay(this.monitor, 0, 0, 
+                new int[] {FRAME_METRIC, TICK_METRIC});
+        this.performanceOverlay.setPos(Const.WIDTH - this.performanceOverlay.getWidth() - 20, 20);
+        this.prevFrameTime = 0;
         this.setDifficulty(MEDIUM);
         this.window = window;
+        this.canvas = null;
+        this.interpolation = 1.0;
     }
 
     /**
@@ -85,70 +168,169 @@ public class Game implements Drawable, Debuggable {
      * unpauses the game.
      */
     public void run() {
-        this.updateLoop.start();
-        this.animateLoop.start();
-        this.enemySpawnLoop.start();
+        if (this.window != null) {
+            this.gameLoop.setFramePeriod(this.window.getFramePeriod());
+        }
+        this.prevFrameTime = 0;
+        this.gameLoop.start();
     }
 
     /**
      * This method pauses the game. While paused, the game stops drawing and updating.
      */
     public void pause() {
-        this.updateLoop.stop();
-        this.animateLoop.stop();
-        this.enemySpawnLoop.stop();
+        this.gameLoop.stop();
     }
 
     /**
-     * This method updates the entities of the game.
+     * This method advances the game by one update period. The entities are
+     * updated every time, while animations and enemy spawns happen when enough
+     * game time has passed for them. This is called by the {@code GameLoop}.
+     * @see GameLoop
      */
-    private void update() {
-        Vector prevPlayerMapPosition = Map.calculateMapPosition(this.player.getPos());
-        
-        // Update the player.
-        this.player.update();
-
-        // Update the enemies.
-        for (Enemy enemy: this.enemies) {
-            enemy.update();
+    public synchronized void tick() {
+        long tickStartTime = System.nanoTime();
+        this.update();
+        this.monitor.recordSince(UPDATE_METRIC, tickStartTime);
+
+        // The minimap is drawn separately since drawing is not part of the simulation.
+        if (this.minimap != null) {
+            long startTime = System.nanoTime();
+            this.minimap.update();
+            this.monitor.recordSince(MINIMAP_METRIC, startTime);
+        }
+        if (this.checkGameOver()) {
+            this.monitor.recordSince(TICK_METRIC, tickStartTime);
+            return;
+        }
 
-            // Deal player damage onto enemy.
-            if (player.getSword().intersects(enemy.getActiveCycle())) {
-                enemy.takeDamage(player.getSword().getDamage());
+        // Only time the animations and spawns in the updates that they happen in.
+        int updatePeriod = this.gameLoop.getTickPeriod();
+        this.animateTimer += updatePeriod;
+        if (this.animateTimer >= Const.ANIMATE_PERIOD) {
+            long startTime = System.nanoTime();
+            while (this.animateTimer >= Const.ANIMATE_PERIOD) {
+                this.animate();
+                this.animateTimer -= Const.ANIMATE_PERIOD;
             }
+            this.monitor.recordSince(ANIMATE_METRIC, startTime);
+        }
 
-            // Deal enemy damages onto player.
-            if (enemy.getSword().intersects(player.getActiveCycle())) {
-                player.takeDamage((enemy.getSword().getDamage()));
+        this.enemySpawnTimer += updatePeriod;
+        if (this.enemySpawnTimer >= this.enemySpawnPeriod) {
+            long startTime = System.nanoTime();
+            while (this.enemySpawnTimer >= this.enemySpawnPeriod) {
+                this.spawnEnemy();
+                this.enemySpawnTimer -= this.enemySpawnPeriod;
             }
+            this.monitor.recordSince(SPAWN_METRIC, startTime);
         }
 
-        for (Iterator<Enemy> it = this.enemies.iterator(); it.hasNext(); ) {
-            Enemy enemy = it.next();
+        this.monitor.record(ENEMY_COUNT_METRIC, this.enemies.size());
+        this.monitor.record(CHUNK_COUNT_METRIC, this.map.getActiveChunks().size());
+        this.monitor.record(FREE_ENEMY_SLOTS_METRIC, this.enemies.getNumFree());
+        this.monitor.recordSince(TICK_METRIC, tickStartTime);
+    }
 
-            // Play the enemy death animation.
-            if (!enemy.checkAlive()) {
-                enemy.die();
+    /**
+     * This method advances the game by a number of update periods right away,
+     * without waiting for the game time to pass. It stops early if the game ends.
+     * @param numTicks The number of updates to run.
+     * @return The number of updates that were run.
+     * @see Game#tick
+     */
+    public synchronized int step(int numTicks) {
+        for (int i = 0; i < numTicks; i++) {
+            if (this.checkGameOver()) {
+                return i;
             }
+            this.tick();
+        }
+        return numTicks;
+    }
 
-            // Remove the enemy once the death animation gets played.
-            if (enemy.checkFullyDead()) {
-                it.remove();
+    /**
+     * This method asks the window to switch screens. The switch happens later
+     * on the Swing event thread.
+     * @param screenName The name of the screen to switch to.
+     */
+    private void requestScreen(final String screenName) {
+        if (this.window == null) {
+            return;
+        }
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                window.switchToScreen(screenName);
             }
+        });
+    }
+
+    /**
+     * This method draws a frame of the game. If a {@code GameCanvas} is set, the
+     * frame is drawn and shown right away. Otherwise, the window is asked to repaint.
+     * This is called by the {@code GameLoop}.
+     * @param interpolation How far the frame is between the previous and current
+     * update, from {@code 0} to {@code 1}. Entities are drawn this far between
+     * their previous and current positions.
+     */
+    public void render(double interpolation) {
+        long curTime = System.nanoTime();
+        if (this.prevFrameTime != 0) {
+            this.monitor.record(FRAME_METRIC, curTime - this.prevFrameTime);
+        }
+        this.prevFrameTime = curTime;
+
+        this.interpolation = interpolation;
+        if (this.canvas != null) {
+            this.canvas.render();
+            this.monitor.record(PRESENT_METRIC, this.canvas.getPresentNanos());
+        } else if (this.window != null) {
+            this.window.draw();
         }
+    }
+
+    /**
+     * This method updates the entities of the game.
+     */
+    private void update() {
+        int prevPlayerMapX = Map.calculateMapCoordinate(this.player.getX());
+        int prevPlayerMapY = Map.calculateMapCoordinate(this.player.getY());
+
+        // Record the positions before the update to draw between them.
+        this.player.savePrevPos();
+        this.enemies.savePrevPositions();
         
+        // Update the player.
+        this.player.update();
+
         // Update map rendering if player moves to a new chunk.
-        Vector curPlayerMapPosition = Map.calculateMapPosition(this.player.getPos());
-        if (!prevPlayerMapPosition.equals(curPlayerMapPosition)) {
-            this.map.updateRendering(this.player.getPos());
+        if (Map.calculateMapCoordinate(this.player.getX()) != prevPlayerMapX ||
+                Map.calculateMapCoordinate(this.player.getY()) != prevPlayerMapY) {
+            this.map.updateRendering(this.player.getPos(), this.player.getSpeed());
+            this.flowField.invalidate();
         }
 
-        this.minimap.update();
+        // Add the chunks that were read in the background.
+        if (this.map.receiveChunks()) {
+            this.flowField.invalidate();
+            if (this.minimap != null) {
+                this.minimap.invalidate();
+            }
+        }
+
+        // Lead the enemies to the player's new tile.
+        this.flowField.update(this.player.getCenterX(), this.player.getCenterY());
+
+        // Move the enemies, deal the damage of the swords that hit, and remove
+        // the enemies that finished dying.
+        this.enemies.update();
+        this.enemies.handleCombat();
+        this.enemies.removeDead();
 
-        // Go to the game over screen when the game ends.
+        // Go to the game over screen on the Swing event thread when the game ends.
         if (this.checkGameOver()) {
             this.pause();
-            window.switchToScreen(Const.GAME_OVER_SCREEN_NAME);
+            this.requestScreen(Const.GAME_OVER_SCREEN_NAME);
         }
     }
 
@@ -157,10 +339,7 @@ public class Game implements Drawable, Debuggable {
      */
     private void animate() {
         this.player.animate();
-
-        for (Enemy enemy: this.enemies) {
-            enemy.animate();
-        }
+        this.enemies.animate();
     }
 
     /**
@@ -171,14 +350,6 @@ public class Game implements Drawable, Debuggable {
             return;
         }
 
-        // Get a valid random starting position for the enemy.
-        Vector randomPos;
-        do {
-            randomPos = Vector.getRandomInstance(this.player.getCenterX() - 400, 
-                    this.player.getCenterX() + 400, this.player.getCenterY() - 400, 
-                    this.player.getCenterY() + 400);
-        } while (Vector.compareDistance(randomPos, this.player.getCenter(), 180) <= 0);
-
         // Determine the stats of the enemy.
         int maxHealthPoints = 0;
         int swordDamagePoints = 0;
@@ -193,28 +364,81 @@ public class Game implements Drawable, Debuggable {
                 maxHealthPoints = Const.HARD_ENEMY_HEALTH;
                 swordDamagePoints = Const.SWORD_DAMAGE;
         }
-        Enemy newEnemy = new Enemy(randomPos, this.player, maxHealthPoints, swordDamagePoints);
-        this.enemies.add(newEnemy);
+        // The enemy takes over the slot of a removed enemy, which resets it.
+        this.findRandomSpawnPos(this.spawnPos);
+        int index = this.enemies.add(this.spawnPos.getX(), this.spawnPos.getY(), maxHealthPoints, swordDamagePoints);
+
+        // Move the enemy until it is off solid tiles and can reach the player.
+        for (int numAttempts = 1; !this.checkSpawnValid(index); numAttempts++) {
+            if (numAttempts >= Const.MAX_SPAWN_ATTEMPTS) {
+                this.enemies.remove(index);
+                return;
+            }
+            this.findRandomSpawnPos(this.spawnPos);
+            this.enemies.setPos(index, this.spawnPos.getX(), this.spawnPos.getY());
+        }
+    }
+
+    /**
+     * This method picks a random position near the player, but not too close.
+     * @param out The {@code Vector} to store the position in.
+     */
+    private void findRandomSpawnPos(Vector out) {
+        int centerX = this.player.getCenterX();
+        int centerY = this.player.getCenterY();
+        do {
+            Vector.randomInto(this.random, centerX - 400, centerX + 400, centerY - 400, centerY + 400, out);
+        } while (Vector.compareDistance(out.getX(), out.getY(), centerX, centerY, 180) <= 0);
+    }
+
+    /**
+     * This method checks if an enemy is in a valid place to spawn. It must not
+     * be touching a solid tile and must be able to reach the player. If the
+     * player is somewhere no enemy can reach, such as a narrow corridor, enemies
+     * only have to be off solid tiles, so they keep spawning.
+     * @param index The index of the enemy to check.
+     * @return {@code true} if it can spawn there, {@code false} otherwise.
+     */
+    private boolean checkSpawnValid(int index) {
+        int left = this.enemies.getGeneralHitboxX(index);
+        int top = this.enemies.getGeneralHitboxY(index);
+        if (this.map.intersectsWithActiveSolid(left, top, left + this.enemies.getGeneralHitboxWidth(index),
+                top + this.enemies.getGeneralHitboxHeight(index))) {
+            return false;
+        }
+        if (!this.flowField.checkAnyReachable()) {
+            return true;
+        }
+        return this.flowField.checkReachable(Map.calculateTileCoordinate(this.enemies.getCenterX(index)), 
+                Map.calculateTileCoordinate(this.enemies.getCenterY(index)));
     }
 
     /**
      * This method draws the game entities and map onto a surface. THe player is
-     * always centered.
+     * always centered. Chunks and entities outside the window are skipped.
+     * @see Camera
      */
     @Override
-    public void draw(Graphics graphics) {
+    public synchronized void draw(Graphics graphics) {
         // Center the player in the window.
+        this.camera.centerOn(this.player.getCenterX() + this.calculateDrawOffsetX(this.player),
+                this.player.getCenterY() + this.calculateDrawOffsetY(this.player));
+        this.camera.resetCounts();
         AffineTransform saveAT = ((Graphics2D) graphics).getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                Const.WIDTH / 2 - this.player.getCenterX(), Const.HEIGHT / 2 - this.player.getCenterY());
-        ((Graphics2D) graphics).setTransform(translateCenterPlayer);
+        ((Graphics2D) graphics).setTransform(this.camera.getTransform());
 
-        this.map.draw(graphics);
-        this.player.draw(graphics);
+        long startTime = System.nanoTime();
+        this.map.draw(graphics, this.camera);
+        this.monitor.recordSince(MAP_DRAW_METRIC, startTime);
 
-        for (Enemy enemy: this.enemies) {
-            enemy.draw(graphics);
+        startTime = System.nanoTime();
+        if (this.camera.shouldDraw(this.player)) {
+            this.drawEntity(graphics, this.player, false);
         }
+
+        this.enemies.draw(graphics, this.camera, this.interpolation, false);
+        this.monitor.recordSince(ENTITY_DRAW_METRIC, startTime);
+        this.monitor.record(SPRITE_COUNT_METRIC, this.camera.getNumDrawn());
         
         // Reset the graphics.
         ((Graphics2D) graphics).setTransform(saveAT);
@@ -223,29 +447,95 @@ public class Game implements Drawable, Debuggable {
             this.drawDebugInfo(graphics);
         }
         
-        this.minimap.draw(graphics);
+        if (this.minimap != null) {
+            this.minimap.draw(graphics);
+        }
+        if (this.checkShowingPerformance()) {
+            this.performanceOverlay.draw(graphics);
+        }
     }
 
     /**
      * This method draws the hitboxes and other debug information for the game.
+     * It also shows how many objects were drawn and culled in this frame.
      */
     @Override
-    public void drawDebugInfo(Graphics graphics) {
+    public synchronized void drawDebugInfo(Graphics graphics) {
         // Center the player in the window.
         AffineTransform saveAT = ((Graphics2D) graphics).getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                Const.WIDTH / 2 - this.player.getCenterX(), Const.HEIGHT / 2 - this.player.getCenterY());
-        ((Graphics2D) graphics).setTransform(translateCenterPlayer);
-
-        this.map.drawDebugInfo(graphics);
-        this.player.drawDebugInfo(graphics);
+        ((Graphics2D) graphics).setTransform(this.camera.getTransform());
 
-        for (Enemy enemy: this.enemies) {
-            enemy.drawDebugInfo(graphics);
+        this.map.drawDebugInfo(graphics, this.camera);
+        if (this.camera.shouldDraw(this.player)) {
+            this.drawEntity(graphics, this.player, true);
         }
 
+        this.enemies.draw(graphics, this.camera, this.interpolation, true);
+
         // Reset the graphics.
         ((Graphics2D) graphics).setTransform(saveAT);
+
+        // Draw the culling counts and how long the last frame took to show.
+        String info = "Drawn: " + this.camera.getNumDrawn() + "  Culled: " + this.camera.getNumCulled();
+        if (this.canvas != null) {
+            info += "  Present: " + String.format("%.2f", this.canvas.getPresentNanos() / (double) Const.NS_PER_MS) + " ms";
+        }
+        Text text = new Text(info, Const.DEBUG_FONT, Const.WIDTH / 2, Const.HEIGHT - 20);
+        text.draw(graphics);
+
+        // Draw how well the chunk cache is working above them.
+        ChunkCache cache = this.map.getCache();
+        String cacheInfo = "Cached: " + cache.getNumChunks() + " (" + cache.getUsedBytes() / 1024 + " KB)"
+                + "  Hits: " + cache.getNumHits() + "  Misses: " + cache.getNumMisses()
+                + "  Evictions: " + cache.getNumEvictions();
+        Text cacheText = new Text(cacheInfo, Const.DEBUG_FONT, Const.WIDTH / 2, Const.HEIGHT - 40);
+        cacheText.draw(graphics);
+
+        // Draw how many enemy slots are being reused above that.
+        String poolInfo = "Enemy slots: " + this.enemies.size() + " / " + this.enemies.getCapacity()
+                + "  Free: " + this.enemies.getNumFree() + "  Recycled: " + this.enemies.getNumRecycled()
+                + "  Created: " + this.enemies.getNumCreated();
+        Text poolText = new Text(poolInfo, Const.DEBUG_FONT, Const.WIDTH / 2, Const.HEIGHT - 60);
+        poolText.draw(graphics);
+    }
+
+    /**
+     * This method draws an {@code Entity} between its previous and current
+     * positions, so it moves smoothly when frames are drawn between updates.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param entity The {@code Entity} to draw.
+     * @param debug Whether to draw the debug info instead of the {@code Entity}.
+     */
+    private void drawEntity(Graphics graphics, Entity entity, boolean debug) {
+        int offsetX = this.calculateDrawOffsetX(entity);
+        int offsetY = this.calculateDrawOffsetY(entity);
+        graphics.translate(offsetX, offsetY);
+        if (debug) {
+            entity.drawDebugInfo(graphics);
+        } else {
+            entity.draw(graphics);
+        }
+        graphics.translate(-offsetX, -offsetY);
+    }
+
+    /**
+     * This method calculates how far left or right of its current position an
+     * {@code Entity} is drawn in the current frame.
+     * @param entity The {@code Entity} to draw.
+     * @return The horizontal offset in pixels.
+     */
+    private int calculateDrawOffsetX(Entity entity) {
+        return (int) Math.round(entity.getInterpolatedX(this.interpolation) - entity.getX());
+    }
+
+    /**
+     * This method calculates how far above or below its current position an
+     * {@code Entity} is drawn in the current frame.
+     * @param entity The {@code Entity} to draw.
+     * @return The vertical offset in pixels.
+     */
+    private int calculateDrawOffsetY(Entity entity) {
+        return (int) Math.round(entity.getInterpolatedY(this.interpolation) - entity.getY());
     }
 
     /**
@@ -256,6 +546,14 @@ public class Game implements Drawable, Debuggable {
         return this.debugMode;
     }
 
+    /**
+     * This method checks if the performance overlay is shown.
+     * @return {@code true} if it is shown, {@code false} otherwise.
+     */
+    public boolean checkShowingPerformance() {
+        return this.performanceMode;
+    }
+
     /**
      * This method checks if the game has ended.
      * @return {@code true} if it has ended, {@code false} otherwise.
@@ -268,19 +566,47 @@ public class Game implements Drawable, Debuggable {
         return this.player;
     }
 
+    public Map getMap() {
+        return this.map;
+    }
+
+    public int getNumEnemies() {
+        return this.enemies.size();
+    }
+
+    public PerformanceMonitor getPerformanceMonitor() {
+        return this.monitor;
+    }
+
+    public Camera getCamera() {
+        return this.camera;
+    }
+
     public int getDifficulty() {
         return this.difficulty;
     }
 
+    /**
+     * This method sets the canvas that the game is actively rendered onto.
+     * @param canvas The {@code GameCanvas}, or {@code null} to let the window repaint the game.
+     */
+    public void setCanvas(GameCanvas canvas) {
+        this.canvas = canvas;
+    }
+
     public void setDebugging(boolean isDebugging) {
         this.debugMode = isDebugging;
     }
 
+    public void setShowingPerformance(boolean isShowing) {
+        this.performanceMode = isShowing;
+    }
+
     /**
      * This method sets the difficulty for the game.
      * @param difficulty The new game difficulty.
      */
-    public void setDifficulty(int difficulty) {
+    public synchronized void setDifficulty(int difficulty) {
         if (difficulty != EASY && difficulty != MEDIUM && difficulty != HARD) {
             return;
         }
@@ -289,31 +615,41 @@ public class Game implements Drawable, Debuggable {
         // Change the stats for all game entities.
         switch (difficulty) {
             case EASY:
-                this.enemySpawnLoop.setDelay(Const.EASY_SPAWN_SPEED);
+                this.enemySpawnPeriod = Const.EASY_SPAWN_SPEED;
                 this.player.setMaxHealthPoints(Const.EASY_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.EASY_ENEMY_HEALTH);
+                for (int i = 0; i < this.enemies.size(); i++) {
+                    this.enemies.setMaxHealthPoints(i, Const.EASY_ENEMY_HEALTH);
                 }
                 break;
             case MEDIUM:
-                this.enemySpawnLoop.setDelay(Const.MEDIUM_SPAWN_SPEED);
+                this.enemySpawnPeriod = Const.MEDIUM_SPAWN_SPEED;
                 this.player.setMaxHealthPoints(Const.MEDIUM_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.MEDIUM_ENEMY_HEALTH);
+                for (int i = 0; i < this.enemies.size(); i++) {
+                    this.enemies.setMaxHealthPoints(i, Const.MEDIUM_ENEMY_HEALTH);
                 }
                 break;
             case HARD: 
-                this.enemySpawnLoop.setDelay(Const.HARD_SPAWN_SPEED);
+                this.enemySpawnPeriod = Const.HARD_SPAWN_SPEED;
                 this.player.setMaxHealthPoints(Const.HARD_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.HARD_ENEMY_HEALTH);
+                for (int i = 0; i < this.enemies.size(); i++) {
+                    this.enemies.setMaxHealthPoints(i, Const.HARD_ENEMY_HEALTH);
                 }
                 break;
         }
     }
 
+    /**
+     * This method sets the game time that passes in each update. If the game is
+     * running, it keeps running with the new period.
+     * @param updatePeriod The new update period in milliseconds.
+     */
     public void setUpdatePeriod(int updatePeriod) {
-        this.updateLoop.setDelay(updatePeriod);
+        boolean running = this.gameLoop.checkRunning();
+        this.gameLoop.stop();
+        this.gameLoop = new GameLoop(this, updatePeriod);
+        if (running) {
+            this.gameLoop.start();
+        }
     }
 
     /**
@@ -331,8 +667,10 @@ public class Game implements Drawable, Debuggable {
         }
 
         public void keyPressed(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyPressed(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyPressed(event);
+                }
             }
             // Pause the game when the pause key is pressed
             int keyCode = event.getKeyCode();
@@ -340,16 +678,27 @@ public class Game implements Drawable, Debuggable {
                 pause();
                 window.switchToScreen(Const.PAUSE_SCREEN_NAME);
             }
+            // Toggle the performance overlay, or save the performance metrics.
+            if (keyCode == Const.K_PERFORMANCE) {
+                setShowingPerformance(!checkShowingPerformance());
+            }
+            if (keyCode == Const.K_PERFORMANCE_DUMP) {
+                monitor.writeCsv(Const.PERFORMANCE_FILE_NAME);
+            }
         }
         public void keyTyped(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyTyped(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyTyped(event);
+                }
             }
         }
 
         public void keyReleased(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyReleased(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyReleased(event);
+                }
             }
         }
     }
@@ -370,36 +719,46 @@ public class Game implements Drawable, Debuggable {
 
         @Override
         public void mouseClicked(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseClicked(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseClicked(event);
+                }
             }
         }
 
         @Override
         public void mousePressed(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mousePressed(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mousePressed(event);
+                }
             }
         }
 
         @Override
         public void mouseReleased(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseReleased(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseReleased(event);
+                }
             }
         }
 
         @Override
         public void mouseEntered(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseEntered(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseEntered(event);
+                }
             }
         }
 
         @Override
         public void mouseExited(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseExited(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseExited(event);
+                }
             }
         }
     }
@@ -420,15 +779,19 @@ public class Game implements Drawable, Debuggable {
 
         @Override
         public void mouseDragged(MouseEvent event) {
-            for (MouseMotionListener motionListener: this.motionListeners) {
-                motionListener.mouseDragged(event);
+            synchronized (Game.this) {
+                for (MouseMotionListener motionListener: this.motionListeners) {
+                    motionListener.mouseDragged(event);
+                }
             }
         }
 
         @Override
         public void mouseMoved(MouseEvent event) {
-            for (MouseMotionListener motionListener: this.motionListeners) {
-                motionListener.mouseMoved(event);
+            synchronized (Game.this) {
+                for (MouseMotionListener motionListener: this.motionListeners) {
+                    motionListener.mouseMoved(event);
+                }
             }
         }
     }
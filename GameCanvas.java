@@ -0,0 +1,112 @@
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * This class represents a canvas that the game is actively rendered onto. Instead
+ * of waiting for Swing to repaint it, the {@code GameLoop} draws each frame into
+ * a back buffer of a {@code BufferStrategy} and then shows it, so frames are
+ * shown as soon as they are drawn.
+ * @see GameLoop
+ * @see GameScreen
+ */
+public class GameCanvas extends Canvas {
+    private Game game;
+    private int numBuffers;
+    private BufferStrategy strategy;
+
+    private long presentNanos;
+    private long numFrames;
+
+    /**
+     * This constructs a {@code GameCanvas} object. The buffers are made the first
+     * time a frame is rendered while the canvas is showing.
+     * @param game The {@code Game} to draw.
+     * @param width The width of the canvas.
+     * @param height The height of the canvas.
+     * @param numBuffers The number of buffers to use. Use {@code 2} for double buffering, {@code 3} for triple buffering.
+     */
+    public GameCanvas(Game game, int width, int height, int numBuffers) {
+        this.game = game;
+        this.numBuffers = numBuffers;
+        this.strategy = null;
+        this.presentNanos = 0;
+        this.numFrames = 0;
+
+        this.setPreferredSize(new Dimension(width, height));
+        this.setIgnoreRepaint(true);
+    }
+
+    /**
+     * This method gets how long it took to show the last frame after it was drawn.
+     * @return The time in nanoseconds.
+     */
+    public long getPresentNanos() {
+        return this.presentNanos;
+    }
+
+    public long getNumFrames() {
+        return this.numFrames;
+    }
+
+    /**
+     * This method does nothing. Frames are only drawn by {@link GameCanvas#render},
+     * so Swing repaints do not clear the canvas.
+     */
+    @Override
+    public void paint(Graphics graphics) {}
+
+    /**
+     * This method does nothing. Frames are only drawn by {@link GameCanvas#render}.
+     */
+    @Override
+    public void update(Graphics graphics) {}
+
+    /**
+     * This method draws the game into the back buffer and shows it. If the
+     * contents of the buffers are lost while drawing, the frame is drawn again.
+     * Nothing is drawn while the canvas is not showing.
+     */
+    public void render() {
+        if (!this.isShowing()) {
+            return;
+        }
+        if (this.strategy == null) {
+            this.createBufferStrategy(this.numBuffers);
+            this.strategy = this.getBufferStrategy();
+        }
+
+        do {
+            do {
+                Graphics graphics = this.strategy.getDrawGraphics();
+                try {
+                    this.game.draw(graphics);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (this.strategy.contentsRestored());
+
+            // Show the frame and measure how long it takes.
+            long startTime = System.nanoTime();
+            this.strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+            this.presentNanos = System.nanoTime() - startTime;
+        } while (this.strategy.contentsLost());
+
+        this.numFrames++;
+    }
+
+    /**
+     * This method releases the buffers when the canvas is removed from the window.
+     */
+    @Override
+    public void removeNotify() {
+        if (this.strategy != null) {
+            this.strategy.dispose();
+            this.strategy = null;
+        }
+        super.removeNotify();
+    }
+}
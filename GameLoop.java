@@ -0,0 +1,172 @@
+/**
+ * This class runs the {@code Game} on its own thread with a fixed timestep. The
+ * time that passes in each loop is added to an accumulator, and the game is
+ * updated once for every update period in the accumulator. This keeps the game
+ * speed the same no matter how fast the window is drawn. Frames are drawn on
+ * their own schedule, set by the frame period.
+ * <p>
+ * If the game falls behind, it catches up by running several updates in one
+ * loop, but never more than {@link Const#MAX_UPDATES_PER_FRAME}. Any time left
+ * over after that is dropped so the game slows down instead of falling further
+ * and further behind.
+ * </p>
+ * @see Game#tick
+ */
+public class GameLoop implements Runnable {
+    private Game game;
+    private int tickPeriod;
+    private long tickNanos;
+    private long frameNanos;
+    private volatile Thread thread;
+
+    private long numTicks;
+    private long droppedNanos;
+
+    /**
+     * This constructs a {@code GameLoop} object. The loop does not run until
+     * it is started.
+     * @param game The {@code Game} to update.
+     * @param tickPeriod The game time that passes in each update in milliseconds.
+     */
+    public GameLoop(Game game, int tickPeriod) {
+        this.game = game;
+        this.tickPeriod = tickPeriod;
+        this.tickNanos = tickPeriod * Const.NS_PER_MS;
+        this.frameNanos = Const.DEFAULT_FRAME_PERIOD * Const.NS_PER_MS;
+        this.thread = null;
+        this.numTicks = 0;
+        this.droppedNanos = 0;
+    }
+
+    /**
+     * This method starts running the loop on a new thread. It does nothing if
+     * the loop is already running.
+     */
+    public synchronized void start() {
+        if (this.checkRunning()) {
+            return;
+        }
+        this.thread = new Thread(this, "Game Loop");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * This method stops the loop. The current update is allowed to finish. This
+     * method does not wait for the thread to end, so it can be called while
+     * holding the lock of the {@code Game}, or from the loop itself.
+     */
+    public synchronized void stop() {
+        Thread oldThread = this.thread;
+        this.thread = null;
+        if (oldThread != null && oldThread != Thread.currentThread()) {
+            oldThread.interrupt();
+        }
+    }
+
+    /**
+     * This method checks if the loop is running.
+     * @return {@code true} if it is running, {@code false} otherwise.
+     */
+    public boolean checkRunning() {
+        return this.thread != null;
+    }
+
+    public long getNumTicks() {
+        return this.numTicks;
+    }
+
+    /**
+     * This method gets the total game time that was skipped because the game
+     * fell too far behind.
+     * @return The skipped time in nanoseconds.
+     */
+    public long getDroppedNanos() {
+        return this.droppedNanos;
+    }
+
+    public int getTickPeriod() {
+        return this.tickPeriod;
+    }
+
+    public long getTickNanos() {
+        return this.tickNanos;
+    }
+
+    /**
+     * This method sets the time between frames. It takes effect the next time
+     * the loop is started.
+     * @param framePeriod The new frame period in milliseconds.
+     */
+    public void setFramePeriod(int framePeriod) {
+        this.frameNanos = Math.max(1, framePeriod) * Const.NS_PER_MS;
+    }
+
+    /**
+     * This method runs the loop until it is stopped. It should not be called
+     * directly; use {@link GameLoop#start} instead.
+     */
+    @Override
+    public void run() {
+        long maxFrameNanos = Const.MAX_FRAME_TIME * Const.NS_PER_MS;
+        long framePeriodNanos = this.frameNanos;
+        long accumulator = 0;
+        long prevTime = System.nanoTime();
+        long nextFrameTime = prevTime;
+
+        while (this.thread == Thread.currentThread()) {
+            long curTime = System.nanoTime();
+            long elapsedNanos = curTime - prevTime;
+            prevTime = curTime;
+
+            // Limit the time of a long loop, such as after the computer sleeps.
+            if (elapsedNanos > maxFrameNanos) {
+                this.droppedNanos += elapsedNanos - maxFrameNanos;
+                elapsedNanos = maxFrameNanos;
+            }
+            accumulator += elapsedNanos;
+
+            // Catch up on the updates that are due.
+            int numUpdates = 0;
+            while (accumulator >= this.tickNanos && numUpdates < Const.MAX_UPDATES_PER_FRAME) {
+                this.game.tick();
+                this.numTicks++;
+                accumulator -= this.tickNanos;
+                numUpdates++;
+
+                if (this.thread != Thread.currentThread()) {
+                    return;
+                }
+            }
+
+            // Drop the updates that could not be caught up on.
+            if (accumulator >= this.tickNanos) {
+                long leftoverNanos = accumulator % this.tickNanos;
+                this.droppedNanos += accumulator - leftoverNanos;
+                accumulator = leftoverNanos;
+            }
+
+            long nextTickTime = curTime + this.tickNanos - accumulator;
+
+            // Draw a frame if one is due. Missed frames are skipped.
+            if (curTime - nextFrameTime >= 0) {
+                this.game.render((double) accumulator / this.tickNanos);
+                nextFrameTime += framePeriodNanos;
+                if (System.nanoTime() - nextFrameTime >= 0) {
+                    nextFrameTime = System.nanoTime() + framePeriodNanos;
+                }
+            }
+
+            // Wait until the next update or frame is due.
+            long sleepNanos = Math.min(nextTickTime, nextFrameTime) - System.nanoTime();
+            if (sleepNanos <= 0) {
+                continue;
+            }
+            try {
+                Thread.sleep(sleepNanos / Const.NS_PER_MS, (int) (sleepNanos % Const.NS_PER_MS));
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+}
@@ -1,10 +1,21 @@
 import java.awt.Graphics;
+import java.awt.BorderLayout;
+
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
 
 /**
- * This class represents the canvas that the main game is drawn onto.
+ * This class represents the canvas that the main game is drawn onto. When active
+ * rendering is on, the game is drawn onto a {@code GameCanvas} that fills this
+ * {@code GameScreen}. Otherwise, it is painted by Swing like the other screens.
+ * @see GameCanvas
  */
 public class GameScreen extends Screen {
     private Game game;
+    private GameCanvas canvas;
 
     /**
      * This constructs a {@code GameScreen} object. It has listeners for the various
@@ -20,16 +31,42 @@ public class GameScreen extends Screen {
         this.setName(Const.GAME_SCREEN_NAME);
 
         // Add game listeners.
-        this.addKeyListener(game.new GameKeyListener());
-        this.addMouseListener(game.new GameMouseListener());
-        this.addMouseMotionListener(game.new GameMouseMotionListener());
+        KeyListener keyListener = game.new GameKeyListener();
+        MouseListener mouseListener = game.new GameMouseListener();
+        MouseMotionListener mouseMotionListener = game.new GameMouseMotionListener();
+        this.addKeyListener(keyListener);
+
+        if (Const.ACTIVE_RENDERING) {
+            this.canvas = new GameCanvas(game, Const.WIDTH, Const.HEIGHT, Const.NUM_RENDER_BUFFERS);
+            this.setLayout(new BorderLayout());
+            this.add(this.canvas, BorderLayout.CENTER);
+
+            // The canvas covers this screen, so it takes the input.
+            this.canvas.addKeyListener(keyListener);
+            this.canvas.addMouseListener(mouseListener);
+            this.canvas.addMouseMotionListener(mouseMotionListener);
+            this.addComponentListener(new ComponentAdapter() {
+                public void componentShown(ComponentEvent event) {
+                    canvas.requestFocusInWindow();
+                }
+            });
+
+            game.setCanvas(this.canvas);
+        } else {
+            this.canvas = null;
+            this.addMouseListener(mouseListener);
+            this.addMouseMotionListener(mouseMotionListener);
+        }
     }
 
     /**
-     * This method draws the game onto this {@code GameScreen}.
+     * This method draws the game onto this {@code GameScreen}. When active rendering
+     * is on, the {@code GameCanvas} draws the game instead.
      */
     @Override
     public void paintComponent(Graphics graphics) {
-        this.game.draw(graphics);
+        if (this.canvas == null) {
+            this.game.draw(graphics);
+        }
     }
 }
@@ -24,7 +24,7 @@ public class HealthBar implements Drawable {
     public HealthBar(Vector position, int maxPoints, int width, int height) {
         this.curPoints = maxPoints;
         this.maxPoints = maxPoints;
-        this.position = position;
+        this.position = position.clone();
         this.width = width;
         this.height = height;
     }
@@ -64,7 +64,16 @@ public class HealthBar implements Drawable {
     }
 
     public void setPos(Vector pos) {
-        this.position = pos;
+        this.position.setTo(pos);
+    }
+
+    /**
+     * This method moves this {@code HealthBar} without creating a new {@code Vector}.
+     * @param x The new top-left x-coordinate.
+     * @param y The new top-left y-coordinate.
+     */
+    public void setPos(double x, double y) {
+        this.position.setTo(x, y);
     }
 
     /**
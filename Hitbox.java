@@ -12,7 +12,8 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
     private Rectangle rect;
     private Color color;
 
-    private Vector position;
+    private double x;
+    private double y;
     private int width;
     private int height;
 
@@ -27,7 +28,8 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
     public Hitbox(int x, int y, int width, int height) {
         this.rect = new Rectangle(x, y, width, height);
         this.color = Const.RED;
-        this.position = new Vector(x, y);
+        this.x = x;
+        this.y = y;
         this.width = width;
         this.height = height;
     }
@@ -41,10 +43,22 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      * @param height The height of this {@code Hitbox}.
      */
     public Hitbox(Vector position, int width, int height) {
-        this.rect = new Rectangle((int) position.getX(), (int) position.getY(), 
-                width, height);
+        this(position.getX(), position.getY(), width, height);
+    }
+
+    /**
+     * This constructs a {@code Hitbox} object at a the given position, with a 
+     * width and height.
+     * @param x The top-left x-coordinate of this {@code Hitbox}.
+     * @param y The top-left y-coordinate of this {@code Hitbox}.
+     * @param width The width of this {@code Hitbox}.
+     * @param height The height of this {@code Hitbox}.
+     */
+    public Hitbox(double x, double y, int width, int height) {
+        this.rect = new Rectangle((int) x, (int) y, width, height);
         this.color = Const.RED;
-        this.position = position;
+        this.x = x;
+        this.y = y;
         this.width = width;
         this.height = height;
     }
@@ -64,11 +78,11 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
     }
 
     public int getX() {
-        return (int) this.position.getX();
+        return (int) this.x;
     }
 
     public int getY() {
-        return (int) this.position.getY();
+        return (int) this.y;
     }
 
     public int getWidth() {
@@ -84,7 +98,7 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      * @return A copy of this {@code Hitbox}'s position.
      */
     public Vector getPos() {
-        return this.position.clone();
+        return new Vector(this.x, this.y);
     }
 
     public Color getColor() {
@@ -107,7 +121,17 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      * @param newPos The new postion of this {@code Hitbox}.
      */
     public void setPos(Vector newPos) {
-        this.position = newPos;
+        this.setPos(newPos.getX(), newPos.getY());
+    }
+
+    /**
+     * This method sets the position of this {@code Hitbox}.
+     * @param newX The new top-left x-coordinate.
+     * @param newY The new top-left y-coordinate.
+     */
+    public void setPos(double newX, double newY) {
+        this.x = newX;
+        this.y = newY;
         this.rect = null;
     }
 
@@ -142,8 +166,22 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean contains(int x, int y) {
-        return (this.getX() <= x && x <= this.getX() + this.getWidth()) &&
-            (this.getY() <= y && y <= this.getY() + this.getHeight());
+        return contains(this.getX(), this.getY(), this.getWidth(), this.getHeight(), x, y);
+    }
+
+    /**
+     * This method checks if a point is inside a box. The edges of the box count
+     * as inside.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @param x The x-coordinate of the point to check.
+     * @param y The y-cooridnate of the point to check.
+     * @return {@code true} if the point is inside the box, {@code false} otherwise.
+     */
+    public static boolean contains(int left, int top, int width, int height, int x, int y) {
+        return (left <= x && x <= left + width) && (top <= y && y <= top + height);
     }
 
     /**
@@ -153,15 +191,34 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean intersects(Hitbox other) {
-        int left1 = this.getX();
-        int up1 = this.getY();
-        int right1 = this.getX() + this.getWidth();
-        int down1 = this.getY() + this.getHeight();
-
-        int left2 = other.getX();
-        int up2 = other.getY();
-        int right2 = other.getX() + other.getWidth();
-        int down2 = other.getY() + other.getHeight();
+        return intersects(this.getX(), this.getY(), this.getWidth(), this.getHeight(),
+                other.getX(), other.getY(), other.getWidth(), other.getHeight());
+    }
+
+    /**
+     * This method checks if two boxes overlap with each other. Boxes that only
+     * touch at their edges count as overlapping.
+     * @param x1 The left x-coordinate of the first box.
+     * @param y1 The top y-coordinate of the first box.
+     * @param width1 The width of the first box.
+     * @param height1 The height of the first box.
+     * @param x2 The left x-coordinate of the second box.
+     * @param y2 The top y-coordinate of the second box.
+     * @param width2 The width of the second box.
+     * @param height2 The height of the second box.
+     * @return {@code true} if the boxes overlap, {@code false} otherwise.
+     */
+    public static boolean intersects(int x1, int y1, int width1, int height1,
+            int x2, int y2, int width2, int height2) {
+        int left1 = x1;
+        int up1 = y1;
+        int right1 = x1 + width1;
+        int down1 = y1 + height1;
+
+        int left2 = x2;
+        int up2 = y2;
+        int right2 = x2 + width2;
+        int down2 = y2 + height2;
         
         boolean xOverlap = (left2 <= left1 && left1 <= right2) ||
                 (left1 <= left2 && left2 <= right1);
@@ -183,6 +240,6 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
 
     @Override
     public Hitbox clone() {
-        return new Hitbox(this.position.clone(), this.getWidth(), this.getHeight());
+        return new Hitbox(this.x, this.y, this.getWidth(), this.getHeight());
     }
 }
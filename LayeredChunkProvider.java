@@ -0,0 +1,33 @@
+/**
+ * This class combines two providers, where the chunks of the top provider
+ * replace the chunks of the bottom provider. For example, handwritten chunks
+ * from a {@code RegionFile} can be placed over a {@code DesertGenerator}.
+ * @see Map#addProvider
+ */
+public class LayeredChunkProvider implements ChunkProvider {
+    private ChunkProvider top;
+    private ChunkProvider bottom;
+
+    /**
+     * This constructs a {@code LayeredChunkProvider} object.
+     * @param top The provider whose chunks are used where it has them.
+     * @param bottom The provider used everywhere else.
+     */
+    public LayeredChunkProvider(ChunkProvider top, ChunkProvider bottom) {
+        this.top = top;
+        this.bottom = bottom;
+    }
+
+    @Override
+    public boolean checkContains(int mapX, int mapY) {
+        return this.top.checkContains(mapX, mapY) || this.bottom.checkContains(mapX, mapY);
+    }
+
+    @Override
+    public Chunk loadChunk(int mapX, int mapY) {
+        if (this.top.checkContains(mapX, mapY)) {
+            return this.top.loadChunk(mapX, mapY);
+        }
+        return this.bottom.loadChunk(mapX, mapY);
+    }
+}
@@ -1,14 +1,8 @@
 import java.awt.Graphics;
 
-import java.io.FileReader;
-import java.io.BufferedReader;
-
 import java.util.ArrayList;
 import java.util.Iterator;
 
-import java.io.IOException;
-import java.io.FileNotFoundException;
-
 /**
  * This class represents the game map storing the position of all tiles and chunks
  * in the game.
@@ -16,10 +10,28 @@ import java.io.FileNotFoundException;
 public class Map implements Drawable, Debuggable {
     // The number of chunks away from the player to render.
     public static final int RENDER_DISTANCE = 2;
+    // The number of chunks past the render distance that are loaded from the providers early.
+    public static final int PREFETCH_DISTANCE = 1;
+    // The number of chunks away from the player past which chunks from the providers are released.
+    // It is further than the prefetched chunks, so moving back and forth does not read them again.
+    public static final int RELEASE_DISTANCE = RENDER_DISTANCE + PREFETCH_DISTANCE + 1;
+    // How much more urgent chunks ahead of the camera are than chunks behind it, when streaming.
+    private static final double DIRECTION_WEIGHT = 0.5;
 
     private String fileName;
-    private ArrayList<Chunk> unactiveChunks;
+    private ChunkIndex chunkIndex;
     private ArrayList<Chunk> activeChunks;
+    // Where chunks are loaded from as they are needed, or null if every chunk is loaded up front.
+    private ChunkProvider provider;
+    // The chunks in memory that were loaded from the provider.
+    private ArrayList<Chunk> pagedChunks;
+    // Loads chunks from the provider in the background, or null if they are loaded right away.
+    private ChunkStreamer streamer;
+    // The released chunks that are still in memory, and where changed chunks go once evicted from it.
+    private ChunkCache cache;
+    private ChunkStore store;
+    private int cameraMapX;
+    private int cameraMapY;
 
     /**
      * This constructs a {@code Map} object using data from a file.
@@ -28,13 +40,23 @@ public class Map implements Drawable, Debuggable {
      */
     public Map(String mapFileName) {
         this.fileName = mapFileName;
-        this.unactiveChunks = new ArrayList<Chunk>();
+        this.chunkIndex = new ChunkIndex();
         this.activeChunks = new ArrayList<Chunk>();
+        this.provider = null;
+        this.pagedChunks = new ArrayList<Chunk>();
+        this.streamer = null;
+        this.store = new ChunkStore();
+        this.cache = new ChunkCache(Const.CHUNK_CACHE_BUDGET, this.store);
+        this.cameraMapX = 0;
+        this.cameraMapY = 0;
     }
 
     /**
-     * This method loads the map and chunk data from a file. The map file is formatted 
-     * as follows with values substituted in:
+     * This method loads the map and chunk data from a file. A file ending in
+     * {@code .bin} is opened as a {@code RegionFile} provider, and its chunks
+     * are only read once they come near the camera in {@link Map#updateRendering}.
+     * Otherwise, every chunk is loaded now from a text map file formatted as
+     * follows with values substituted in:
      * <pre>{@code
      * numChunks
      * chunkFilePath1
@@ -47,64 +69,245 @@ public class Map implements Drawable, Debuggable {
      * @see Chunk#loadFromFile()
      */
     public void loadFromFile() {
-        // Open map file.
-        BufferedReader input;
-        try {
-            FileReader mapFile = new FileReader(this.fileName);
-            input = new BufferedReader(mapFile);
-        } catch (FileNotFoundException ex) {
-            System.out.println("Error: Map file not found. [" + this.fileName + "]");
+        if (MapFile.checkBinary(this.fileName)) {
+            RegionFile regionFile = new RegionFile(this.fileName);
+            regionFile.open();
+            if (regionFile.checkOpen()) {
+                this.addProvider(regionFile);
+            }
             return;
         }
-        
-        // Load chunks.
-        try {
-            int numChunks = Integer.parseInt(input.readLine());
 
-            for (int i = 0; i < numChunks; i++) {
-                String chunkFileName = input.readLine();
-                Chunk newChunk = new Chunk(chunkFileName);
-                newChunk.loadFromFile();
-                this.unactiveChunks.add(newChunk);
+        for (Chunk chunk: MapFile.readTextChunks(this.fileName)) {
+            this.addChunk(chunk);
+        }
+    }
+
+    /**
+     * This method adds a provider of chunks, which is used where the chunks
+     * loaded so far and the earlier providers have none. Its chunks are loaded
+     * once they come near the camera. Streaming must not have started yet.
+     * @param newProvider The {@code ChunkProvider} to add.
+     * @see Map#updateRendering
+     */
+    public void addProvider(ChunkProvider newProvider) {
+        if (this.provider == null) {
+            this.provider = newProvider;
+        } else {
+            this.provider = new LayeredChunkProvider(this.provider, newProvider);
+        }
+    }
+
+    /**
+     * This method starts loading chunks from the providers on background
+     * threads instead of in {@link Map#updateRendering}. Until a chunk arrives,
+     * it is not drawn and its area counts as solid. Nothing happens if the map
+     * has no providers.
+     * @param numWorkers The number of threads to load chunks on.
+     * @see Map#receiveChunks
+     */
+    public void startStreaming(int numWorkers) {
+        if (this.provider != null && this.streamer == null) {
+            this.streamer = new ChunkStreamer(new LayeredChunkProvider(this.store, this.provider), numWorkers);
+        }
+    }
+
+    /**
+     * This method stops loading chunks in the background. Chunks are loaded
+     * right away again afterwards.
+     */
+    public void stopStreaming() {
+        if (this.streamer != null) {
+            this.streamer.stop();
+            this.streamer = null;
+        }
+    }
+
+    /**
+     * This method adds the chunks that have been loaded in the background since
+     * the last call. It never waits for a chunk, so it can be called every update.
+     * @return {@code true} if the active chunks changed, {@code false} otherwise.
+     * @see Map#startStreaming
+     */
+    public boolean receiveChunks() {
+        if (this.streamer == null) {
+            return false;
+        }
+
+        boolean activeChanged = false;
+        int squareRenderDistance = Map.RENDER_DISTANCE * Map.RENDER_DISTANCE;
+        int squareReleaseDistance = Map.RELEASE_DISTANCE * Map.RELEASE_DISTANCE;
+        for (Chunk chunk = this.streamer.poll(); chunk != null; chunk = this.streamer.poll()) {
+            int deltaX = chunk.getMapX() - this.cameraMapX;
+            int deltaY = chunk.getMapY() - this.cameraMapY;
+            int squareDistance = deltaX * deltaX + deltaY * deltaY;
+            if (squareDistance > squareReleaseDistance || this.chunkIndex.contains(chunk.getMapX(), chunk.getMapY())) {
+                continue;
+            }
+
+            this.chunkIndex.put(chunk.getMapX(), chunk.getMapY(), chunk);
+            this.pagedChunks.add(chunk);
+            if (squareDistance <= squareRenderDistance) {
+                chunk.setActive(true);
+                this.activeChunks.add(chunk);
+                activeChanged = true;
             }
-        } catch (IOException ex) {
-            System.out.println("Error: Could not read map file.");
-        } catch (NumberFormatException ex) {
-            System.out.println("Error: Incorrect map file number format.");
         }
+        return activeChanged;
+    }
 
-        // Close map file.
-        try {
-            input.close();
-        } catch (IOException ex) {
-            System.out.println("Error: Map file cannot be closed.");
+    /**
+     * This method adds a {@code Chunk} to this {@code Map}. The {@code Chunk} starts
+     * off unactive and replaces any {@code Chunk} already at its map position.
+     * It stays in memory even if the map has providers.
+     * @param chunk The loaded {@code Chunk} to add.
+     */
+    public void addChunk(Chunk chunk) {
+        Chunk replacedChunk = this.chunkIndex.get(chunk.getMapX(), chunk.getMapY());
+        if (replacedChunk != null && replacedChunk.checkActive()) {
+            replacedChunk.setActive(false);
+            replacedChunk.releaseImage();
+            this.activeChunks.remove(replacedChunk);
+        }
+        if (replacedChunk != null) {
+            this.pagedChunks.remove(replacedChunk);
         }
+        this.chunkIndex.put(chunk.getMapX(), chunk.getMapY(), chunk);
     }
 
     /**
      * This method loads and unloads chunks based on their proximity to the camera.
+     * Only the chunks within the render distance of the camera are looked up, 
+     * so the cost does not depend on the size of the map.
      * @param cameraRealPosition The real position of the camera.
      * @see Map#calculateRealPosition(Vector)
      */
     public void updateRendering(Vector cameraRealPosition) {
-        Vector cameraMapPosition = Map.calculateMapPosition(cameraRealPosition);
+        this.updateRendering(cameraRealPosition, Vector.VECTOR_ZERO);
+    }
+
+    /**
+     * This method loads and unloads chunks based on their proximity to the camera.
+     * When chunks are streamed, the ones in the direction the camera is moving
+     * are read first.
+     * @param cameraRealPosition The real position of the camera.
+     * @param cameraSpeed The movement of the camera in the last update.
+     * @see Map#startStreaming
+     */
+    public void updateRendering(Vector cameraRealPosition, Vector cameraSpeed) {
+        int cameraMapX = Map.calculateMapCoordinate(cameraRealPosition.getX());
+        int cameraMapY = Map.calculateMapCoordinate(cameraRealPosition.getY());
+        int squareRenderDistance = Map.RENDER_DISTANCE * Map.RENDER_DISTANCE;
+        this.cameraMapX = cameraMapX;
+        this.cameraMapY = cameraMapY;
+        if (this.provider != null) {
+            this.pageChunks(cameraMapX, cameraMapY, cameraSpeed);
+        }
+
         // Remove chunks that are now outside render distance.
         for (Iterator<Chunk> it = this.activeChunks.iterator(); it.hasNext(); ) {
             Chunk chunk = it.next();
-            if (Vector.compareDistance(chunk.getMapPos(), cameraMapPosition, Map.RENDER_DISTANCE) > 0) {
-                this.unactiveChunks.add(chunk);
+            int deltaX = chunk.getMapX() - cameraMapX;
+            int deltaY = chunk.getMapY() - cameraMapY;
+            if (deltaX * deltaX + deltaY * deltaY > squareRenderDistance) {
+                chunk.setActive(false);
+                chunk.releaseImage();
                 it.remove();
             }
         }
 
         // Add chunks that are now inside render distance.
-        for (Iterator<Chunk> it = this.unactiveChunks.iterator(); it.hasNext(); ) {
+        for (int deltaY = -Map.RENDER_DISTANCE; deltaY <= Map.RENDER_DISTANCE; deltaY++) {
+            for (int deltaX = -Map.RENDER_DISTANCE; deltaX <= Map.RENDER_DISTANCE; deltaX++) {
+                if (deltaX * deltaX + deltaY * deltaY > squareRenderDistance) {
+                    continue;
+                }
+
+                Chunk chunk = this.chunkIndex.get(cameraMapX + deltaX, cameraMapY + deltaY);
+                if (chunk != null && !chunk.checkActive()) {
+                    chunk.setActive(true);
+                    this.activeChunks.add(chunk);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method loads the chunks near the camera from the providers and
+     * releases the ones that are far away. Chunks are loaded within the render
+     * distance plus the prefetch distance, but only released past the release
+     * distance, so only a ring of chunks around the camera is loaded. Released
+     * chunks go into the {@code ChunkCache} and are taken back from it before
+     * they are loaded again. When streaming, the chunks are requested instead,
+     * closest and furthest ahead first.
+     * @param cameraMapX The map x-coordinate of the camera.
+     * @param cameraMapY The map y-coordinate of the camera.
+     * @param cameraSpeed The movement of the camera in the last update.
+     */
+    private void pageChunks(int cameraMapX, int cameraMapY, Vector cameraSpeed) {
+        int squareReleaseDistance = Map.RELEASE_DISTANCE * Map.RELEASE_DISTANCE;
+        for (Iterator<Chunk> it = this.pagedChunks.iterator(); it.hasNext(); ) {
             Chunk chunk = it.next();
-            if (Vector.compareDistance(chunk.getMapPos(), cameraMapPosition, Map.RENDER_DISTANCE) <= 0) {
-                this.activeChunks.add(chunk);
+            int deltaX = chunk.getMapX() - cameraMapX;
+            int deltaY = chunk.getMapY() - cameraMapY;
+            if (deltaX * deltaX + deltaY * deltaY > squareReleaseDistance) {
+                if (chunk.checkActive()) {
+                    chunk.setActive(false);
+                    this.activeChunks.remove(chunk);
+                }
+                chunk.releaseImage();
+                this.chunkIndex.remove(chunk.getMapX(), chunk.getMapY());
+                this.cache.put(chunk);
                 it.remove();
             }
         }
+        if (this.streamer != null) {
+            this.streamer.cancelFarRequests(cameraMapX, cameraMapY, Map.RELEASE_DISTANCE);
+        }
+
+        double speed = cameraSpeed.getMagnitude();
+        int readDistance = Map.RENDER_DISTANCE + Map.PREFETCH_DISTANCE;
+        int squareReadDistance = readDistance * readDistance;
+        for (int deltaY = -readDistance; deltaY <= readDistance; deltaY++) {
+            for (int deltaX = -readDistance; deltaX <= readDistance; deltaX++) {
+                int mapX = cameraMapX + deltaX;
+                int mapY = cameraMapY + deltaY;
+                // Skip chunks that are loaded, that no provider has, or that are already being streamed.
+                if (deltaX * deltaX + deltaY * deltaY > squareReadDistance || this.chunkIndex.contains(mapX, mapY)
+                        || !this.provider.checkContains(mapX, mapY)
+                        || (this.streamer != null && this.streamer.checkPending(mapX, mapY))) {
+                    continue;
+                }
+
+                Chunk chunk = this.cache.take(mapX, mapY);
+                if (chunk != null) {
+                    this.chunkIndex.put(mapX, mapY, chunk);
+                    this.pagedChunks.add(chunk);
+                    continue;
+                }
+
+                if (this.streamer != null) {
+                    // Rank chunks by distance, moving the ones ahead of the camera forward.
+                    double ahead = (speed > 0) ? (deltaX * cameraSpeed.getX() + deltaY * cameraSpeed.getY()) / speed : 0;
+                    double priority = Math.sqrt(deltaX * deltaX + deltaY * deltaY) - DIRECTION_WEIGHT * ahead;
+                    this.streamer.request(mapX, mapY, priority);
+                    continue;
+                }
+
+                // Chunks that changed before they were evicted are loaded from the store.
+                chunk = this.store.loadChunk(mapX, mapY);
+                if (chunk == null) {
+                    chunk = this.provider.loadChunk(mapX, mapY);
+                }
+                if (chunk != null) {
+                    this.chunkIndex.put(mapX, mapY, chunk);
+                    this.pagedChunks.add(chunk);
+                }
+            }
+        }
+        if (this.streamer != null) {
+            this.streamer.submitRequests();
+        }
     }
 
     /**
@@ -112,33 +315,39 @@ public class Map implements Drawable, Debuggable {
      * @param x The x-coordinate.
      * @param y The y-coordinate.
      * @return The {@code Chunk} containing the coordinate, {@code null} if no chunk 
-     * contains the coordinate.
+     * in memory contains the coordinate.
      */
     public Chunk getChunkContaining(int x, int y) {
-        // Search in active chunks.
-        for (Chunk chunk: this.activeChunks) {
-            if (chunk.contains(x, y)) {
-                return chunk;
-            }
-        }
+        return this.chunkIndex.get(Map.calculateMapCoordinate(x), Map.calculateMapCoordinate(y));
+    }
 
-        // Search in unactive chunks.
-        for (Chunk chunk: this.unactiveChunks) {
-            if (chunk.contains(x, y)) {
-                return chunk;
-            }
-        }
+    /**
+     * This method gets the {@code Chunk} at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The {@code Chunk} at the map position, {@code null} if there is none in memory.
+     * @see Map#calculateMapPosition(Vector)
+     */
+    public Chunk getChunk(int mapX, int mapY) {
+        return this.chunkIndex.get(mapX, mapY);
+    }
 
-        // The chunk cannot be found on the map.
-        return null;
+    public ChunkCache getCache() {
+        return this.cache;
     }
 
     public ArrayList<Chunk> getActiveChunks() {
         return this.activeChunks;
     }
 
-    public ArrayList<Chunk> getUnactiveChunks() {
-        return this.unactiveChunks;
+    /**
+     * This method counts the chunks that are loaded. If the map has providers,
+     * this is only the chunks near the camera, not the ones in the cache.
+     * @return The number of loaded chunks.
+     * @see Map#getCache
+     */
+    public int getNumChunks() {
+        return this.chunkIndex.size();
     }
 
     /**
@@ -167,10 +376,225 @@ public class Map implements Drawable, Debuggable {
      * @return {@code true} if the hitbox does intersect, {@code false} otherwise.
      */
     public boolean intersectsWithActiveSolid(Hitbox other) {
-        ArrayList<Chunk> intersectingChunks = this.getActiveChunksIntersecting(other);
+        return this.intersectsWithActiveSolid(other.getX(), other.getY(), 
+                other.getX() + other.getWidth(), other.getY() + other.getHeight());
+    }
 
-        for (Chunk chunk: intersectingChunks) {
-            if (chunk.intersectsWithSolid(other)) {
+    /**
+     * This method determines whether a box intersects with an active solid tile.
+     * It converts the box into the chunks and tiles it covers and only checks 
+     * those, so it does not allocate and its cost depends on the size of the box.
+     * Chunks that are missing while they are streamed count as solid.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param right The right x-coordinate of the box.
+     * @param bottom The bottom y-coordinate of the box.
+     * @return {@code true} if the box does intersect, {@code false} otherwise.
+     */
+    public boolean intersectsWithActiveSolid(int left, int top, int right, int bottom) {
+        // Touching edges count as intersecting, so include the tiles just before the box.
+        int minMapX = Math.floorDiv(Map.calculateTileCoordinate(left - 1), Chunk.LENGTH);
+        int maxMapX = Math.floorDiv(Map.calculateTileCoordinate(right), Chunk.LENGTH);
+        int minMapY = Math.floorDiv(Map.calculateTileCoordinate(top - 1), Chunk.LENGTH);
+        int maxMapY = Math.floorDiv(Map.calculateTileCoordinate(bottom), Chunk.LENGTH);
+
+        for (int mapY = minMapY; mapY <= maxMapY; mapY++) {
+            for (int mapX = minMapX; mapX <= maxMapX; mapX++) {
+                Chunk chunk = this.chunkIndex.get(mapX, mapY);
+                if (chunk == null && this.checkMissing(mapX, mapY)) {
+                    return true;
+                }
+                if (chunk != null && chunk.checkActive() && 
+                        chunk.intersectsWithSolid(left, top, right, bottom)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method checks if a tile is solid. It only checks the active chunks,
+     * and chunks that are missing while they are streamed.
+     * @param tileX The x-coordinate of the tile, in tiles.
+     * @param tileY The y-coordinate of the tile, in tiles.
+     * @return {@code true} if the tile is in an active chunk and solid or in a
+     * missing chunk, {@code false} otherwise.
+     */
+    public boolean checkActiveSolid(int tileX, int tileY) {
+        int mapX = Math.floorDiv(tileX, Chunk.LENGTH);
+        int mapY = Math.floorDiv(tileY, Chunk.LENGTH);
+        Chunk chunk = this.chunkIndex.get(mapX, mapY);
+        if (chunk == null) {
+            return this.checkMissing(mapX, mapY);
+        }
+        return chunk.checkActive() && chunk.checkSolid(tileX - chunk.getX(), tileY - chunk.getY());
+    }
+
+    /**
+     * This method checks if a chunk is missing because it is queued or being
+     * loaded by the streamer. Missing chunks count as solid so that nothing walks
+     * into an area before its tiles are known. Chunks that are not being streamed,
+     * such as ones past the chunks kept around the camera, are not missing, even
+     * if a provider has them, so nothing stops there at an invisible wall.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if the chunk is missing, {@code false} otherwise.
+     */
+    private boolean checkMissing(int mapX, int mapY) {
+        return this.streamer != null && this.streamer.checkPending(mapX, mapY);
+    }
+
+    /**
+     * This method finds how far a box can move horizontally before it touches an
+     * active solid tile. The tiles are checked one column at a time in the
+     * direction of movement, so the box cannot pass through thin walls. Tiles
+     * that the box already touches are ignored so it can move out of them.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param right The right x-coordinate of the box.
+     * @param bottom The bottom y-coordinate of the box.
+     * @param dx The horizontal distance to move the box.
+     * @return The distance the box can move, between {@code 0} and {@code dx}.
+     */
+    public int sweepX(int left, int top, int right, int bottom, int dx) {
+        int minTileY = Map.calculateTileCoordinate(top - 1);
+        int maxTileY = Map.calculateTileCoordinate(bottom);
+
+        if (dx > 0) {
+            int lastTileX = Map.calculateTileCoordinate(right + dx);
+            for (int tileX = Map.calculateTileCoordinate(right) + 1; tileX <= lastTileX; tileX++) {
+                if (this.checkActiveSolidColumn(tileX, minTileY, maxTileY)) {
+                    // Stop one pixel before the left edge of the tile.
+                    return tileX * Tile.LENGTH - 1 - right;
+                }
+            }
+        } else if (dx < 0) {
+            int lastTileX = Map.calculateTileCoordinate(left + dx - 1);
+            for (int tileX = Map.calculateTileCoordinate(left - 1) - 1; tileX >= lastTileX; tileX--) {
+                if (this.checkActiveSolidColumn(tileX, minTileY, maxTileY)) {
+                    // Stop one pixel after the right edge of the tile.
+                    return (tileX + 1) * Tile.LENGTH + 1 - left;
+                }
+            }
+        }
+        return dx;
+    }
+
+    /**
+     * This method finds how far a box can move vertically before it touches an
+     * active solid tile. The tiles are checked one row at a time in the
+     * direction of movement, so the box cannot pass through thin walls. Tiles
+     * that the box already touches are ignored so it can move out of them.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param right The right x-coordinate of the box.
+     * @param bottom The bottom y-coordinate of the box.
+     * @param dy The vertical distance to move the box.
+     * @return The distance the box can move, between {@code 0} and {@code dy}.
+     */
+    public int sweepY(int left, int top, int right, int bottom, int dy) {
+        int minTileX = Map.calculateTileCoordinate(left - 1);
+        int maxTileX = Map.calculateTileCoordinate(right);
+
+        if (dy > 0) {
+            int lastTileY = Map.calculateTileCoordinate(bottom + dy);
+            for (int tileY = Map.calculateTileCoordinate(bottom) + 1; tileY <= lastTileY; tileY++) {
+                if (this.checkActiveSolidRow(tileY, minTileX, maxTileX)) {
+                    // Stop one pixel before the top edge of the tile.
+                    return tileY * Tile.LENGTH - 1 - bottom;
+                }
+            }
+        } else if (dy < 0) {
+            int lastTileY = Map.calculateTileCoordinate(top + dy - 1);
+            for (int tileY = Map.calculateTileCoordinate(top - 1) - 1; tileY >= lastTileY; tileY--) {
+                if (this.checkActiveSolidRow(tileY, minTileX, maxTileX)) {
+                    // Stop one pixel after the bottom edge of the tile.
+                    return (tileY + 1) * Tile.LENGTH + 1 - top;
+                }
+            }
+        }
+        return dy;
+    }
+
+    /**
+     * This method shortens a movement so a hitbox stops before the active solid
+     * tiles in its way. The hitbox is swept along each axis, first horizontally
+     * and then vertically, and stops just before the first solid tile it meets.
+     * The blocked axis stops while the other keeps moving, so the hitbox slides
+     * along walls.
+     * @param x The x-coordinate of the anchor of the hitbox.
+     * @param y The y-coordinate of the anchor of the hitbox.
+     * @param hitbox The hitbox to move. Only its relative position and size are used.
+     * @param speed The movement of the anchor. It is changed to the allowed movement.
+     * @see Map#sweepX
+     * @see Map#sweepY
+     */
+    public void sweep(double x, double y, RelativeHitbox hitbox, Vector speed) {
+        this.sweep(x, y, hitbox.getRelX(), hitbox.getRelY(), hitbox.getWidth(), hitbox.getHeight(), speed);
+    }
+
+    /**
+     * This method shortens a movement so a hitbox stops before the active solid
+     * tiles in its way, where the hitbox is given by its position relative to
+     * the anchor and its size.
+     * @param x The x-coordinate of the anchor of the hitbox.
+     * @param y The y-coordinate of the anchor of the hitbox.
+     * @param relX The x-coordinate of the hitbox relative to the anchor.
+     * @param relY The y-coordinate of the hitbox relative to the anchor.
+     * @param width The width of the hitbox.
+     * @param height The height of the hitbox.
+     * @param speed The movement of the anchor. It is changed to the allowed movement.
+     * @see Map#sweep(double, double, RelativeHitbox, Vector)
+     */
+    public void sweep(double x, double y, int relX, int relY, int width, int height, Vector speed) {
+        // Move horizontally.
+        int left = (int) (x + relX);
+        int top = (int) (y + relY);
+        double dx = calculateAllowedMove(x + relX, speed.getX(), 
+                this.sweepX(left, top, left + width, top + height, 
+                (int) (x + relX + speed.getX()) - left));
+
+        // Move vertically from the new horizontal position.
+        left = (int) (x + dx + relX);
+        double dy = calculateAllowedMove(y + relY, speed.getY(), 
+                this.sweepY(left, top, left + width, top + height, 
+                (int) (y + relY + speed.getY()) - top));
+
+        speed.setTo(dx, dy);
+    }
+
+    /**
+     * This method converts the distance a hitbox edge can move in whole pixels
+     * back into a distance for the anchor position along one axis.
+     * @param edge The current coordinate of the hitbox edge, before rounding.
+     * @param speed The distance the anchor wants to move.
+     * @param allowed The distance the rounded hitbox edge can move.
+     * @return {@code speed} if the hitbox is not blocked, otherwise the distance
+     * that puts the rounded edge exactly at the allowed coordinate.
+     */
+    private static double calculateAllowedMove(double edge, double speed, int allowed) {
+        if (allowed == (int) (edge + speed) - (int) edge) {
+            return speed;
+        } else if (allowed == 0) {
+            return 0;
+        }
+
+        // Aim for the middle of the pixel so rounding lands on the allowed coordinate.
+        int target = (int) edge + allowed;
+        return target + Math.copySign(0.5, target) - edge;
+    }
+
+    /**
+     * This method checks if any tile in part of a column is active and solid.
+     * @param tileX The x-coordinate of the column, in tiles.
+     * @param minTileY The first y-coordinate to check, in tiles.
+     * @param maxTileY The last y-coordinate to check, in tiles.
+     * @return {@code true} if a tile is solid, {@code false} otherwise.
+     */
+    private boolean checkActiveSolidColumn(int tileX, int minTileY, int maxTileY) {
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            if (this.checkActiveSolid(tileX, tileY)) {
                 return true;
             }
         }
@@ -178,7 +602,25 @@ public class Map implements Drawable, Debuggable {
     }
 
     /**
-     * This method draws all the active chunks.
+     * This method checks if any tile in part of a row is active and solid.
+     * @param tileY The y-coordinate of the row, in tiles.
+     * @param minTileX The first x-coordinate to check, in tiles.
+     * @param maxTileX The last x-coordinate to check, in tiles.
+     * @return {@code true} if a tile is solid, {@code false} otherwise.
+     */
+    private boolean checkActiveSolidRow(int tileY, int minTileX, int maxTileX) {
+        for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+            if (this.checkActiveSolid(tileX, tileY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method draws all the active chunks. Each chunk is drawn from a 
+     * pre-rendered image of its tiles.
+     * @see ChunkImage
      */
     @Override
     public void draw(Graphics graphics) {
@@ -187,6 +629,20 @@ public class Map implements Drawable, Debuggable {
         }
     }
 
+    /**
+     * This method draws the active chunks that are visible to a {@code Camera}.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} used to skip chunks outside the view.
+     */
+    public void draw(Graphics graphics, Camera camera) {
+        for (Chunk chunk: this.activeChunks) {
+            if (camera.shouldDraw(chunk.getX() * Tile.LENGTH, chunk.getY() * Tile.LENGTH, 
+                    Chunk.LENGTH * Tile.LENGTH, Chunk.LENGTH * Tile.LENGTH)) {
+                chunk.draw(graphics);
+            }
+        }
+    }
+
     /**
      * This method draws the debug information of all the active chunks.
      */
@@ -197,6 +653,21 @@ public class Map implements Drawable, Debuggable {
         }
     }
 
+    /**
+     * This method draws the debug information of the active chunks that are 
+     * visible to a {@code Camera}.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} used to skip chunks and tile rows outside the view.
+     */
+    public void drawDebugInfo(Graphics graphics, Camera camera) {
+        for (Chunk chunk: this.activeChunks) {
+            if (camera.shouldDraw(chunk.getX() * Tile.LENGTH, chunk.getY() * Tile.LENGTH, 
+                    Chunk.LENGTH * Tile.LENGTH, Chunk.LENGTH * Tile.LENGTH)) {
+                chunk.drawDebugInfo(graphics, camera);
+            }
+        }
+    }
+
     /**
      * This method calculates the map position from a real position. The map
      * position represents a position such that if each chunk represents one 
@@ -213,6 +684,27 @@ public class Map implements Drawable, Debuggable {
         return mapPosition;
     }
 
+    /**
+     * This method calculates one coordinate of a map position from the same
+     * coordinate of a real position.
+     * @param realCoordinate The real x or y-coordinate.
+     * @return The floored map x or y-coordinate.
+     * @see Map#calculateMapPosition(Vector)
+     */
+    public static int calculateMapCoordinate(double realCoordinate) {
+        return (int) Math.floor(realCoordinate / (Chunk.LENGTH * Tile.LENGTH));
+    }
+
+    /**
+     * This method calculates the coordinate of the tile that a real coordinate
+     * falls into, counting tiles from the origin of the map.
+     * @param realCoordinate The real x or y-coordinate.
+     * @return The floored tile x or y-coordinate.
+     */
+    public static int calculateTileCoordinate(int realCoordinate) {
+        return Math.floorDiv(realCoordinate, Tile.LENGTH);
+    }
+
     /**
      * This method calculates the real position from a map position. Since map
      * positions are floored to the lowest integer, precision is lost when converting
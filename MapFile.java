@@ -0,0 +1,276 @@
+import java.io.FileReader;
+import java.io.BufferedReader;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+import java.io.IOException;
+import java.io.FileNotFoundException;
+
+/**
+ * This class writes maps in a compact binary format, which is read by a
+ * {@code RegionFile}. The file is laid out as follows, with every number
+ * stored big-endian.
+ * <pre>{@code
+ * header:    magic (int) version (int) chunkLength (int) numChunks (int)
+ * directory: mapX (int) mapY (int) encoding (int) offset (int) length (int)
+ *            ... once for each chunk, sorted by mapY and then mapX
+ * data:      the tiles of each chunk, at the offset given in the directory
+ * }</pre>
+ * The tiles of a chunk are the ids of their {@code TileType}s row by row. They
+ * are either stored as they are, or run-length encoded as pairs of a run length
+ * from {@code 1} to {@code 255} and a tile type id, whichever is smaller.
+ * <p>
+ * Running this class converts a text map into a binary map:
+ * </p>
+ * <pre>{@code
+ * java MapFile assets/map/map.txt assets/map/map.bin
+ * }</pre>
+ * @see RegionFile
+ */
+public final class MapFile {
+    // The start of every binary map file, "SAND" in ASCII.
+    public static final int MAGIC = 0x53414E44;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".bin";
+
+    // The ways the tiles of a chunk can be stored.
+    public static final int RAW = 0;
+    public static final int RUN_LENGTH = 1;
+
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    static final int ENTRY_SIZE = 5 * Integer.BYTES;
+    static final int NUM_TILES = Chunk.LENGTH * Chunk.LENGTH;
+    private static final int MAX_RUN_LENGTH = 255;
+
+    /**
+     * This method checks if a map file is in the binary format, based on its name.
+     * @param fileName The name of the map file.
+     * @return {@code true} if it is a binary map file, {@code false} otherwise.
+     */
+    public static boolean checkBinary(String fileName) {
+        return fileName.endsWith(EXTENSION);
+    }
+
+    /**
+     * This method reads and checks the header of a binary map file.
+     * @param buffer The contents of the file.
+     * @return The number of chunks in the file, or {@code 0} if the header is incorrect.
+     */
+    static int readHeader(ByteBuffer buffer) {
+        int magic = buffer.getInt(0);
+        int version = buffer.getInt(4);
+        int chunkLength = buffer.getInt(8);
+        if (magic != MAGIC) {
+            System.out.println("Error: Not a binary map file.");
+            return 0;
+        }
+        if (version != VERSION) {
+            System.out.println("Error: Unsupported map file version. [" + version + "]");
+            return 0;
+        }
+        if (chunkLength != Chunk.LENGTH) {
+            System.out.println("Error: Incorrect map file chunk size. [" + chunkLength + "]");
+            return 0;
+        }
+        return Math.max(0, buffer.getInt(12));
+    }
+
+    /**
+     * This method decodes the tiles of one chunk.
+     * @param buffer The contents of the file.
+     * @param encoding The way the tiles are stored.
+     * @param offset The position of the tiles in the file.
+     * @param length The number of bytes the tiles take up.
+     * @param tileIds The array to decode the tile type ids into.
+     * @return {@code true} if exactly one chunk of tiles was decoded, {@code false} otherwise.
+     */
+    static boolean decodeTiles(ByteBuffer buffer, int encoding, int offset, int length, byte[] tileIds) {
+        if (encoding == RAW) {
+            if (length != NUM_TILES) {
+                return false;
+            }
+            for (int i = 0; i < NUM_TILES; i++) {
+                tileIds[i] = buffer.get(offset + i);
+            }
+            return true;
+        }
+
+        if (encoding == RUN_LENGTH) {
+            int numDecoded = 0;
+            for (int i = 0; i + 1 < length; i += 2) {
+                int runLength = buffer.get(offset + i) & 0xFF;
+                byte id = buffer.get(offset + i + 1);
+                if (numDecoded + runLength > NUM_TILES) {
+                    return false;
+                }
+                for (int j = 0; j < runLength; j++) {
+                    tileIds[numDecoded++] = id;
+                }
+            }
+            return numDecoded == NUM_TILES;
+        }
+        return false;
+    }
+
+    /**
+     * This method writes chunks into a binary map file. The chunks are sorted by
+     * their map position, so the same chunks always make the same file. If
+     * several chunks share a map position, only the last one is written.
+     * @param chunks The loaded chunks to write.
+     * @param fileName The name of the binary map file.
+     * @return {@code true} if the file was written, {@code false} otherwise.
+     */
+    public static boolean write(ArrayList<Chunk> chunks, String fileName) {
+        ArrayList<Chunk> sortedChunks = new ArrayList<Chunk>(chunks);
+        Collections.sort(sortedChunks, new Comparator<Chunk>() {
+            public int compare(Chunk chunk1, Chunk chunk2) {
+                if (chunk1.getMapY() != chunk2.getMapY()) {
+                    return Integer.compare(chunk1.getMapY(), chunk2.getMapY());
+                }
+                return Integer.compare(chunk1.getMapX(), chunk2.getMapX());
+            }
+        });
+        // Keep only the last chunk at each map position, like Map.addChunk.
+        for (int i = sortedChunks.size() - 2; i >= 0; i--) {
+            Chunk chunk = sortedChunks.get(i);
+            Chunk nextChunk = sortedChunks.get(i + 1);
+            if (chunk.getMapX() == nextChunk.getMapX() && chunk.getMapY() == nextChunk.getMapY()) {
+                sortedChunks.remove(i);
+            }
+        }
+
+        // Encode the tiles of every chunk in whichever way is smaller.
+        int numChunks = sortedChunks.size();
+        byte[][] encodedTiles = new byte[numChunks][];
+        int[] encodings = new int[numChunks];
+        int fileSize = HEADER_SIZE + numChunks * ENTRY_SIZE;
+        for (int i = 0; i < numChunks; i++) {
+            byte[] rawTiles = sortedChunks.get(i).getTileTypeIds();
+            byte[] runLengthTiles = encodeRunLength(rawTiles);
+            if (runLengthTiles.length < rawTiles.length) {
+                encodedTiles[i] = runLengthTiles;
+                encodings[i] = RUN_LENGTH;
+            } else {
+                encodedTiles[i] = rawTiles;
+                encodings[i] = RAW;
+            }
+            fileSize += encodedTiles[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(fileSize);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(Chunk.LENGTH);
+        buffer.putInt(numChunks);
+
+        int offset = HEADER_SIZE + numChunks * ENTRY_SIZE;
+        for (int i = 0; i < numChunks; i++) {
+            buffer.putInt(sortedChunks.get(i).getMapX());
+            buffer.putInt(sortedChunks.get(i).getMapY());
+            buffer.putInt(encodings[i]);
+            buffer.putInt(offset);
+            buffer.putInt(encodedTiles[i].length);
+            offset += encodedTiles[i].length;
+        }
+        for (int i = 0; i < numChunks; i++) {
+            buffer.put(encodedTiles[i]);
+        }
+        buffer.flip();
+
+        try {
+            FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Could not write map file. [" + fileName + "]");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method run-length encodes tile type ids.
+     * @param tileIds The tile type ids.
+     * @return The pairs of run lengths and ids.
+     */
+    private static byte[] encodeRunLength(byte[] tileIds) {
+        ByteBuffer encoded = ByteBuffer.allocate(2 * tileIds.length);
+        int i = 0;
+        while (i < tileIds.length) {
+            int runLength = 1;
+            while (i + runLength < tileIds.length && runLength < MAX_RUN_LENGTH
+                    && tileIds[i + runLength] == tileIds[i]) {
+                runLength++;
+            }
+            encoded.put((byte) runLength);
+            encoded.put(tileIds[i]);
+            i += runLength;
+        }
+        byte[] result = new byte[encoded.position()];
+        encoded.flip();
+        encoded.get(result);
+        return result;
+    }
+
+    /**
+     * This method reads the chunks listed in a text map file. The text map file
+     * is formatted as described in {@link Map#loadFromFile}.
+     * @param fileName The name of the text map file.
+     * @return The chunks that were loaded.
+     */
+    public static ArrayList<Chunk> readTextChunks(String fileName) {
+        ArrayList<Chunk> chunks = new ArrayList<Chunk>();
+        BufferedReader input;
+        try {
+            input = new BufferedReader(new FileReader(fileName));
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Map file not found. [" + fileName + "]");
+            return chunks;
+        }
+
+        try {
+            int numChunks = Integer.parseInt(input.readLine());
+            for (int i = 0; i < numChunks; i++) {
+                Chunk chunk = new Chunk(input.readLine().trim());
+                chunk.loadFromFile();
+                if (chunk.checkLoaded()) {
+                    chunks.add(chunk);
+                }
+            }
+            input.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read map file.");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect map file number format.");
+        }
+        return chunks;
+    }
+
+    /**
+     * This method converts a text map into a binary map.
+     * @param args The name of the text map file, then the name of the binary map file.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java MapFile <text map file> <binary map file>");
+            return;
+        }
+
+        ArrayList<Chunk> chunks = readTextChunks(args[0]);
+        if (write(chunks, args[1])) {
+            System.out.println("Converted " + args[0] + " to " + args[1] + ".");
+        }
+    }
+
+    private MapFile() {}
+}
@@ -4,20 +4,39 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.awt.BasicStroke;
 
-import java.util.ArrayList;
-
 /**
  * This method represents a minimap of the real game map. The minimap can be a different size
  * magnification, and position than the actual game map.
+ * <p>
+ * The terrain is drawn from a small image of each chunk, which is only made once.
+ * The terrain around the player is put together from these images into a layer
+ * that is a little larger than the minimap, and this is only redone when the
+ * player moves onto a different tile. Each update, the layer is copied into the
+ * minimap so that the player is centered, and the entities are drawn over it.
+ * </p>
+ * @see Chunk#getMinimapImage
  */
 public class Minimap implements Drawable {
+    // The diameter of the dot of each entity in real pixels.
+    private static final int DOT_DIAMETER = 20;
+
     private Vector position;
     private double scale;
     private BufferedImage surf;
+    // The terrain around the tile the player was on, with a margin on each side.
+    private BufferedImage terrainSurf;
+    private int terrainMargin;
+    private boolean terrainValid;
+    // The tile that the terrain is centered on.
+    private int terrainTileX;
+    private int terrainTileY;
+    // The chunk of the player's position when the terrain was put together. The active chunks depend on it.
+    private int terrainMapX;
+    private int terrainMapY;
     
     private Map map;
     private Player player;
-    private ArrayList<Enemy> enemies;
+    private EnemyWorld enemies;
 
     /**
      * This constructs a {@code Minimap} object with a position, size, and magnification.
@@ -27,14 +46,20 @@ public class Minimap implements Drawable {
      * @param scale The magnification of this {@code Minimap}.
      * @param map The map this {@code Minimap} is based on.
      * @param player The {@code Player} object.
-     * @param enemies The list of all the {@code Enemy} objects.
+     * @param enemies The enemies of the game.
      */
     public Minimap(Vector position, int width, int height, double scale, Map map, 
-            Player player, ArrayList<Enemy> enemies) {
+            Player player, EnemyWorld enemies) {
         this.position = position;
         this.scale = scale;
         this.surf = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
 
+        // The player can be up to a tile away from the center of the terrain.
+        this.terrainMargin = (int) Math.ceil(Tile.LENGTH / scale) + 1;
+        this.terrainSurf = new BufferedImage(width + 2 * this.terrainMargin, 
+                height + 2 * this.terrainMargin, BufferedImage.TYPE_INT_RGB);
+        this.terrainValid = false;
+
         this.map = map;
         this.player = player;
         this.enemies = enemies;
@@ -45,39 +70,97 @@ public class Minimap implements Drawable {
      * drawn as small circles on this {@code Minimap}. The player is centered.
      */
     public void update() {
-        Graphics2D graphics = this.surf.createGraphics();
+        int tileX = Map.calculateTileCoordinate(this.player.getCenterX());
+        int tileY = Map.calculateTileCoordinate(this.player.getCenterY());
+        int mapX = Map.calculateMapCoordinate(this.player.getX());
+        int mapY = Map.calculateMapCoordinate(this.player.getY());
+        if (!this.terrainValid || tileX != this.terrainTileX || tileY != this.terrainTileY
+                || mapX != this.terrainMapX || mapY != this.terrainMapY) {
+            this.drawTerrain(tileX, tileY);
+            this.terrainMapX = mapX;
+            this.terrainMapY = mapY;
+        }
 
-        // Draw the minimap background.
-        graphics.setColor(Const.WHITE);
-        graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
-
-        // Center and scale the player in the minimap.
-        AffineTransform saveAT = graphics.getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                this.getWidth() * this.scale / 2 - this.player.getCenterX(),
-                this.getHeight() * this.scale / 2 - this.player.getCenterY());
-        AffineTransform scaleDown = AffineTransform.getScaleInstance(1 / this.scale, 1 / this.scale);
-        
-        graphics.transform(scaleDown);
-        graphics.transform(translateCenterPlayer);
-
-        // Draw the map.
-        this.map.draw(graphics);
-
-        // Draw the enemies.
-        for (Enemy enemy: this.enemies) {
+        // The real coordinate at the top-left of the minimap, with the player centered.
+        double originX = this.player.getCenterX() - this.getWidth() * this.scale / 2;
+        double originY = this.player.getCenterY() - this.getHeight() * this.scale / 2;
+
+        Graphics2D graphics = this.surf.createGraphics();
+        try {
+            // Copy the terrain, shifted by how far the player is from the center of their tile.
+            int terrainX = (int) Math.round(((this.terrainTileX + 0.5) * Tile.LENGTH - this.player.getCenterX()) 
+                    / this.scale) - this.terrainMargin;
+            int terrainY = (int) Math.round(((this.terrainTileY + 0.5) * Tile.LENGTH - this.player.getCenterY()) 
+                    / this.scale) - this.terrainMargin;
+            graphics.drawImage(this.terrainSurf, terrainX, terrainY, null);
+
+            // Draw the enemies.
             graphics.setColor(Const.RED);
-            graphics.fillOval((int) enemy.getCenterX() - 10, 
-                    (int) enemy.getCenterY() - 10, 20, 20);
+            for (int i = 0; i < this.enemies.size(); i++) {
+                this.drawDot(graphics, this.enemies.getCenterX(i) - originX, this.enemies.getCenterY(i) - originY);
+            }
+
+            // Draw the player.
+            graphics.setColor(Const.DARK_BLUE);
+            this.drawDot(graphics, this.player.getCenterX() - originX, this.player.getCenterY() - originY);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * This method marks the terrain as out of date, so it is put together again
+     * in the next update. It should be called after tiles are changed.
+     */
+    public void invalidate() {
+        this.terrainValid = false;
+    }
+
+    /**
+     * This method puts together the terrain layer from the minimap images of the
+     * active chunks. The center of the layer is the center of a tile.
+     * @param tileX The x-coordinate of the tile to center on.
+     * @param tileY The y-coordinate of the tile to center on.
+     */
+    private void drawTerrain(int tileX, int tileY) {
+        // The real coordinate at the top-left of the terrain.
+        double originX = (tileX + 0.5) * Tile.LENGTH - this.terrainSurf.getWidth() * this.scale / 2;
+        double originY = (tileY + 0.5) * Tile.LENGTH - this.terrainSurf.getHeight() * this.scale / 2;
+
+        Graphics2D graphics = this.terrainSurf.createGraphics();
+        try {
+            graphics.setColor(Const.WHITE);
+            graphics.fillRect(0, 0, this.terrainSurf.getWidth(), this.terrainSurf.getHeight());
+
+            int chunkLength = (int) Math.ceil(Chunk.LENGTH * Tile.LENGTH / this.scale);
+            for (Chunk chunk: this.map.getActiveChunks()) {
+                int chunkX = (int) Math.floor((chunk.getX() * Tile.LENGTH - originX) / this.scale);
+                int chunkY = (int) Math.floor((chunk.getY() * Tile.LENGTH - originY) / this.scale);
+                if (chunkX + chunkLength < 0 || chunkY + chunkLength < 0 
+                        || chunkX >= this.terrainSurf.getWidth() || chunkY >= this.terrainSurf.getHeight()) {
+                    continue;
+                }
+                graphics.drawImage(chunk.getMinimapImage(this.scale), chunkX, chunkY, null);
+            }
+        } finally {
+            graphics.dispose();
         }
 
-        // Draw the player.
-        graphics.setColor(Const.DARK_BLUE);
-        graphics.fillOval((int) this.player.getCenterX() - 10, 
-                (int) this.player.getCenterY() - 10, 20, 20);
+        this.terrainTileX = tileX;
+        this.terrainTileY = tileY;
+        this.terrainValid = true;
+    }
 
-        // Reset the graphics.
-        graphics.setTransform(saveAT);
+    /**
+     * This method draws the dot of an entity.
+     * @param graphics The {@code Graphics} of this {@code Minimap}.
+     * @param realX The real x-coordinate of the center of the entity, relative to the top-left of this {@code Minimap}.
+     * @param realY The real y-coordinate of the center of the entity, relative to the top-left of this {@code Minimap}.
+     */
+    private void drawDot(Graphics2D graphics, double realX, double realY) {
+        int diameter = (int) Math.round(DOT_DIAMETER / this.scale);
+        graphics.fillOval((int) Math.round(realX / this.scale) - diameter / 2, 
+                (int) Math.round(realY / this.scale) - diameter / 2, diameter, diameter);
     }
 
     public int getWidth() {
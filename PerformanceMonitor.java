@@ -0,0 +1,214 @@
+import java.io.FileWriter;
+import java.io.PrintWriter;
+
+import java.util.Arrays;
+
+import java.io.IOException;
+
+/**
+ * This class records measurements of the game, such as how long each part of
+ * an update takes or how many enemies there are. Each metric keeps its most
+ * recent samples in a ring buffer, so the statistics always describe the last
+ * few seconds of the game. Recording a sample does not allocate memory, so
+ * it can be done every frame.
+ * <p>
+ * Metrics are numbered by the order of their names. The statistics can be
+ * drawn with a {@code PerformanceOverlay} or written to a CSV file.
+ * </p>
+ * @see PerformanceOverlay
+ */
+public class PerformanceMonitor {
+    // Units of metrics.
+    public static final String NANOSECONDS = "ns";
+    public static final String COUNT = "count";
+
+    private String[] names;
+    private String[] units;
+    // The samples of each metric. The newest sample of a metric is just before its next index.
+    private long[][] samples;
+    private int[] nextIndices;
+    private int[] numSamples;
+    // Space to sort the samples of a metric in when finding percentiles.
+    private long[] sortedSamples;
+
+    /**
+     * This constructs a {@code PerformanceMonitor} object.
+     * @param names The name of each metric.
+     * @param units The unit of each metric, such as {@code NANOSECONDS} or {@code COUNT}.
+     * @param capacity The number of recent samples kept for each metric.
+     */
+    public PerformanceMonitor(String[] names, String[] units, int capacity) {
+        this.names = names;
+        this.units = units;
+        this.samples = new long[names.length][capacity];
+        this.nextIndices = new int[names.length];
+        this.numSamples = new int[names.length];
+        this.sortedSamples = new long[capacity];
+    }
+
+    /**
+     * This method adds a sample to a metric. If the metric is full, its oldest
+     * sample is replaced.
+     * @param metric The number of the metric.
+     * @param value The value of the sample.
+     */
+    public synchronized void record(int metric, long value) {
+        long[] metricSamples = this.samples[metric];
+        metricSamples[this.nextIndices[metric]] = value;
+        this.nextIndices[metric] = (this.nextIndices[metric] + 1) % metricSamples.length;
+        if (this.numSamples[metric] < metricSamples.length) {
+            this.numSamples[metric]++;
+        }
+    }
+
+    /**
+     * This method adds the time since a start time to a metric.
+     * @param metric The number of the metric.
+     * @param startTime The start time from {@code System.nanoTime()}.
+     */
+    public void recordSince(int metric, long startTime) {
+        this.record(metric, System.nanoTime() - startTime);
+    }
+
+    /**
+     * This method removes the samples of every metric.
+     */
+    public synchronized void clear() {
+        Arrays.fill(this.nextIndices, 0);
+        Arrays.fill(this.numSamples, 0);
+    }
+
+    public int getNumMetrics() {
+        return this.names.length;
+    }
+
+    public String getName(int metric) {
+        return this.names[metric];
+    }
+
+    public String getUnit(int metric) {
+        return this.units[metric];
+    }
+
+    public int getCapacity() {
+        return this.sortedSamples.length;
+    }
+
+    public synchronized int getNumSamples(int metric) {
+        return this.numSamples[metric];
+    }
+
+    /**
+     * This method gets a recent sample of a metric.
+     * @param metric The number of the metric.
+     * @param age How many samples before the newest one to get. {@code 0} gets the newest.
+     * @return The value of the sample, or {@code 0} if there are not that many samples.
+     */
+    public synchronized long getSample(int metric, int age) {
+        if (age < 0 || age >= this.numSamples[metric]) {
+            return 0;
+        }
+        long[] metricSamples = this.samples[metric];
+        int index = this.nextIndices[metric] - 1 - age;
+        if (index < 0) {
+            index += metricSamples.length;
+        }
+        return metricSamples[index];
+    }
+
+    public long getLatest(int metric) {
+        return this.getSample(metric, 0);
+    }
+
+    /**
+     * This method calculates the mean of the recent samples of a metric.
+     * @param metric The number of the metric.
+     * @return The mean, or {@code 0} if there are no samples.
+     */
+    public synchronized double getMean(int metric) {
+        int count = this.numSamples[metric];
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += this.samples[metric][i];
+        }
+        return (double) total / count;
+    }
+
+    /**
+     * This method finds the largest recent sample of a metric.
+     * @param metric The number of the metric.
+     * @return The largest sample, or {@code 0} if there are no samples.
+     */
+    public synchronized long getMax(int metric) {
+        long max = 0;
+        for (int i = 0; i < this.numSamples[metric]; i++) {
+            max = Math.max(max, this.samples[metric][i]);
+        }
+        return max;
+    }
+
+    /**
+     * This method finds a percentile of the recent samples of a metric, using
+     * the nearest sample at or above it. The samples are copied and sorted
+     * without allocating memory.
+     * @param metric The number of the metric.
+     * @param percentile The percentile, from {@code 0} to {@code 100}.
+     * @return The sample at the percentile, or {@code 0} if there are no samples.
+     */
+    public synchronized long getPercentile(int metric, double percentile) {
+        int count = this.numSamples[metric];
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(this.samples[metric], 0, this.sortedSamples, 0, count);
+        Arrays.sort(this.sortedSamples, 0, count);
+
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return this.sortedSamples[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    /**
+     * This method writes the statistics of every metric to a CSV file. Each row
+     * has the name, unit, number of samples, mean, 50th, 95th and 99th percentiles,
+     * and the largest sample of a metric. The statistics are copied first, so
+     * samples can be recorded while the file is written.
+     * @param fileName The name of the file.
+     */
+    public void writeCsv(String fileName) {
+        int numMetrics = this.names.length;
+        int[] counts = new int[numMetrics];
+        double[] means = new double[numMetrics];
+        long[] medians = new long[numMetrics];
+        long[] percentiles95 = new long[numMetrics];
+        long[] percentiles99 = new long[numMetrics];
+        long[] maxes = new long[numMetrics];
+        synchronized (this) {
+            for (int i = 0; i < numMetrics; i++) {
+                counts[i] = this.numSamples[i];
+                means[i] = this.getMean(i);
+                medians[i] = this.getPercentile(i, 50);
+                percentiles95[i] = this.getPercentile(i, 95);
+                percentiles99[i] = this.getPercentile(i, 99);
+                maxes[i] = this.getMax(i);
+            }
+        }
+
+        try (PrintWriter output = new PrintWriter(new FileWriter(fileName))) {
+            output.println("metric,unit,samples,mean,p50,p95,p99,max");
+            for (int i = 0; i < numMetrics; i++) {
+                output.println(this.names[i] + "," + this.units[i] + "," + counts[i] + ","
+                        + String.format("%.1f", means[i]) + "," + medians[i] + ","
+                        + percentiles95[i] + "," + percentiles99[i] + "," + maxes[i]);
+            }
+            // A PrintWriter keeps errors instead of throwing them.
+            if (output.checkError()) {
+                System.out.println("Error: Could not write performance file. [" + fileName + "]");
+            }
+        } catch (IOException ex) {
+            System.out.println("Error: Could not write performance file. [" + fileName + "]");
+        }
+    }
+}
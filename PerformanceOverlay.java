@@ -0,0 +1,146 @@
+import java.awt.Color;
+import java.awt.Graphics;
+
+/**
+ * This class draws the statistics of a {@code PerformanceMonitor} over the game.
+ * The recent samples of a few metrics, such as the frame time, are drawn as
+ * graphs. Below them, the 50th, 95th and 99th percentiles of every timing are
+ * listed in milliseconds, followed by the newest value of every count.
+ * @see PerformanceMonitor
+ */
+public class PerformanceOverlay implements Drawable {
+    private static final Color BACKGROUND_COLOR = new Color(14, 38, 47, 190);
+    private static final int LINE_HEIGHT = 15;
+    private static final int GRAPH_HEIGHT = 40;
+    private static final int MARGIN = 8;
+    // The time drawn at the top of a graph in nanoseconds. Longer samples are cut off.
+    private static final long GRAPH_MAX_NANOS = 2 * Const.DEFAULT_FRAME_PERIOD * Const.NS_PER_MS;
+    // The horizontal positions of the columns of the timings, relative to the left edge.
+    private static final int[] COLUMN_X = {MARGIN, 120, 165, 210};
+
+    private PerformanceMonitor monitor;
+    private int x;
+    private int y;
+    private int width;
+    private int[] graphedMetrics;
+
+    /**
+     * This constructs a {@code PerformanceOverlay} object.
+     * @param monitor The {@code PerformanceMonitor} to draw.
+     * @param x The left x-coordinate.
+     * @param y The top y-coordinate.
+     * @param graphedMetrics The numbers of the timings to draw graphs of.
+     */
+    public PerformanceOverlay(PerformanceMonitor monitor, int x, int y, int[] graphedMetrics) {
+        this.monitor = monitor;
+        this.x = x;
+        this.y = y;
+        this.width = Math.max(COLUMN_X[COLUMN_X.length - 1] + 50, monitor.getCapacity() + 2 * MARGIN);
+        this.graphedMetrics = graphedMetrics;
+    }
+
+    public void setPos(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * This method calculates the height of this {@code PerformanceOverlay}.
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        int numLines = 1 + this.monitor.getNumMetrics();
+        return MARGIN + this.graphedMetrics.length * (GRAPH_HEIGHT + LINE_HEIGHT + MARGIN)
+                + numLines * LINE_HEIGHT + MARGIN;
+    }
+
+    /**
+     * This method draws the graphs and statistics onto a surface.
+     */
+    @Override
+    public void draw(Graphics graphics) {
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(this.x, this.y, this.width, this.getHeight());
+        graphics.setFont(Const.DEBUG_FONT);
+
+        int curY = this.y + MARGIN;
+        for (int metric: this.graphedMetrics) {
+            graphics.setColor(Const.WHITE2);
+            graphics.drawString(this.monitor.getName(metric) + " (" + formatMillis(this.monitor.getLatest(metric))
+                    + " ms)", this.x + MARGIN, curY + LINE_HEIGHT - 3);
+            curY += LINE_HEIGHT;
+            this.drawGraph(graphics, metric, this.x + MARGIN, curY);
+            curY += GRAPH_HEIGHT + MARGIN;
+        }
+
+        // Draw the percentiles of the timings.
+        graphics.setColor(Const.LIGHT_GRAY2);
+        curY += LINE_HEIGHT;
+        graphics.drawString("ms", this.x + COLUMN_X[0], curY);
+        graphics.drawString("p50", this.x + COLUMN_X[1], curY);
+        graphics.drawString("p95", this.x + COLUMN_X[2], curY);
+        graphics.drawString("p99", this.x + COLUMN_X[3], curY);
+
+        graphics.setColor(Const.WHITE2);
+        for (int i = 0; i < this.monitor.getNumMetrics(); i++) {
+            if (!this.monitor.getUnit(i).equals(PerformanceMonitor.NANOSECONDS)) {
+                continue;
+            }
+            curY += LINE_HEIGHT;
+            graphics.drawString(this.monitor.getName(i), this.x + COLUMN_X[0], curY);
+            graphics.drawString(formatMillis(this.monitor.getPercentile(i, 50)), this.x + COLUMN_X[1], curY);
+            graphics.drawString(formatMillis(this.monitor.getPercentile(i, 95)), this.x + COLUMN_X[2], curY);
+            graphics.drawString(formatMillis(this.monitor.getPercentile(i, 99)), this.x + COLUMN_X[3], curY);
+        }
+
+        // Draw the newest value of the counts.
+        for (int i = 0; i < this.monitor.getNumMetrics(); i++) {
+            if (this.monitor.getUnit(i).equals(PerformanceMonitor.NANOSECONDS)) {
+                continue;
+            }
+            curY += LINE_HEIGHT;
+            graphics.drawString(this.monitor.getName(i), this.x + COLUMN_X[0], curY);
+            graphics.drawString(Long.toString(this.monitor.getLatest(i)), this.x + COLUMN_X[1], curY);
+        }
+    }
+
+    /**
+     * This method draws the recent samples of a timing as a bar graph, with the
+     * newest sample on the right.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param metric The number of the timing.
+     * @param left The left x-coordinate of the graph.
+     * @param top The top y-coordinate of the graph.
+     */
+    private void drawGraph(Graphics graphics, int metric, int left, int top) {
+        int capacity = this.monitor.getCapacity();
+        graphics.setColor(Const.GRAY);
+        graphics.drawRect(left, top, capacity, GRAPH_HEIGHT);
+
+        // Mark the time of one frame.
+        int frameY = top + GRAPH_HEIGHT - (int) (GRAPH_HEIGHT * Const.DEFAULT_FRAME_PERIOD * Const.NS_PER_MS / GRAPH_MAX_NANOS);
+        graphics.drawLine(left, frameY, left + capacity, frameY);
+
+        graphics.setColor(Const.GREEN);
+        int numSamples = this.monitor.getNumSamples(metric);
+        for (int age = 0; age < numSamples; age++) {
+            long sample = Math.min(this.monitor.getSample(metric, age), GRAPH_MAX_NANOS);
+            int barHeight = (int) (GRAPH_HEIGHT * sample / GRAPH_MAX_NANOS);
+            int barX = left + capacity - 1 - age;
+            graphics.drawLine(barX, top + GRAPH_HEIGHT, barX, top + GRAPH_HEIGHT - barHeight);
+        }
+    }
+
+    /**
+     * This method formats a time in nanoseconds as milliseconds.
+     * @param nanos The time in nanoseconds.
+     * @return The time in milliseconds with two decimal places.
+     */
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f", nanos / (double) Const.NS_PER_MS);
+    }
+}
@@ -8,6 +8,7 @@ import java.awt.event.MouseEvent;
 
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.Random;
 
 /**
  * This class represents the player in the game. The player is capable of
@@ -27,6 +28,7 @@ public class Player extends Entity implements Moveable, Collidable {
     private Vector moveSpeed;
     private Vector realSpeed;
     private Map map;
+    private Random random;
     private Sword sword;
     private HealthBar healthBar;
 
@@ -35,8 +37,9 @@ public class Player extends Entity implements Moveable, Collidable {
      * @param maxHealthPoints The player's max hit points.
      * @param swordDamagePoints The player's sword damage.
      * @param map The map the player interacts with.
+     * @param random The random number generator used for health regeneration.
      */
-    public Player(int maxHealthPoints, int swordDamagePoints, Map map) {
+    public Player(int maxHealthPoints, int swordDamagePoints, Map map, Random random) {
         super(0, 0, "Player");
 
         // Initialize the animation cycles.
@@ -55,8 +58,11 @@ public class Player extends Entity implements Moveable, Collidable {
 
         this.direction = Const.LEFT;
         this.moveSpeed = Vector.VECTOR_ZERO.clone();
+        this.realSpeed = Vector.VECTOR_ZERO.clone();
         this.map = map;
+        this.random = random;
         this.sword = new Sword(this.getPos(), swordDamagePoints, this.getName() + "'s Sword");
+        this.sword.setSoundPriority(Const.PLAYER_SOUND_PRIORITY);
         this.healthBar = new HealthBar(Vector.sum(this.getCenter(), new Vector(-this.getWidth() / 2, -60)), 
                 maxHealthPoints, this.getWidth(), 10);
     }
@@ -91,16 +97,14 @@ public class Player extends Entity implements Moveable, Collidable {
      */
     public void update() {
         // Handle collisions.
-        this.realSpeed = this.moveSpeed.clone();
+        this.realSpeed.setTo(this.moveSpeed);
         this.handleTileCollisions();
 
         // Update the position.
-        Vector newPos = this.getPos();
-        newPos.add(this.realSpeed);
-        this.setPos(newPos);
+        this.setPos(this.getX() + this.realSpeed.getX(), this.getY() + this.realSpeed.getY());
 
         // Regenerate health randomly.
-        if ((int) (Math.random() * 5) == 0) {
+        if (this.random.nextInt(5) == 0) {
             this.healthBar.heal(Const.PLAYER_REGEN);
         }
     }
@@ -121,7 +125,7 @@ public class Player extends Entity implements Moveable, Collidable {
             } else {
                 this.activeCycle = this.walkCycle;
             }
-            this.activeCycle.setPos(this.getPos());
+            this.activeCycle.setPos(this.getX(), this.getY());
         }
 
         this.sword.animate();
@@ -129,36 +133,12 @@ public class Player extends Entity implements Moveable, Collidable {
 
     /**
      * This method alters the player speed in order to prevent solid tile collisions.
+     * The player slides along walls that block one direction of movement.
+     * @see Map#sweep
      */
     private void handleTileCollisions() {
-        RelativeHitbox shiftedHitbox = (RelativeHitbox) this.getGeneralHitbox();
-
-        Vector newRealSpeed = this.realSpeed.getVectorX();
-        double speedPercentage = 1.0;
-
-        // Reduce the speed until it can move horizontally.
-        shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        while (this.map.intersectsWithActiveSolid(shiftedHitbox) && 
-                Double.compare(speedPercentage, 0.1) >= 0) {
-            speedPercentage -= 0.1;
-            speedPercentage = Math.round(speedPercentage * 10) / 10.0;
-            newRealSpeed.setX(this.realSpeed.getX() * speedPercentage);
-            shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        }
-
-        // Reduce the speed until it can move vertically.
-        newRealSpeed.setY(this.realSpeed.getY());
-        speedPercentage = 1.0;
-        shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        while (this.map.intersectsWithActiveSolid(shiftedHitbox) && 
-                Double.compare(speedPercentage, 0.1) >= 0) {
-            speedPercentage -= 0.1;
-            speedPercentage = Math.round(speedPercentage * 10) / 10;
-            newRealSpeed.setY(this.realSpeed.getY() * speedPercentage);
-            shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        }
-
-        this.realSpeed = newRealSpeed;
+        this.map.sweep(this.getX(), this.getY(), 
+                (RelativeHitbox) this.activeCycle.getGeneralHitbox(), this.realSpeed);
     }
 
     @Override
@@ -173,13 +153,13 @@ public class Player extends Entity implements Moveable, Collidable {
 
     @Override
     public int getCenterX() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
+        Hitbox generalHitbox = this.activeCycle.getGeneralHitbox();
         return generalHitbox.getX() + generalHitbox.getWidth() / 2;
     }
 
     @Override
     public int getCenterY() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
+        Hitbox generalHitbox = this.activeCycle.getGeneralHitbox();
         return generalHitbox.getY() + generalHitbox.getHeight() / 2;
     }
 
@@ -193,6 +173,14 @@ public class Player extends Entity implements Moveable, Collidable {
         return this.activeCycle.getGeneralHitbox().clone();
     }
 
+    /**
+     * This method creates a copy of how far this {@code Player} moved in the last update.
+     * @return A new {@code Vector} of the movement.
+     */
+    public Vector getSpeed() {
+        return this.realSpeed.clone();
+    }
+
     public AnimationCycle getActiveCycle() {
         return this.activeCycle;
     }
@@ -201,24 +189,22 @@ public class Player extends Entity implements Moveable, Collidable {
         return this.sword;
     }
 
+    /**
+     * This method records the current position of this {@code Player} and its
+     * sword as their previous position.
+     */
     @Override
-    public void setX(double newX) {
-        super.setX(newX);
-        this.setPos(this.getPos());
-    }
-
-    @Override
-    public void setY(double newY) {
-        super.setY(newY);
-        this.setPos(this.getPos());
+    public void savePrevPos() {
+        super.savePrevPos();
+        this.sword.savePrevPos();
     }
 
     @Override
-    public void setPos(Vector newPos) {
-        super.setPos(newPos);
-        this.activeCycle.setPos(newPos);
-        this.healthBar.setPos(Vector.sum(this.getCenter(), new Vector(-this.getWidth() / 2, -60)));
-        this.sword.setPos(newPos);
+    public void setPos(double newX, double newY) {
+        super.setPos(newX, newY);
+        this.activeCycle.setPos(newX, newY);
+        this.healthBar.setPos(this.getCenterX() - this.getWidth() / 2, this.getCenterY() - 60);
+        this.sword.setPos(newX, newY);
     }
 
     public void setMap(Map map) {
@@ -295,7 +281,7 @@ public class Player extends Entity implements Moveable, Collidable {
             this.activeCycle = this.attackCycle;
             this.resetAttack();
             this.sword.attack();
-            this.activeCycle.setPos(getPos());
+            this.activeCycle.setPos(this.getX(), this.getY());
         }
     }
 
@@ -461,7 +447,7 @@ public class Player extends Entity implements Moveable, Collidable {
 
             if (moveSpeed.equals(Vector.VECTOR_ZERO)) {
                 activeCycle = idleCycle;
-                activeCycle.setPos(getPos());
+                activeCycle.setPos(getX(), getY());
             } else {
                 moveSpeed.setLength(WALK_SPEED);
             }
@@ -0,0 +1,172 @@
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import java.io.IOException;
+
+/**
+ * This class reads chunks from a binary map file one at a time. The file is
+ * memory-mapped instead of read, so the operating system pages in only the
+ * parts that are used and no memory is needed for chunks that are never
+ * visited. Chunks are found by a binary search of the sorted directory of the
+ * file, so finding a chunk does not depend on any table in memory either.
+ * @see MapFile
+ * @see Map
+ */
+public class RegionFile implements ChunkProvider {
+    // Space to decode the tiles of a chunk into. Each thread that reads chunks gets its own.
+    private static final ThreadLocal<byte[]> TILE_IDS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[MapFile.NUM_TILES];
+        }
+    };
+
+    private String fileName;
+    private ByteBuffer buffer;
+    private int numChunks;
+
+    /**
+     * This constructs a {@code RegionFile} object without opening the file.
+     * @param fileName The name of the binary map file.
+     * @see RegionFile#open()
+     */
+    public RegionFile(String fileName) {
+        this.fileName = fileName;
+        this.buffer = null;
+        this.numChunks = 0;
+    }
+
+    /**
+     * This method memory-maps the file and checks its header. If an error
+     * occurs, a relevant error message is printed and the file stays closed.
+     */
+    public void open() {
+        try {
+            FileChannel channel = FileChannel.open(Paths.get(this.fileName), StandardOpenOption.READ);
+            // The mapping stays valid after the channel is closed.
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            channel.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Map file not found. [" + this.fileName + "]");
+            return;
+        }
+        this.checkHeader();
+    }
+
+    /**
+     * This method reads the whole file into memory instead of mapping it, for
+     * small files that can be replaced while the game runs. A mapped file cannot
+     * be replaced on every system. If an error occurs, a relevant error message
+     * is printed and the file stays closed.
+     */
+    public void read() {
+        try {
+            this.buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(this.fileName)));
+        } catch (IOException ex) {
+            System.out.println("Error: Map file not found. [" + this.fileName + "]");
+            return;
+        }
+        this.checkHeader();
+    }
+
+    /**
+     * This method checks the header and the directory size of the opened file,
+     * and closes it again if they are incorrect.
+     */
+    private void checkHeader() {
+        if (this.buffer.limit() < MapFile.HEADER_SIZE) {
+            System.out.println("Error: Incomplete map file. [" + this.fileName + "]");
+            this.buffer = null;
+            return;
+        }
+        this.numChunks = MapFile.readHeader(this.buffer);
+        if (this.buffer.limit() < MapFile.HEADER_SIZE + (long) this.numChunks * MapFile.ENTRY_SIZE) {
+            System.out.println("Error: Incomplete map file. [" + this.fileName + "]");
+            this.buffer = null;
+            this.numChunks = 0;
+        }
+    }
+
+    public boolean checkOpen() {
+        return this.buffer != null;
+    }
+
+    public int getNumChunks() {
+        return this.numChunks;
+    }
+
+    /**
+     * This method checks if the file has a chunk at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return {@code true} if there is a chunk, {@code false} otherwise.
+     */
+    @Override
+    public boolean checkContains(int mapX, int mapY) {
+        return this.findEntry(mapX, mapY) >= 0;
+    }
+
+    /**
+     * This method reads the chunk at a map position from the file. It can be
+     * called from several threads at once, since it only reads the file.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return A new {@code Chunk}, or {@code null} if the file has no correct chunk there.
+     */
+    @Override
+    public Chunk loadChunk(int mapX, int mapY) {
+        int entry = this.findEntry(mapX, mapY);
+        if (entry < 0) {
+            return null;
+        }
+
+        int entryOffset = MapFile.HEADER_SIZE + entry * MapFile.ENTRY_SIZE;
+        int encoding = this.buffer.getInt(entryOffset + 8);
+        int offset = this.buffer.getInt(entryOffset + 12);
+        int length = this.buffer.getInt(entryOffset + 16);
+        byte[] tileIds = TILE_IDS.get();
+        if (offset < 0 || length < 0 || (long) offset + length > this.buffer.limit()
+                || !MapFile.decodeTiles(this.buffer, encoding, offset, length, tileIds)) {
+            System.out.println("Error: Incorrect map file chunk data. [" + mapX + ", " + mapY + "]");
+            return null;
+        }
+
+        Chunk chunk = new Chunk(mapX, mapY);
+        chunk.setTileTypeIds(tileIds);
+        return chunk;
+    }
+
+    /**
+     * This method finds the directory entry of a map position with a binary search.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The number of the entry, or {@code -1} if there is none.
+     */
+    private int findEntry(int mapX, int mapY) {
+        if (this.buffer == null) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = this.numChunks - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entryOffset = MapFile.HEADER_SIZE + middle * MapFile.ENTRY_SIZE;
+            int entryX = this.buffer.getInt(entryOffset);
+            int entryY = this.buffer.getInt(entryOffset + 4);
+
+            int comparison = (entryY != mapY) ? Integer.compare(entryY, mapY) : Integer.compare(entryX, mapX);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -6,11 +6,14 @@ import java.awt.Graphics;
  * changes, the hitbox keeps its position relative to the anchor.
  */
 public class RelativeHitbox extends Hitbox {
-    private Vector anchorPosition;
-    private Vector relativePosition;
+    private double anchorX;
+    private double anchorY;
+    private double relX;
+    private double relY;
 
     /**
      * This constructs a {@code RelativeHitbox} object with a position and dimensions.
+     * It does NOT store a reference to either position.
      * @param anchorPosition The anchor position.
      * @param relativePosition The relative position of the top-left of this hitbox.
      * @param width The width of this hitbox.
@@ -18,53 +21,91 @@ public class RelativeHitbox extends Hitbox {
      */
     public RelativeHitbox(Vector anchorPosition, Vector relativePosition, int width, 
             int height) {
-        super(Vector.sum(anchorPosition, relativePosition), width, height);
-        this.anchorPosition = anchorPosition;
-        this.relativePosition = relativePosition;
+        this(anchorPosition.getX(), anchorPosition.getY(), relativePosition.getX(), 
+                relativePosition.getY(), width, height);
+    }
+
+    /**
+     * This constructs a {@code RelativeHitbox} object with a position and dimensions.
+     * @param anchorX The x-coordinate of the anchor position.
+     * @param anchorY The y-coordinate of the anchor position.
+     * @param relX The relative x-coordinate of the top-left of this hitbox.
+     * @param relY The relative y-coordinate of the top-left of this hitbox.
+     * @param width The width of this hitbox.
+     * @param height The height of this hitbox.
+     */
+    public RelativeHitbox(double anchorX, double anchorY, double relX, double relY, 
+            int width, int height) {
+        super(anchorX + relX, anchorY + relY, width, height);
+        this.anchorX = anchorX;
+        this.anchorY = anchorY;
+        this.relX = relX;
+        this.relY = relY;
     }
 
     public int getAnchorX() {
-        return (int) this.anchorPosition.getX();
+        return (int) this.anchorX;
     }
 
     public int getAnchorY() {
-        return (int) this.anchorPosition.getY();
-    
+        return (int) this.anchorY;
     }
+
     public Vector getAnchorPos() {
-        return this.anchorPosition.clone();
+        return new Vector(this.anchorX, this.anchorY);
     }
 
     public int getRelX() {
-        return (int) this.relativePosition.getX();
+        return (int) this.relX;
     }
 
     public int getRelY() {
-        return (int) this.relativePosition.getY();
+        return (int) this.relY;
     }
 
     public Vector getRelPos() {
-        return this.relativePosition.clone();
+        return new Vector(this.relX, this.relY);
     }
     
     public void setAnchorPos(Vector newAnchorPos) {
-        this.anchorPosition = newAnchorPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+        this.setAnchorPos(newAnchorPos.getX(), newAnchorPos.getY());
+    }
+
+    /**
+     * This method moves the anchor, keeping the hitbox at the same position
+     * relative to it.
+     * @param newAnchorX The new x-coordinate of the anchor.
+     * @param newAnchorY The new y-coordinate of the anchor.
+     */
+    public void setAnchorPos(double newAnchorX, double newAnchorY) {
+        this.anchorX = newAnchorX;
+        this.anchorY = newAnchorY;
+        super.setPos(this.anchorX + this.relX, this.anchorY + this.relY);
     }
 
     public void setRelPos(Vector newRelPos) {
-        this.relativePosition = newRelPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+        this.setRelPos(newRelPos.getX(), newRelPos.getY());
+    }
+
+    /**
+     * This method moves the hitbox relative to the anchor.
+     * @param newRelX The new relative x-coordinate.
+     * @param newRelY The new relative y-coordinate.
+     */
+    public void setRelPos(double newRelX, double newRelY) {
+        this.relX = newRelX;
+        this.relY = newRelY;
+        super.setPos(this.anchorX + this.relX, this.anchorY + this.relY);
     }
 
     /**
      * This method sets the anchor to a new position.
-     * @param newPos The new anchor position of this {@code RelativeHitbox}.
+     * @param newX The new x-coordinate of the anchor of this {@code RelativeHitbox}.
+     * @param newY The new y-coordinate of the anchor of this {@code RelativeHitbox}.
      */
     @Override
-    public void setPos(Vector newPos) {
-        this.anchorPosition = newPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+    public void setPos(double newX, double newY) {
+        this.setAnchorPos(newX, newY);
     }
 
     /**
@@ -75,12 +116,12 @@ public class RelativeHitbox extends Hitbox {
         super.drawDebugInfo(graphics);
 
         graphics.setColor(this.getColor());
-        graphics.fillOval((int) this.anchorPosition.getX(), (int) this.anchorPosition.getY(), 2, 2);
+        graphics.fillOval((int) this.anchorX, (int) this.anchorY, 2, 2);
     }
 
     @Override
     public RelativeHitbox clone() {
-        return new RelativeHitbox(this.anchorPosition.clone(), this.relativePosition.clone(), 
+        return new RelativeHitbox(this.anchorX, this.anchorY, this.relX, this.relY, 
                 this.getWidth(), this.getHeight());
     }
 
@@ -92,10 +133,6 @@ public class RelativeHitbox extends Hitbox {
      */
     public void reflectHorizontally(int xLine) {
         xLine -= this.getAnchorX();
-        Vector newRelPos = this.relativePosition.clone();
-        newRelPos.reflectHorizontally(xLine);
-        newRelPos.setX(newRelPos.getX() - this.getWidth());
-
-        this.setRelPos(newRelPos);
+        this.setRelPos(2 * xLine - this.relX - this.getWidth(), this.relY);
     }
 }
@@ -0,0 +1,251 @@
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * This class plays sounds through a fixed number of audio lines, called voices,
+ * so the number of open lines does not grow with the number of objects that make
+ * sounds. When every voice is busy, a new sound takes over the voice playing the
+ * lowest priority sound, and the oldest one if there is a tie. A sound is dropped
+ * if every voice is playing a sound with a higher priority. If no audio lines are
+ * available, sounds are silently skipped.
+ * @see SoundSample
+ */
+public class SoundPool {
+    private static SoundPool instance = null;
+
+    private Voice[] voices;
+    private boolean opened;
+    private long numPlayed;
+    private long numStolen;
+    private long numDropped;
+
+    /**
+     * This constructs a {@code SoundPool} object. The audio lines are not opened
+     * until {@link SoundPool#open} is called, and sounds are dropped until then.
+     * @param numVoices The number of sounds that can play at the same time.
+     */
+    public SoundPool(int numVoices) {
+        this.voices = new Voice[numVoices];
+        this.opened = false;
+        this.numPlayed = 0;
+        this.numStolen = 0;
+        this.numDropped = 0;
+    }
+
+    /**
+     * This method gets the {@code SoundPool} shared by the whole game.
+     * @return The shared {@code SoundPool}.
+     */
+    public static synchronized SoundPool getInstance() {
+        if (instance == null) {
+            instance = new SoundPool(Const.NUM_SOUND_VOICES);
+        }
+        return instance;
+    }
+
+    public long getNumPlayed() {
+        return this.numPlayed;
+    }
+
+    public long getNumStolen() {
+        return this.numStolen;
+    }
+
+    public long getNumDropped() {
+        return this.numDropped;
+    }
+
+    /**
+     * This method opens an audio line for each voice, if they are not open yet.
+     * Voices that cannot get a line are left empty. Opening the lines can take a
+     * while, so this is called when the game starts rather than when the first
+     * sound is played.
+     */
+    public synchronized void open() {
+        if (this.opened) {
+            return;
+        }
+        this.opened = true;
+        for (int i = 0; i < this.voices.length; i++) {
+            try {
+                this.voices[i] = new Voice(AudioSystem.getClip());
+            } catch (LineUnavailableException ex) {
+                System.out.println("Error: Audio line unavailable.");
+                return;
+            } catch (IllegalArgumentException ex) {
+                System.out.println("Error: No audio device found.");
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method plays a sound on one of the voices.
+     * @param sample The sound to play.
+     * @param priority The priority of the sound. Higher priority sounds can cut off lower priority sounds.
+     */
+    public synchronized void play(SoundSample sample, int priority) {
+        if (!sample.checkPlayable()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Voice voice = this.chooseVoice(sample, priority, now);
+        if (voice == null) {
+            this.numDropped++;
+            return;
+        }
+        if (voice.checkBusy(now)) {
+            this.numStolen++;
+        }
+
+        if (voice.play(sample, priority, now)) {
+            this.numPlayed++;
+        } else {
+            this.numDropped++;
+        }
+    }
+
+    /**
+     * This method chooses the voice to play a sound on. A free voice that already
+     * has the sound loaded is preferred, then any free voice, then the busy voice
+     * with the lowest priority that started the earliest.
+     * @param sample The sound to play.
+     * @param priority The priority of the sound.
+     * @param now The current time in nanoseconds.
+     * @return The chosen voice, or {@code null} if no voice can be used.
+     */
+    private Voice chooseVoice(SoundSample sample, int priority, long now) {
+        Voice freeVoice = null;
+        Voice stolenVoice = null;
+
+        for (Voice voice: this.voices) {
+            if (voice == null) {
+                continue;
+            }
+
+            if (!voice.checkBusy(now)) {
+                if (voice.getSample() == sample) {
+                    return voice;
+                }
+                if (freeVoice == null) {
+                    freeVoice = voice;
+                }
+            } else if (voice.getPriority() <= priority) {
+                if (stolenVoice == null || voice.getPriority() < stolenVoice.getPriority() ||
+                        (voice.getPriority() == stolenVoice.getPriority() &&
+                        voice.getStartTime() < stolenVoice.getStartTime())) {
+                    stolenVoice = voice;
+                }
+            }
+        }
+
+        if (freeVoice != null) {
+            return freeVoice;
+        }
+        return stolenVoice;
+    }
+
+    /**
+     * This method stops every voice and closes the audio lines. Sounds are
+     * dropped until the lines are opened again.
+     */
+    public synchronized void close() {
+        for (int i = 0; i < this.voices.length; i++) {
+            if (this.voices[i] != null) {
+                this.voices[i].close();
+                this.voices[i] = null;
+            }
+        }
+        this.opened = false;
+    }
+
+    /**
+     * This class represents one audio line in the {@code SoundPool}. It keeps the
+     * last sound loaded into the line, so playing the same sound again does not
+     * need to copy the data again.
+     */
+    private static class Voice {
+        private Clip clip;
+        private SoundSample sample;
+        private int priority;
+        private long startTime;
+        private long endTime;
+
+        Voice(Clip clip) {
+            this.clip = clip;
+            this.sample = null;
+            this.priority = 0;
+            this.startTime = 0;
+            this.endTime = 0;
+        }
+
+        SoundSample getSample() {
+            return this.sample;
+        }
+
+        int getPriority() {
+            return this.priority;
+        }
+
+        long getStartTime() {
+            return this.startTime;
+        }
+
+        /**
+         * This method checks if this voice is still playing a sound.
+         * @param now The current time in nanoseconds.
+         * @return {@code true} if it is playing, {@code false} otherwise.
+         */
+        boolean checkBusy(long now) {
+            return now < this.endTime;
+        }
+
+        /**
+         * This method plays a sound from the beginning, cutting off any sound
+         * that is playing.
+         * @param newSample The sound to play.
+         * @param newPriority The priority of the sound.
+         * @param now The current time in nanoseconds.
+         * @return {@code true} if the sound started, {@code false} if it could not be loaded.
+         */
+        boolean play(SoundSample newSample, int newPriority, long now) {
+            this.clip.stop();
+            this.clip.flush();
+
+            // Load the sound into the line if a different one is loaded.
+            if (this.sample != newSample) {
+                this.clip.close();
+                this.sample = null;
+                try {
+                    byte[] data = newSample.getData();
+                    this.clip.open(newSample.getFormat(), data, 0, data.length);
+                } catch (LineUnavailableException ex) {
+                    System.out.println("Error: Audio line unavailable.");
+                    return false;
+                } catch (IllegalArgumentException ex) {
+                    System.out.println("Error: Unsupported sound format. [" + newSample.getName() + "]");
+                    return false;
+                }
+                this.sample = newSample;
+            }
+
+            this.clip.setFramePosition(0);
+            this.clip.start();
+
+            this.priority = newPriority;
+            this.startTime = now;
+            this.endTime = now + newSample.getDurationNanos();
+            return true;
+        }
+
+        void close() {
+            this.clip.stop();
+            this.clip.close();
+            this.sample = null;
+            this.endTime = 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+import java.io.File;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import java.util.HashMap;
+
+import java.io.IOException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * This class stores a sound that has been decoded into raw PCM data. Each sound
+ * file is only decoded once, and the data is shared by every voice of the
+ * {@code SoundPool} that plays it.
+ * @see SoundPool
+ */
+public class SoundSample {
+    // The decoded samples, by file name.
+    private static final HashMap<String, SoundSample> SAMPLES = new HashMap<String, SoundSample>();
+
+    private String name;
+    private AudioFormat format;
+    private byte[] data;
+    private long durationNanos;
+
+    /**
+     * This constructs a {@code SoundSample} object by decoding a WAV file. If
+     * the file cannot be decoded, the sample is empty.
+     * @param soundName The sound file name.
+     */
+    private SoundSample(String soundName) {
+        this.name = soundName;
+        this.format = null;
+        this.data = new byte[0];
+        this.durationNanos = 0;
+
+        // Sounds are never played without a display, so they are left empty.
+        if (Const.HEADLESS) {
+            return;
+        }
+
+        try {
+            AudioInputStream audioStream = AudioSystem.getAudioInputStream(new File(soundName));
+            this.format = audioStream.getFormat();
+            this.data = audioStream.readAllBytes();
+            audioStream.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Sound file not found. [" + soundName + "]");
+            return;
+        } catch (UnsupportedAudioFileException ex) {
+            System.out.println("Error: Unsupported sound file. [" + soundName + "]");
+            return;
+        }
+
+        // Calculate how long the sound plays for.
+        long numFrames = this.data.length / this.format.getFrameSize();
+        this.durationNanos = (long) (numFrames * 1e9 / this.format.getFrameRate());
+    }
+
+    /**
+     * This method gets the shared {@code SoundSample} of a sound file. The file
+     * is only decoded the first time this method is called with it.
+     * @param soundName The sound file name.
+     * @return The decoded {@code SoundSample}.
+     */
+    public static synchronized SoundSample getInstance(String soundName) {
+        SoundSample sample = SAMPLES.get(soundName);
+        if (sample == null) {
+            sample = new SoundSample(soundName);
+            SAMPLES.put(soundName, sample);
+        }
+        return sample;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public AudioFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * This method gets a reference to the PCM data of this {@code SoundSample}.
+     * It should not be modified.
+     * @return The decoded bytes.
+     */
+    public byte[] getData() {
+        return this.data;
+    }
+
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * This method checks if this {@code SoundSample} has any sound to play.
+     * @return {@code true} if it was decoded and is not empty, {@code false} otherwise.
+     */
+    public boolean checkPlayable() {
+        return this.format != null && this.data.length > 0;
+    }
+}
@@ -0,0 +1,265 @@
+import java.util.Arrays;
+
+/**
+ * This class is a uniform grid that finds which boxes are near each other. Each
+ * box is added to every cell of the grid it covers, and a query only returns the
+ * boxes that share a cell with the query box. It is used as a broadphase, so the
+ * detailed hitbox checks only run for pairs of objects that are close together.
+ * <p>
+ * The grid is meant to be cleared and filled again every update. The cells are
+ * stored in an open addressing hash table keyed by the packed cell position, and
+ * the boxes in each cell are stored as linked lists in arrays, so clearing and
+ * filling the grid does not allocate once the arrays are large enough.
+ * </p>
+ * @see ChunkIndex
+ */
+public class SpatialHash {
+    private static final int DEFAULT_CAPACITY = 64;
+    // The cell table grows once it is more than this fraction full.
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    // Marks the end of the list of boxes in a cell.
+    private static final int NO_NODE = -1;
+
+    private int cellSize;
+
+    // The cells, valid only when their stamp matches the current stamp.
+    private long[] cellKeys;
+    private int[] cellHeads;
+    private int[] cellStamps;
+    private int numCells;
+    private int stamp;
+
+    // The boxes in each cell, as linked lists.
+    private int[] nodeIds;
+    private int[] nodeNext;
+    private int numNodes;
+
+    // The results of the last query. Each id is only returned once per query.
+    private int[] idStamps;
+    private int queryStamp;
+    private int[] results;
+    private int numResults;
+
+    /**
+     * This constructs an empty {@code SpatialHash} object.
+     * @param cellSize The width and height of each cell. It should be around the size of the boxes added.
+     */
+    public SpatialHash(int cellSize) {
+        this.cellSize = cellSize;
+
+        this.cellKeys = new long[DEFAULT_CAPACITY];
+        this.cellHeads = new int[DEFAULT_CAPACITY];
+        this.cellStamps = new int[DEFAULT_CAPACITY];
+        this.numCells = 0;
+        this.stamp = 1;
+
+        this.nodeIds = new int[DEFAULT_CAPACITY];
+        this.nodeNext = new int[DEFAULT_CAPACITY];
+        this.numNodes = 0;
+
+        this.idStamps = new int[DEFAULT_CAPACITY];
+        this.queryStamp = 0;
+        this.results = new int[DEFAULT_CAPACITY];
+        this.numResults = 0;
+    }
+
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    public int getNumCells() {
+        return this.numCells;
+    }
+
+    /**
+     * This method removes every box. The memory is kept for the next time the
+     * grid is filled.
+     */
+    public void clear() {
+        this.numCells = 0;
+        this.numNodes = 0;
+        this.stamp++;
+
+        // Start over once the stamp wraps around, so old cells are not mistaken for new ones.
+        if (this.stamp == 0) {
+            Arrays.fill(this.cellStamps, 0);
+            this.stamp = 1;
+        }
+    }
+
+    /**
+     * This method adds a box to every cell it covers.
+     * @param id The id of the box. It should be small and non-negative, such as an index into a list.
+     * @param left The left x-coordinate of the box.
+     * @param top The top y-coordinate of the box.
+     * @param right The right x-coordinate of the box.
+     * @param bottom The bottom y-coordinate of the box.
+     */
+    public void insert(int id, int left, int top, int right, int bottom) {
+        if (id >= this.idStamps.length) {
+            this.idStamps = Arrays.copyOf(this.idStamps, Math.max(id + 1, this.idStamps.length * 2));
+        }
+
+        int minCellX = Math.floorDiv(left, this.cellSize);
+        int maxCellX = Math.floorDiv(right, this.cellSize);
+        int minCellY = Math.floorDiv(top, this.cellSize);
+        int maxCellY = Math.floorDiv(bottom, this.cellSize);
+
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                int slot = this.findOrAddCell(ChunkIndex.packKey(cellX, cellY));
+                this.addNode(slot, id);
+            }
+        }
+    }
+
+    /**
+     * This method finds the boxes that share a cell with a query box. The ids
+     * found are read with {@link SpatialHash#getResult}, and are in no particular order.
+     * @param left The left x-coordinate of the query box.
+     * @param top The top y-coordinate of the query box.
+     * @param right The right x-coordinate of the query box.
+     * @param bottom The bottom y-coordinate of the query box.
+     * @return The number of ids found.
+     */
+    public int query(int left, int top, int right, int bottom) {
+        this.numResults = 0;
+        this.queryStamp++;
+        if (this.queryStamp == 0) {
+            Arrays.fill(this.idStamps, 0);
+            this.queryStamp = 1;
+        }
+
+        int minCellX = Math.floorDiv(left, this.cellSize);
+        int maxCellX = Math.floorDiv(right, this.cellSize);
+        int minCellY = Math.floorDiv(top, this.cellSize);
+        int maxCellY = Math.floorDiv(bottom, this.cellSize);
+
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                int slot = this.findCell(ChunkIndex.packKey(cellX, cellY));
+                if (slot < 0) {
+                    continue;
+                }
+
+                // Record each id in the cell the first time it is found.
+                for (int node = this.cellHeads[slot]; node != NO_NODE; node = this.nodeNext[node]) {
+                    int id = this.nodeIds[node];
+                    if (this.idStamps[id] != this.queryStamp) {
+                        this.idStamps[id] = this.queryStamp;
+                        this.addResult(id);
+                    }
+                }
+            }
+        }
+        return this.numResults;
+    }
+
+    /**
+     * This method gets an id found by the last query.
+     * @param index The index of the result, less than the number returned by the query.
+     * @return The id of the box.
+     */
+    public int getResult(int index) {
+        return this.results[index];
+    }
+
+    /**
+     * This method finds the slot of a cell in the table.
+     * @param key The packed cell position.
+     * @return The slot of the cell, or {@code -1} if the cell is empty.
+     */
+    private int findCell(long key) {
+        int mask = this.cellKeys.length - 1;
+        for (int slot = ChunkIndex.hash(key) & mask; this.cellStamps[slot] == this.stamp; 
+                slot = (slot + 1) & mask) {
+            if (this.cellKeys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method finds the slot of a cell in the table, adding the cell if it
+     * is not there yet.
+     * @param key The packed cell position.
+     * @return The slot of the cell.
+     */
+    private int findOrAddCell(long key) {
+        int mask = this.cellKeys.length - 1;
+        int slot = ChunkIndex.hash(key) & mask;
+        while (this.cellStamps[slot] == this.stamp) {
+            if (this.cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if ((this.numCells + 1) > this.cellKeys.length * MAX_LOAD_FACTOR) {
+            this.resize(this.cellKeys.length * 2);
+            return this.findOrAddCell(key);
+        }
+
+        this.cellKeys[slot] = key;
+        this.cellHeads[slot] = NO_NODE;
+        this.cellStamps[slot] = this.stamp;
+        this.numCells++;
+        return slot;
+    }
+
+    /**
+     * This method adds a box to the front of the list of a cell.
+     * @param slot The slot of the cell.
+     * @param id The id of the box.
+     */
+    private void addNode(int slot, int id) {
+        if (this.numNodes == this.nodeIds.length) {
+            this.nodeIds = Arrays.copyOf(this.nodeIds, this.numNodes * 2);
+            this.nodeNext = Arrays.copyOf(this.nodeNext, this.numNodes * 2);
+        }
+
+        this.nodeIds[this.numNodes] = id;
+        this.nodeNext[this.numNodes] = this.cellHeads[slot];
+        this.cellHeads[slot] = this.numNodes;
+        this.numNodes++;
+    }
+
+    private void addResult(int id) {
+        if (this.numResults == this.results.length) {
+            this.results = Arrays.copyOf(this.results, this.numResults * 2);
+        }
+        this.results[this.numResults] = id;
+        this.numResults++;
+    }
+
+    /**
+     * This method moves the current cells into a larger table.
+     * @param newCapacity The new capacity, a power of two.
+     */
+    private void resize(int newCapacity) {
+        long[] oldKeys = this.cellKeys;
+        int[] oldHeads = this.cellHeads;
+        int[] oldStamps = this.cellStamps;
+        int oldStamp = this.stamp;
+
+        this.cellKeys = new long[newCapacity];
+        this.cellHeads = new int[newCapacity];
+        this.cellStamps = new int[newCapacity];
+        this.stamp = 1;
+
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] != oldStamp) {
+                continue;
+            }
+            int slot = ChunkIndex.hash(oldKeys[i]) & mask;
+            while (this.cellStamps[slot] == this.stamp) {
+                slot = (slot + 1) & mask;
+            }
+            this.cellKeys[slot] = oldKeys[i];
+            this.cellHeads[slot] = oldHeads[i];
+            this.cellStamps[slot] = this.stamp;
+        }
+    }
+}
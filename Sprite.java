@@ -1,6 +1,8 @@
 import java.awt.Graphics;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.DataInputStream;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 
@@ -31,7 +33,7 @@ public class Sprite implements Drawable {
         
         // Load the image from file.
         this.originalImage = tryLoadImage(picName);
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -50,7 +52,7 @@ public class Sprite implements Drawable {
         this.relPosition = Vector.VECTOR_ZERO.clone();
 
         this.originalImage = pic;
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -69,7 +71,7 @@ public class Sprite implements Drawable {
         this.relPosition = Vector.VECTOR_ZERO.clone();
 
         this.originalImage = pic;
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = this.originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -77,11 +79,16 @@ public class Sprite implements Drawable {
     }
 
     /**
-     * This method attempts to create a {@code BufferedImage} object.
+     * This method attempts to create a {@code BufferedImage} object. Without a
+     * display, a blank image of the same size is created instead.
      * @param picName The file name of the image.
      * @return A {@code BufferedImage} object of the image if no errors occur, {@code null} otherwise.
      */
     public static BufferedImage tryLoadImage(String picName) {
+        if (Const.HEADLESS) {
+            return createPlaceholderImage(picName);
+        }
+
         BufferedImage image;
         try {
             image = ImageIO.read(new File(picName));
@@ -93,6 +100,35 @@ public class Sprite implements Drawable {
         return image;
     }
 
+    /**
+     * This method creates a blank image with the same size as a PNG file without
+     * decoding the file. The size is read from the header of the file, so the
+     * frames and hitboxes that depend on it are the same as with the real image.
+     * @param picName The file name of the PNG image.
+     * @return A blank {@code BufferedImage} object if no errors occur, {@code null} otherwise.
+     */
+    public static BufferedImage createPlaceholderImage(String picName) {
+        int width;
+        int height;
+        try {
+            DataInputStream input = new DataInputStream(new FileInputStream(picName));
+            // Skip the signature and the length and type of the header chunk.
+            input.skipBytes(16);
+            width = input.readInt();
+            height = input.readInt();
+            input.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Image file not found. [" + picName + "]");
+            return null;
+        }
+
+        if (width <= 0 || height <= 0) {
+            System.out.println("Error: Unsupported image file. [" + picName + "]");
+            return null;
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+    }
+
     public int getX() {
         return (int) this.position.getX();
     }
@@ -165,11 +201,29 @@ public class Sprite implements Drawable {
         graphics.drawImage(this.image, (int) position.getX(), (int) position.getY(), null);
     }
 
+    /**
+     * This method draws this {@code Sprite} onto a surface at a coordinate.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param x The top-left x-coordinate to draw this {@code Sprite}.
+     * @param y The top-left y-coordinate to draw this {@code Sprite}.
+     */
+    public void draw(Graphics graphics, int x, int y) {
+        graphics.drawImage(this.image, x, y, null);
+    }
+
     public boolean checkReflectedHorizontally() {
         return this.image == this.reflectedImage;
     }
 
+    /**
+     * This method reflects this {@code Sprite} over a vertical line. The reflected
+     * image is made the first time this method is called.
+     * @param xLine The vertical line to reflect across.
+     */
     public void reflectHorizontally(int xLine) {
+        if (this.reflectedImage == null) {
+            this.reflectedImage = reflectHorizontally(this.originalImage);
+        }
         if (!this.checkReflectedHorizontally()) {
             this.image = this.reflectedImage;
         } else {
@@ -180,14 +234,27 @@ public class Sprite implements Drawable {
         this.relPosition.setX(this.getRelX() - this.getWidth());
     }
 
+    /**
+     * This method creates a copy of an image that is reflected horizontally.
+     * The pixels are copied one row at a time.
+     * @param image The image to reflect.
+     * @return A new reflected {@code BufferedImage}.
+     */
     public static BufferedImage reflectHorizontally(BufferedImage image) {
-        BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        BufferedImage newImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                int colour = image.getRGB(x, y);
-                newImage.setRGB(image.getWidth() - x - 1, y, colour);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            // Swap the pixels from the ends of the row towards the middle.
+            for (int left = 0, right = width - 1; left < right; left++, right--) {
+                int colour = row[left];
+                row[left] = row[right];
+                row[right] = colour;
             }
+            newImage.setRGB(0, y, width, 1, row, 0, width);
         }
 
         return newImage;
@@ -12,7 +12,8 @@ public class Sword extends Entity implements Collidable {
     private AnimationCycle attackCycle;
     private AnimationCycle idleCycle;
 
-    private Sound swingSound;
+    private SoundSample swingSound;
+    private int soundPriority;
 
     private int direction;
     private int damagePoints;
@@ -34,7 +35,8 @@ public class Sword extends Entity implements Collidable {
 
         this.activeCycle = this.idleCycle;
 
-        this.swingSound = new Sound(Const.SWING_SOUND_FILE_NAME);
+        this.swingSound = SoundSample.getInstance(Const.SWING_SOUND_FILE_NAME);
+        this.soundPriority = Const.ENEMY_SOUND_PRIORITY;
 
         this.direction = Const.LEFT;
         this.damagePoints = swordDamagePoints;
@@ -78,7 +80,7 @@ public class Sword extends Entity implements Collidable {
             this.activeCycle.reset();
             this.attackCycle.reset();
             this.activeCycle = idleCycle;
-            this.activeCycle.setPos(this.getPos());
+            this.activeCycle.setPos(this.getX(), this.getY());
         }
     }
 
@@ -119,13 +121,13 @@ public class Sword extends Entity implements Collidable {
 
     @Override
     public int getCenterX() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
+        Hitbox generalHitbox = this.activeCycle.getGeneralHitbox();
         return generalHitbox.getX() + generalHitbox.getWidth() / 2;
     }
 
     @Override
     public int getCenterY() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
+        Hitbox generalHitbox = this.activeCycle.getGeneralHitbox();
         return generalHitbox.getY() + generalHitbox.getHeight() / 2;
     }
 
@@ -139,6 +141,10 @@ public class Sword extends Entity implements Collidable {
         return this.activeCycle.getGeneralHitbox().clone();
     }
 
+    public AnimationCycle getActiveCycle() {
+        return this.activeCycle;
+    }
+
     public int getDamage() {
         return this.damagePoints;
     }
@@ -147,10 +153,19 @@ public class Sword extends Entity implements Collidable {
         this.damagePoints = newSwordDamage;
     }
 
+    /**
+     * This method sets the priority of the swing sound of this {@code Sword}.
+     * @param newSoundPriority The new priority.
+     * @see SoundPool#play
+     */
+    public void setSoundPriority(int newSoundPriority) {
+        this.soundPriority = newSoundPriority;
+    }
+
     @Override
-    public void setPos(Vector newPos) {
-        super.setPos(newPos);
-        this.activeCycle.setPos(newPos);
+    public void setPos(double newX, double newY) {
+        super.setPos(newX, newY);
+        this.activeCycle.setPos(newX, newY);
     }
 
     /**
@@ -167,7 +182,7 @@ public class Sword extends Entity implements Collidable {
     public void attack() {
         if (!this.checkAttacking()) {
             this.activeCycle = this.attackCycle;
-            this.swingSound.start();
+            SoundPool.getInstance().play(this.swingSound, this.soundPriority);
         }
     }
 
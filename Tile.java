@@ -60,17 +60,10 @@ public class Tile implements Drawable, Debuggable, Collidable {
         this.hitbox = new Hitbox(position, LENGTH, LENGTH);
 
         // Determine the sprite and whether it is solid or not.
-        switch (type) {
-            case SAND:
-                this.sprite = Const.SAND_TILE_SPRITE;
-                this.solid = false;
-                break;
-            case ROCK:
-                this.sprite = Const.ROCK_TILE_SPRITE;
-                this.solid = true;
-                this.hitbox.setColor(Const.BLUE);
-                break;
-        }
+        TileType tileType = TileType.fromSymbol(type);
+        this.sprite = tileType.getSprite();
+        this.solid = tileType.checkSolid();
+        this.hitbox.setColor(tileType.getDebugColor());
     }
 
     public void setSolidState(boolean isSolid) {
@@ -90,7 +83,9 @@ public class Tile implements Drawable, Debuggable, Collidable {
      */
     @Override
     public void draw(Graphics graphics) {
-        this.sprite.draw(graphics, this.position);
+        if (this.sprite != null) {
+            this.sprite.draw(graphics, this.position);
+        }
     }
 
     /**
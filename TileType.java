@@ -0,0 +1,98 @@
+import java.awt.Color;
+
+/**
+ * This class represents a type of {@code Tile}. There is only one {@code TileType}
+ * object for each type, and it stores what every tile of that type shares: the
+ * sprite, whether it is solid, and the colour of its debug hitbox. A {@code Chunk}
+ * only stores the id of the type of each tile.
+ * @see Tile
+ * @see Chunk
+ */
+public class TileType {
+    public static final TileType UNKNOWN = new TileType(0, Tile.UNKNOWN, null, false, Const.RED);
+    public static final TileType SAND = new TileType(1, Tile.SAND, Const.SAND_TILE_SPRITE, false, Const.RED);
+    public static final TileType ROCK = new TileType(2, Tile.ROCK, Const.ROCK_TILE_SPRITE, true, Const.BLUE);
+
+    // All tile types, indexed by id.
+    private static final TileType[] TYPES = {UNKNOWN, SAND, ROCK};
+
+    private byte id;
+    private char symbol;
+    private Sprite sprite;
+    private boolean solid;
+    private Color debugColor;
+
+    /**
+     * This constructs a {@code TileType} object.
+     * @param id The id stored in a {@code Chunk} for this type.
+     * @param symbol The character used for this type in chunk files.
+     * @param sprite The sprite drawn for tiles of this type, or {@code null} to draw nothing.
+     * @param solid Whether tiles of this type collide with entities.
+     * @param debugColor The colour of the hitbox outline in debug mode.
+     */
+    private TileType(int id, char symbol, Sprite sprite, boolean solid, Color debugColor) {
+        this.id = (byte) id;
+        this.symbol = symbol;
+        this.sprite = sprite;
+        this.solid = solid;
+        this.debugColor = debugColor;
+    }
+
+    public byte getId() {
+        return this.id;
+    }
+
+    public char getSymbol() {
+        return this.symbol;
+    }
+
+    public Sprite getSprite() {
+        return this.sprite;
+    }
+
+    public Color getDebugColor() {
+        return this.debugColor;
+    }
+
+    /**
+     * This method checks whether tiles of this type are solid.
+     * @return {@code true} if they are solid, {@code false} otherwise.
+     */
+    public boolean checkSolid() {
+        return this.solid;
+    }
+
+    /**
+     * This method gets the {@code TileType} with an id.
+     * @param id The id of the type.
+     * @return The {@code TileType} with the id, {@link TileType#UNKNOWN} if the id is invalid.
+     */
+    public static TileType fromId(byte id) {
+        if (0 <= id && id < TYPES.length) {
+            return TYPES[id];
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * This method gets the {@code TileType} with a chunk file symbol.
+     * @param symbol The character used for the type in chunk files.
+     * @return The {@code TileType} with the symbol, {@link TileType#UNKNOWN} if there is none.
+     */
+    public static TileType fromSymbol(char symbol) {
+        for (TileType type: TYPES) {
+            if (type.getSymbol() == symbol) {
+                return type;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * This method returns the chunk file symbol of this {@code TileType}.
+     */
+    @Override
+    public String toString() {
+        return Character.toString(this.symbol);
+    }
+}
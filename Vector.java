@@ -1,3 +1,5 @@
+import java.util.Random;
+
 /**
  * This class represents a 2-dimensional vector with double precision.
  */
@@ -169,6 +171,26 @@ public class Vector {
         this.y = y;
     }
 
+    /**
+     * This method sets both coordinates of this {@code Vector}.
+     * @param x The new x-coordinate.
+     * @param y The new y-coordinate.
+     */
+    public void setTo(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * This method sets this {@code Vector} to the same coordinate as another 
+     * {@code Vector}. It does NOT store a reference to the other {@code Vector}.
+     * @param other The {@code Vector} to copy.
+     */
+    public void setTo(Vector other) {
+        this.x = other.getX();
+        this.y = other.getY();
+    }
+
     /**
      * This method sets this {@code Vector} to the specified length.
      * @param length The new length of this {@code Vector}.
@@ -176,7 +198,7 @@ public class Vector {
     public void setLength(double length) {
         double magnitude = this.getMagnitude();
         if (Double.compare(magnitude, 0.0) != 0) {
-            this.scale(length / this.getMagnitude());
+            this.scale(length / magnitude);
         } else {
             this.scale(0);
         }
@@ -237,6 +259,32 @@ public class Vector {
         return tmp;
     }
 
+    /**
+     * This method stores the sum of two {@code Vector}s in another {@code Vector},
+     * without creating a new one. The output can be one of the inputs.
+     * @param v1 The first {@code Vector}.
+     * @param v2 The second {@code Vector}.
+     * @param out The {@code Vector} to store the sum in.
+     * @return {@code out}, to chain calls.
+     */
+    public static Vector sumInto(Vector v1, Vector v2, Vector out) {
+        out.setTo(v1.getX() + v2.getX(), v1.getY() + v2.getY());
+        return out;
+    }
+
+    /**
+     * This method stores the difference of two {@code Vector}s in another 
+     * {@code Vector}, without creating a new one. The output can be one of the inputs.
+     * @param v1 The first {@code Vector}.
+     * @param v2 The second {@code Vector}.
+     * @param out The {@code Vector} to store {@code v1 - v2} in.
+     * @return {@code out}, to chain calls.
+     */
+    public static Vector differenceInto(Vector v1, Vector v2, Vector out) {
+        out.setTo(v1.getX() - v2.getX(), v1.getY() - v2.getY());
+        return out;
+    }
+
     /**
      * This method calculates the Manhattan distance between two {@code Vector}s.
      * The Manhattan distance is the sum of the differences in the X and Y values.
@@ -265,6 +313,19 @@ public class Vector {
         return distance;
     }
 
+    /**
+     * This method calculates the Euclidean distance between two coordinates.
+     * @param x1 The x-coordinate of the first coordinate.
+     * @param y1 The y-coordinate of the first coordinate.
+     * @param x2 The x-coordinate of the second coordinate.
+     * @param y2 The y-coordinate of the second coordinate.
+     * @return The Euclidean distance as a {@code double}.
+     * @see Vector#getEuclideanDistanceFrom(Vector, Vector)
+     */
+    public static double getEuclideanDistanceFrom(double x1, double y1, double x2, double y2) {
+        return Math.sqrt(getSquareEuclideanDistanceFrom(x1, y1, x2, y2));
+    }
+
     /**
      * This method calculates whether two {@code Vector}s are within a certain 
      * distance of each other. It uses Euclidean distance, but is faster since it
@@ -277,7 +338,24 @@ public class Vector {
      * they are farther than the distance. 
      */
     public static int compareDistance(Vector pos1, Vector pos2, double checkDistance) {
-        double squareDistance = getSquareEuclideanDistanceFrom(pos1, pos2);
+        return compareDistance(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY(), checkDistance);
+    }
+
+    /**
+     * This method calculates whether two coordinates are within a certain distance
+     * of each other, without using {@code Math.sqrt}.
+     * @param x1 The x-coordinate of the first coordinate.
+     * @param y1 The y-coordinate of the first coordinate.
+     * @param x2 The x-coordinate of the second coordinate.
+     * @param y2 The y-coordinate of the second coordinate.
+     * @param checkDistance The distance to compare to.
+     * @return A negative integer if the coordinates are closer than the specified 
+     * distance, {@code 0} if they are exactly the distance, and a positive integer if 
+     * they are farther than the distance. 
+     * @see Vector#compareDistance(Vector, Vector, double)
+     */
+    public static int compareDistance(double x1, double y1, double x2, double y2, double checkDistance) {
+        double squareDistance = getSquareEuclideanDistanceFrom(x1, y1, x2, y2);
         double squareCheckDistance = checkDistance * checkDistance;
         return Double.compare(squareDistance, squareCheckDistance);
     }
@@ -290,8 +368,20 @@ public class Vector {
      * @return The square of the Euclidean distance as a {@code double}.
      */
     public static double getSquareEuclideanDistanceFrom(Vector pos1, Vector pos2) {
-        double deltaX = pos1.getX() - pos2.getX();
-        double deltaY = pos1.getY() - pos2.getY();
+        return getSquareEuclideanDistanceFrom(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY());
+    }
+
+    /**
+     * This method calculates the Euclidean distance squared between two coordinates.
+     * @param x1 The x-coordinate of the first coordinate.
+     * @param y1 The y-coordinate of the first coordinate.
+     * @param x2 The x-coordinate of the second coordinate.
+     * @param y2 The y-coordinate of the second coordinate.
+     * @return The square of the Euclidean distance as a {@code double}.
+     */
+    public static double getSquareEuclideanDistanceFrom(double x1, double y1, double x2, double y2) {
+        double deltaX = x1 - x2;
+        double deltaY = y1 - y2;
 
         double squareDistance = deltaX * deltaX + deltaY * deltaY;
         return squareDistance;
@@ -299,19 +389,37 @@ public class Vector {
 
     /**
      * This method generates a vector with random integer x and y values.
+     * @param random The random number generator to use.
      * @param minX The minimum value the x value can be.
      * @param maxX The maximum value the x value can be.
      * @param minY The minimum value the y value can be.
      * @param maxY The maximum value the y value can be.
      * @return A new {@code Vector} object at the randomized coordinate.
      */
-    public static Vector getRandomInstance(int minX, int maxX, int minY, int maxY) {
+    public static Vector getRandomInstance(Random random, int minX, int maxX, int minY, int maxY) {
+        return randomInto(random, minX, maxX, minY, maxY, new Vector());
+    }
+
+    /**
+     * This method stores random integer x and y values in a {@code Vector},
+     * without creating a new one.
+     * @param random The random number generator to use.
+     * @param minX The minimum value the x value can be.
+     * @param maxX The maximum value the x value can be.
+     * @param minY The minimum value the y value can be.
+     * @param maxY The maximum value the y value can be.
+     * @param out The {@code Vector} to store the randomized coordinate in.
+     * @return {@code out}, to chain calls.
+     * @see Vector#getRandomInstance
+     */
+    public static Vector randomInto(Random random, int minX, int maxX, int minY, int maxY, Vector out) {
         int rangeX = maxX - minX + 1;
         int rangeY = maxY - minY + 1;
-        int x = (int) (rangeX * Math.random() + minX);
-        int y = (int) (rangeY * Math.random() + minY);
+        int x = (int) (rangeX * random.nextDouble() + minX);
+        int y = (int) (rangeY * random.nextDouble() + minY);
 
-        return new Vector(x, y);
+        out.setTo(x, y);
+        return out;
     }
 
     /**
@@ -107,6 +107,14 @@ public class Window {
         return 1000 / this.drawLoop.getDelay();
     }
 
+    /**
+     * This method gets the time between window redraws.
+     * @return The frame period in milliseconds.
+     */
+    public int getFramePeriod() {
+        return this.drawLoop.getDelay();
+    }
+
     /**
      * This method set the frames-per-second for the window. Due to integer rounding
      * and computer performance, the actual FPS may differ.
@@ -0,0 +1,408 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+
+import java.nio.file.Files;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import java.io.IOException;
+
+import benchmarks.Operation;
+import benchmarks.OperationFactory;
+
+/**
+ * This class creates the operations measured by the benchmarks in the
+ * {@code benchmarks} package, since only classes in the default package can
+ * use the game.
+ * <p>
+ * The map operations run on square maps of random chunks, which are written as
+ * chunk files and as a binary map into a temporary directory. Each map is only
+ * written once per run, and is deleted when the run ends.
+ * </p>
+ * @see OperationFactory
+ */
+public class BenchmarkOperations implements OperationFactory {
+    // The seed of every random choice, so each run measures the same thing.
+    private static final long SEED = 1;
+    // The fraction of tiles that are rocks in the generated maps.
+    private static final double ROCK_DENSITY = 0.1;
+    private static final String CHUNK_FILE_NAME = "assets/map/chunks/chunk -1 -1.txt";
+
+    // The names of the text maps written so far, by map size.
+    private HashMap<Integer, String> textMapFileNames;
+
+    /**
+     * This constructs a {@code BenchmarkOperations} object.
+     */
+    public BenchmarkOperations() {
+        this.textMapFileNames = new HashMap<Integer, String>();
+    }
+
+    @Override
+    public Operation createHitboxIntersects(int numEnemies) {
+        final Hitbox playerHitbox = new Hitbox(0, 0, 40, 68);
+        final Hitbox[] enemyHitboxes = createEnemyHitboxes(numEnemies);
+
+        return new Operation() {
+            public long run() {
+                long numHits = 0;
+                for (Hitbox enemyHitbox: enemyHitboxes) {
+                    if (playerHitbox.intersects(enemyHitbox)) {
+                        numHits++;
+                    }
+                }
+                return numHits;
+            }
+        };
+    }
+
+    @Override
+    public Operation createFrameIntersects(int numEnemies) {
+        final AnimationFrame swordFrame = AnimationTemplate.getInstance(Const.SWORD_ATTACK_SPRITE_SHEET,
+                Const.SWORD_ATTACK_FILE_NAME).getFrame(0);
+        AnimationTemplate enemyTemplate = AnimationTemplate.getInstance(Const.ENEMY_WALK_SPRITE_SHEET,
+                Const.ENEMY_WALK_FILE_NAME);
+
+        // Each enemy plays a random frame and faces a random way.
+        Random random = new Random(SEED);
+        final AnimationFrame[] enemyFrames = new AnimationFrame[numEnemies];
+        final double[] enemyX = new double[numEnemies];
+        final double[] enemyY = new double[numEnemies];
+        final boolean[] enemyReflected = new boolean[numEnemies];
+        for (int i = 0; i < numEnemies; i++) {
+            enemyFrames[i] = enemyTemplate.getFrame(random.nextInt(enemyTemplate.getNumFrames()));
+            enemyX[i] = random.nextInt(400) - 200;
+            enemyY[i] = random.nextInt(400) - 200;
+            enemyReflected[i] = random.nextBoolean();
+        }
+
+        return new Operation() {
+            public long run() {
+                long numHits = 0;
+                for (int i = 0; i < enemyFrames.length; i++) {
+                    if (swordFrame.intersects(0, 0, false, enemyFrames[i],
+                            enemyX[i], enemyY[i], enemyReflected[i])) {
+                        numHits++;
+                    }
+                }
+                return numHits;
+            }
+        };
+    }
+
+    @Override
+    public Operation createActiveSolidIntersects(int mapSize, int numEnemies) {
+        final Map map = this.loadMap(mapSize, "text");
+        map.updateRendering(Vector.VECTOR_ZERO);
+        final Hitbox[] enemyHitboxes = createEnemyHitboxes(numEnemies);
+
+        return new Operation() {
+            public long run() {
+                long numHits = 0;
+                for (Hitbox enemyHitbox: enemyHitboxes) {
+                    if (map.intersectsWithActiveSolid(enemyHitbox)) {
+                        numHits++;
+                    }
+                }
+                return numHits;
+            }
+        };
+    }
+
+    @Override
+    public Operation createChunkLookup(int mapSize) {
+        final Map map = this.loadMap(mapSize, "text");
+
+        // Look up random points across the whole map.
+        Random random = new Random(SEED);
+        int mapLength = mapSize * Chunk.LENGTH * Tile.LENGTH;
+        final int[] pointX = new int[1024];
+        final int[] pointY = new int[1024];
+        for (int i = 0; i < pointX.length; i++) {
+            pointX[i] = random.nextInt(mapLength) - mapLength / 2;
+            pointY[i] = random.nextInt(mapLength) - mapLength / 2;
+        }
+
+        return new Operation() {
+            private int numLookups = 0;
+
+            public long run() {
+                int i = this.numLookups & (pointX.length - 1);
+                this.numLookups++;
+                return (map.getChunkContaining(pointX[i], pointY[i]) != null) ? 1 : 0;
+            }
+        };
+    }
+
+    @Override
+    public Operation createRendering(int mapSize, String format) {
+        // Chunks of a binary map are read and released as the camera moves.
+        final Map map = this.loadMap(mapSize, format);
+
+        // Walk the camera back and forth across the map, one chunk at a time.
+        int chunkLength = Chunk.LENGTH * Tile.LENGTH;
+        final Vector[] cameraPositions = new Vector[Math.max(2, mapSize)];
+        for (int i = 0; i < cameraPositions.length; i++) {
+            int mapX = i - mapSize / 2;
+            cameraPositions[i] = new Vector(mapX * chunkLength + chunkLength / 2, chunkLength / 2);
+        }
+        final int period = 2 * cameraPositions.length - 2;
+
+        return new Operation() {
+            private int step = 0;
+
+            public long run() {
+                int i = (this.step < cameraPositions.length) ? this.step : period - this.step;
+                this.step = (this.step + 1) % period;
+                map.updateRendering(cameraPositions[i]);
+                return map.getActiveChunks().size();
+            }
+        };
+    }
+
+    @Override
+    public Operation createMapLoad(int mapSize, String format) {
+        final String mapFileName = this.getMapFileName(mapSize, format);
+
+        // Load the map and show the chunks around the origin, like a new game does.
+        return new Operation() {
+            public long run() {
+                Map map = new Map(mapFileName);
+                map.loadFromFile();
+                map.updateRendering(Vector.VECTOR_ZERO);
+                return map.getActiveChunks().size();
+            }
+        };
+    }
+
+    @Override
+    public Operation createPlayerUpdate(int mapSize) {
+        Map map = this.loadMap(mapSize, "text");
+        map.updateRendering(Vector.VECTOR_ZERO);
+        final Player player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, map, new Random(SEED));
+        player.moveRight();
+        player.moveDown();
+
+        return new Operation() {
+            private int numUpdates = 0;
+
+            public long run() {
+                // Walk a short way from the middle of the map so the same chunks stay active.
+                if ((this.numUpdates & 63) == 0) {
+                    player.setPos(0, 0);
+                }
+                this.numUpdates++;
+                player.update();
+                return (long) player.getX();
+            }
+        };
+    }
+
+    @Override
+    public Operation createEnemyWorldUpdate(int mapSize, final int numEnemies) {
+        Map map = this.loadMap(mapSize, "text");
+        map.updateRendering(Vector.VECTOR_ZERO);
+        Player player = new Player(Integer.MAX_VALUE / 2, Const.SWORD_DAMAGE, map, new Random(SEED));
+        AnimationTemplate enemyTemplate = AnimationTemplate.getInstance(Const.ENEMY_WALK_SPRITE_SHEET,
+                Const.ENEMY_WALK_FILE_NAME);
+        FlowField flowField = new FlowField(map, enemyTemplate.getGeneralHitboxWidth(),
+                enemyTemplate.getGeneralHitboxHeight());
+        flowField.update(player.getCenterX(), player.getCenterY());
+        final EnemyWorld enemies = new EnemyWorld(player, flowField);
+
+        // Spread the enemies over the active chunks around the player.
+        Random random = new Random(SEED);
+        final double[] startX = new double[numEnemies];
+        final double[] startY = new double[numEnemies];
+        for (int i = 0; i < numEnemies; i++) {
+            startX[i] = random.nextInt(3000) - 1500;
+            startY[i] = random.nextInt(3000) - 1500;
+            enemies.add(startX[i], startY[i], Const.MEDIUM_ENEMY_HEALTH, Const.SWORD_DAMAGE);
+        }
+
+        return new Operation() {
+            private int numUpdates = 0;
+
+            public long run() {
+                // Move the enemies back now and then so they do not all end up on the player.
+                if ((this.numUpdates & 63) == 0) {
+                    for (int i = 0; i < numEnemies; i++) {
+                        enemies.setPos(i, startX[i], startY[i]);
+                    }
+                }
+                // Run the systems the way an update of the game does, animating every fourth one.
+                enemies.savePrevPositions();
+                enemies.update();
+                enemies.handleCombat();
+                enemies.removeDead();
+                if ((this.numUpdates & 3) == 0) {
+                    enemies.animate();
+                }
+                this.numUpdates++;
+                return (long) enemies.getX(0);
+            }
+        };
+    }
+
+    @Override
+    public Operation createEnemySpawn() {
+        // The enemies are never updated, so the player can stand on an empty map.
+        Player player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, new Map(Const.MAP_FILE_NAME),
+                new Random(SEED));
+        final EnemyWorld enemies = new EnemyWorld(player, null);
+        enemies.reserve(Const.NUM_MAX_ENEMIES);
+
+        return new Operation() {
+            private int numFills = 0;
+
+            public long run() {
+                // Fill the world up the way spawning does, then despawn every enemy again.
+                for (int i = 0; i < Const.NUM_MAX_ENEMIES; i++) {
+                    enemies.add(i, this.numFills, Const.MEDIUM_ENEMY_HEALTH, Const.SWORD_DAMAGE);
+                }
+                while (enemies.size() > 0) {
+                    enemies.remove(enemies.size() - 1);
+                }
+                this.numFills++;
+                return enemies.getNumRecycled();
+            }
+        };
+    }
+
+    @Override
+    public Operation createGameStep() {
+        final Game game = new Game(SEED);
+        // The enemies cannot do this much damage in any run, so the game never ends.
+        game.getPlayer().setMaxHealthPoints(Integer.MAX_VALUE / 2);
+
+        return new Operation() {
+            public long run() {
+                return game.step(1);
+            }
+        };
+    }
+
+    @Override
+    public Operation createChunkLoad() {
+        return new Operation() {
+            public long run() {
+                Chunk chunk = new Chunk(CHUNK_FILE_NAME);
+                chunk.loadFromFile();
+                return chunk.checkLoaded() ? 1 : 0;
+            }
+        };
+    }
+
+    @Override
+    public Operation createChunkGeneration() {
+        final DesertGenerator generator = new DesertGenerator(SEED);
+
+        return new Operation() {
+            private int numGenerated = 0;
+
+            public long run() {
+                // Walk across the map so every operation generates a different chunk.
+                Chunk chunk = generator.loadChunk(this.numGenerated & 255, (this.numGenerated >> 8) & 255);
+                this.numGenerated++;
+                return chunk.checkSolid(0, 0) ? 1 : 0;
+            }
+        };
+    }
+
+    /**
+     * This method creates hitboxes spread around the player, as if they were enemies.
+     * @param numEnemies The number of hitboxes.
+     * @return The new hitboxes.
+     */
+    private static Hitbox[] createEnemyHitboxes(int numEnemies) {
+        Random random = new Random(SEED);
+        Hitbox[] hitboxes = new Hitbox[numEnemies];
+        for (int i = 0; i < numEnemies; i++) {
+            hitboxes[i] = new Hitbox(random.nextInt(800) - 400, random.nextInt(800) - 400, 40, 68);
+        }
+        return hitboxes;
+    }
+
+    /**
+     * This method loads a map.
+     * @param mapSize The number of chunks along each side.
+     * @param format Either {@code "text"} or {@code "binary"}.
+     * @return The loaded {@code Map}.
+     */
+    private Map loadMap(int mapSize, String format) {
+        Map map = new Map(this.getMapFileName(mapSize, format));
+        map.loadFromFile();
+        return map;
+    }
+
+    /**
+     * This method gets the file of a map in a format, writing it the first time.
+     * @param mapSize The number of chunks along each side.
+     * @param format Either {@code "text"} or {@code "binary"}.
+     * @return The name of the map file, which is empty if the files could not be written.
+     */
+    private synchronized String getMapFileName(int mapSize, String format) {
+        String textMapFileName = this.textMapFileNames.get(mapSize);
+        if (textMapFileName == null) {
+            textMapFileName = writeMapFiles(mapSize);
+            this.textMapFileNames.put(mapSize, textMapFileName);
+        }
+        if (!format.equals("binary")) {
+            return textMapFileName;
+        }
+
+        String binaryMapFileName = textMapFileName.replace(".txt", MapFile.EXTENSION);
+        File binaryMapFile = new File(binaryMapFileName);
+        if (!binaryMapFile.exists()) {
+            binaryMapFile.deleteOnExit();
+            MapFile.write(MapFile.readTextChunks(textMapFileName), binaryMapFileName);
+        }
+        return binaryMapFileName;
+    }
+
+    /**
+     * This method writes a square map of random chunks into a temporary directory
+     * as text files. The map is centered on the origin.
+     * @param mapSize The number of chunks along each side.
+     * @return The name of the text map file, which is empty if the files could not be written.
+     */
+    private static String writeMapFiles(int mapSize) {
+        Random random = new Random(SEED + mapSize);
+        File mapFile;
+        try {
+            File directory = Files.createTempDirectory("map" + mapSize).toFile();
+            directory.deleteOnExit();
+            mapFile = new File(directory, "map.txt");
+            mapFile.deleteOnExit();
+
+            PrintWriter mapOutput = new PrintWriter(new FileWriter(mapFile));
+            mapOutput.println(mapSize * mapSize);
+            for (int mapY = -mapSize / 2; mapY < mapSize - mapSize / 2; mapY++) {
+                for (int mapX = -mapSize / 2; mapX < mapSize - mapSize / 2; mapX++) {
+                    File chunkFile = new File(directory, "chunk " + mapX + " " + mapY + ".txt");
+                    chunkFile.deleteOnExit();
+                    mapOutput.println(chunkFile.getPath());
+
+                    PrintWriter chunkOutput = new PrintWriter(new FileWriter(chunkFile));
+                    chunkOutput.println(mapX);
+                    chunkOutput.println(mapY);
+                    for (int y = 0; y < Chunk.LENGTH; y++) {
+                        StringBuilder line = new StringBuilder();
+                        for (int x = 0; x < Chunk.LENGTH; x++) {
+                            line.append(random.nextDouble() < ROCK_DENSITY ? Tile.ROCK : Tile.SAND);
+                        }
+                        chunkOutput.println(line);
+                    }
+                    chunkOutput.close();
+                }
+            }
+            mapOutput.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Could not write benchmark map.");
+            return "";
+        }
+        return mapFile.getPath();
+    }
+}
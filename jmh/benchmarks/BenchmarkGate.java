@@ -0,0 +1,373 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.BufferedReader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import java.io.IOException;
+import java.io.FileNotFoundException;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the JMH benchmarks with the GC profiler and compares them
+ * against a baseline saved by an earlier run on the same machine, so slower or
+ * more wasteful code is caught before it is merged. The results are saved in
+ * the CSV format of JMH.
+ * <p>
+ * A benchmark only counts as slower when JMH is sure of it: the error margins
+ * of the two scores must not overlap. Allocations are compared with the
+ * {@code gc.alloc.rate.norm} of the GC profiler, the bytes allocated per
+ * operation by every thread, in the same way. A benchmark measured as
+ * throughput is slower when its score goes down instead of up.
+ * </p>
+ * <p>
+ * Some benchmarks also have a budget they must stay within on any machine,
+ * with or without a baseline, such as a tick of the game allocating nothing.
+ * </p>
+ * <pre>{@code
+ * mvn -B verify -Pbenchmarks [-Dbenchmark.results=...] [-Dbenchmark.baseline=...] [-Dbenchmark.include=...]
+ * }</pre>
+ * The program exits with status {@code 1} if any benchmark regressed against the baseline.
+ */
+public class BenchmarkGate {
+    private static final String ALLOCATION_LABEL = "gc.alloc.rate.norm";
+    // How much slower than the baseline a benchmark must be, on top of the error margins, to count as a regression.
+    // Small differences can be measured reliably but are not worth failing the gate for.
+    private static final double MIN_SLOWDOWN = 1.1;
+    // How many more bytes per operation than the baseline a benchmark can allocate, on top of the error margins.
+    private static final double MAX_EXTRA_BYTES = 1;
+    // The fraction of extra bytes allowed on top of that. Reading files allocates slightly different amounts between runs.
+    private static final double MAX_EXTRA_BYTES_FRACTION = 0.01;
+    // The budgets of the benchmarks that have one.
+    private static final Limit[] LIMITS = {
+        // Once warmed up, a tick of the game allocates nothing.
+        new Limit("benchmarks.GameBenchmark.step", ALLOCATION_LABEL, 1),
+        // Generating a chunk must fit easily in a frame, since chunks are generated while the player moves.
+        new Limit("benchmarks.ChunkBenchmark.generate", "", 100000),
+    };
+
+    /**
+     * This method runs the benchmarks and compares them against the baseline.
+     * @param args The file to save the results to, the baseline file, and a
+     * regular expression picking the benchmarks to run. Only the first is needed.
+     * @throws RunnerException If JMH could not run the benchmarks.
+     */
+    public static void main(String[] args) throws RunnerException {
+        if (args.length < 1) {
+            System.out.println("Usage: java BenchmarkGate results.csv [baseline.csv] [include]");
+            System.exit(1);
+        }
+        String resultsFileName = args[0];
+        String baselineFileName = (args.length >= 2) ? args[1] : null;
+        String include = (args.length >= 3) ? args[2] : ".*";
+
+        // Load the baseline first, since the results may be replacing it.
+        HashMap<String, Score[]> baseline = null;
+        if (baselineFileName != null && new File(baselineFileName).exists()) {
+            if (new File(baselineFileName).getAbsoluteFile().equals(new File(resultsFileName).getAbsoluteFile())) {
+                System.out.println("Saving a new baseline. [" + baselineFileName + "]");
+            } else {
+                baseline = loadResults(baselineFileName);
+            }
+        } else if (baselineFileName != null) {
+            System.out.println("No baseline to compare against yet. [" + baselineFileName + "]");
+        }
+
+        new File(resultsFileName).getAbsoluteFile().getParentFile().mkdirs();
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(resultsFileName)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        boolean passed = checkLimits(results);
+        if (baseline != null && !compareResults(results, baseline)) {
+            passed = false;
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method loads the time and allocation scores from a CSV file saved by JMH.
+     * @param fileName The name of the file.
+     * @return The time and allocation scores, by benchmark and params. Either can be {@code null}.
+     */
+    private static HashMap<String, Score[]> loadResults(String fileName) {
+        HashMap<String, Score[]> results = new HashMap<String, Score[]>();
+        BufferedReader input;
+        try {
+            input = new BufferedReader(new FileReader(fileName));
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Baseline file not found. [" + fileName + "]");
+            return results;
+        }
+
+        try {
+            String[] header = splitCsvLine(input.readLine());
+            String line = input.readLine();
+            while (line != null) {
+                String[] values = splitCsvLine(line);
+                TreeMap<String, String> params = new TreeMap<String, String>();
+                for (int i = 7; i < header.length && i < values.length; i++) {
+                    if (!values[i].isEmpty()) {
+                        params.put(header[i].substring(header[i].indexOf(':') + 1).trim(), values[i]);
+                    }
+                }
+                Score score = new Score(parseScore(values[4]), parseScore(values[5]), values[6]);
+
+                // Secondary results are named after the benchmark and the label of the profiler.
+                String benchmark = values[0];
+                int labelStart = benchmark.indexOf(':');
+                String label = (labelStart == -1) ? "" : benchmark.substring(labelStart + 1);
+                if (labelStart != -1) {
+                    benchmark = benchmark.substring(0, labelStart);
+                }
+
+                String key = createKey(benchmark, params);
+                Score[] scores = results.get(key);
+                if (scores == null) {
+                    scores = new Score[2];
+                    results.put(key, scores);
+                }
+                if (label.isEmpty()) {
+                    scores[0] = score;
+                } else if (label.equals(ALLOCATION_LABEL)) {
+                    scores[1] = score;
+                }
+                line = input.readLine();
+            }
+            input.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read baseline file.");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect baseline file number format.");
+        } catch (IndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect baseline file format.");
+        }
+        return results;
+    }
+
+    /**
+     * This method splits a line of a CSV file saved by JMH into its values,
+     * without the quotes around them.
+     * @param line The line.
+     * @return The values.
+     */
+    private static String[] splitCsvLine(String line) {
+        ArrayList<String> values = new ArrayList<String>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    /**
+     * This method parses a score or error, which JMH saves as {@code NaN} when
+     * there were too few samples to tell.
+     * @param value The saved value.
+     * @return The number.
+     */
+    private static double parseScore(String value) {
+        return Double.parseDouble(value.trim());
+    }
+
+    /**
+     * This method checks results against the budgets of their benchmarks and
+     * prints every benchmark over budget. The whole error margin must be within it.
+     * @param results The new results.
+     * @return {@code true} if everything is within budget, {@code false} otherwise.
+     */
+    private static boolean checkLimits(Collection<RunResult> results) {
+        boolean passed = true;
+        for (RunResult result: results) {
+            BenchmarkParams benchmarkParams = result.getParams();
+            for (Limit limit: LIMITS) {
+                if (!limit.benchmark.equals(benchmarkParams.getBenchmark())) {
+                    continue;
+                }
+                Result<?> limitedResult = limit.label.isEmpty()
+                        ? result.getPrimaryResult() : result.getSecondaryResults().get(limit.label);
+                String name = limit.label.isEmpty()
+                        ? createKey(benchmarkParams) : createKey(benchmarkParams) + " " + limit.label;
+                if (limitedResult == null) {
+                    System.out.println("Error: Benchmark result not found. [" + name + "]");
+                    passed = false;
+                    continue;
+                }
+                Score score = new Score(limitedResult.getScore(), limitedResult.getScoreError(),
+                        limitedResult.getScoreUnit());
+                if (score.getUpperBound() > limit.maxScore) {
+                    System.out.println(String.format("Over budget: %s is %s, the budget is %.2f %s",
+                            name, score, limit.maxScore, score.unit));
+                    passed = false;
+                }
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * This method compares results against a baseline and prints every regression.
+     * @param results The new results.
+     * @param baseline The baseline scores, by benchmark and params.
+     * @return {@code true} if nothing regressed, {@code false} otherwise.
+     */
+    private static boolean compareResults(Collection<RunResult> results, HashMap<String, Score[]> baseline) {
+        boolean passed = true;
+        for (RunResult result: results) {
+            BenchmarkParams benchmarkParams = result.getParams();
+            String key = createKey(benchmarkParams);
+            Score[] baseScores = baseline.get(key);
+            if (baseScores == null) {
+                continue;
+            }
+
+            Result<?> primaryResult = result.getPrimaryResult();
+            Score time = new Score(primaryResult.getScore(), primaryResult.getScoreError(),
+                    primaryResult.getScoreUnit());
+            Score baseTime = baseScores[0];
+            if (baseTime != null) {
+                // Throughput is operations per time, so a slower benchmark has a lower score.
+                boolean slower;
+                double slowdown;
+                if (benchmarkParams.getMode() == Mode.Throughput) {
+                    slower = time.getUpperBound() < baseTime.getLowerBound();
+                    slowdown = baseTime.score / time.score;
+                } else {
+                    slower = time.getLowerBound() > baseTime.getUpperBound();
+                    slowdown = time.score / baseTime.score;
+                }
+                if (slower && slowdown > MIN_SLOWDOWN) {
+                    System.out.println(String.format("Regression: %s is %.2fx slower (%s, was %s)",
+                            key, slowdown, time, baseTime));
+                    passed = false;
+                }
+            }
+
+            Result<?> allocationResult = result.getSecondaryResults().get(ALLOCATION_LABEL);
+            Score baseAllocation = baseScores[1];
+            if (allocationResult == null || baseAllocation == null) {
+                continue;
+            }
+            Score allocation = new Score(allocationResult.getScore(), allocationResult.getScoreError(),
+                    allocationResult.getScoreUnit());
+            if (allocation.getLowerBound()
+                    > baseAllocation.getUpperBound() * (1 + MAX_EXTRA_BYTES_FRACTION) + MAX_EXTRA_BYTES) {
+                System.out.println(String.format("Regression: %s allocates %s, was %s",
+                        key, allocation, baseAllocation));
+                passed = false;
+            }
+        }
+        if (passed) {
+            System.out.println("No regressions against the baseline.");
+        }
+        return passed;
+    }
+
+    /**
+     * This method names the benchmark of a result with its params, like
+     * "MapBenchmark.loadFromFile format=binary,mapSize=4".
+     * @param benchmarkParams The params of the result.
+     * @return The name.
+     */
+    private static String createKey(BenchmarkParams benchmarkParams) {
+        TreeMap<String, String> params = new TreeMap<String, String>();
+        for (String paramKey: benchmarkParams.getParamsKeys()) {
+            params.put(paramKey, benchmarkParams.getParam(paramKey));
+        }
+        return createKey(benchmarkParams.getBenchmark(), params);
+    }
+
+    /**
+     * This method names a benchmark with one set of params, like
+     * "MapBenchmark.loadFromFile format=binary,mapSize=4".
+     * @param benchmark The name of the benchmark method.
+     * @param params The params, sorted by name.
+     * @return The name.
+     */
+    private static String createKey(String benchmark, TreeMap<String, String> params) {
+        StringBuilder key = new StringBuilder(benchmark);
+        String separator = " ";
+        for (String paramKey: params.keySet()) {
+            key.append(separator).append(paramKey).append('=').append(params.get(paramKey));
+            separator = ",";
+        }
+        return key.toString();
+    }
+
+    /**
+     * This class stores the budget of a benchmark.
+     */
+    private static class Limit {
+        private String benchmark;
+        // The label of the secondary result to check, or an empty string for the score.
+        private String label;
+        // The highest score allowed, in the unit of the result.
+        private double maxScore;
+
+        Limit(String benchmark, String label, double maxScore) {
+            this.benchmark = benchmark;
+            this.label = label;
+            this.maxScore = maxScore;
+        }
+    }
+
+    /**
+     * This class stores a score measured by JMH, with its error margin.
+     */
+    private static class Score {
+        private double score;
+        private double error;
+        private String unit;
+
+        Score(double score, double error, String unit) {
+            this.score = score;
+            // JMH cannot tell the error from a single sample.
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        double getLowerBound() {
+            return this.score - this.error;
+        }
+
+        double getUpperBound() {
+            return this.score + this.error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f +/- %.2f %s", this.score, this.error, this.unit);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures making chunks, by reading a text chunk file and by
+ * generating desert.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ChunkBenchmark {
+    private Operation loadFromFile;
+    private Operation generate;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        this.loadFromFile = Operations.getFactory().createChunkLoad();
+        this.generate = Operations.getFactory().createChunkGeneration();
+    }
+
+    @Benchmark
+    public long loadFromFile() {
+        return this.loadFromFile.run();
+    }
+
+    @Benchmark
+    public long generate() {
+        return this.generate.run();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the enemy systems: a full update of different numbers of
+ * enemies chasing the player across maps of different sizes, and filling and
+ * emptying the enemy pool the way spawning does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EnemyWorldBenchmark {
+    /**
+     * This class is enemies spread around the player, following a flow field to it.
+     */
+    @State(Scope.Thread)
+    public static class Update {
+        @Param({"4", "16", "64"})
+        public int mapSize;
+        @Param({"200", "10000"})
+        public int enemies;
+
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createEnemyWorldUpdate(this.mapSize, this.enemies);
+        }
+    }
+
+    /**
+     * This class is an empty enemy pool that was warmed up like the game does.
+     */
+    @State(Scope.Thread)
+    public static class Spawn {
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createEnemySpawn();
+        }
+    }
+
+    @Benchmark
+    public long update(Update update) {
+        return update.operation.run();
+    }
+
+    @Benchmark
+    public long add(Spawn spawn) {
+        return spawn.operation.run();
+    }
+}
@@ -0,0 +1,118 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the map on square maps of different sizes: collisions
+ * against the active chunks, looking up chunks, moving the camera, and loading
+ * the map. The last two run on both the text and the binary map format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class MapBenchmark {
+    /**
+     * This class checks the hitboxes of different numbers of enemies against
+     * the chunks around the origin.
+     */
+    @State(Scope.Thread)
+    public static class ActiveSolid {
+        @Param({"4", "16", "64"})
+        public int mapSize;
+        @Param({"1", "20", "200"})
+        public int enemies;
+
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createActiveSolidIntersects(this.mapSize, this.enemies);
+        }
+    }
+
+    /**
+     * This class looks up the chunks at random points across the map.
+     */
+    @State(Scope.Thread)
+    public static class ChunkLookup {
+        @Param({"4", "16", "64"})
+        public int mapSize;
+
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createChunkLookup(this.mapSize);
+        }
+    }
+
+    /**
+     * This class walks the camera back and forth across the map, one chunk at a time.
+     */
+    @State(Scope.Thread)
+    public static class Rendering {
+        @Param({"4", "16", "64"})
+        public int mapSize;
+        @Param({"text", "binary"})
+        public String format;
+
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createRendering(this.mapSize, this.format);
+        }
+    }
+
+    /**
+     * This class loads the map like a new game does.
+     */
+    @State(Scope.Thread)
+    public static class Loading {
+        @Param({"4", "16", "64"})
+        public int mapSize;
+        @Param({"text", "binary"})
+        public String format;
+
+        private Operation operation;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            this.operation = Operations.getFactory().createMapLoad(this.mapSize, this.format);
+        }
+    }
+
+    @Benchmark
+    public long intersectsWithActiveSolid(ActiveSolid activeSolid) {
+        return activeSolid.operation.run();
+    }
+
+    @Benchmark
+    public long getChunkContaining(ChunkLookup chunkLookup) {
+        return chunkLookup.operation.run();
+    }
+
+    @Benchmark
+    public long updateRendering(Rendering rendering) {
+        return rendering.operation.run();
+    }
+
+    @Benchmark
+    public long loadFromFile(Loading loading) {
+        return loading.operation.run();
+    }
+}
@@ -0,0 +1,14 @@
+package benchmarks;
+
+/**
+ * This interface represents one piece of the game measured by a benchmark,
+ * set up and ready to run.
+ * @see OperationFactory
+ */
+public interface Operation {
+    /**
+     * This method runs the measured code once.
+     * @return A value that depends on the results, so the code is not optimized away.
+     */
+    public long run();
+}
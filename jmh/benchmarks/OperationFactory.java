@@ -0,0 +1,37 @@
+package benchmarks;
+
+/**
+ * This interface creates the operations measured by the benchmarks. JMH only
+ * runs benchmarks outside the default package, but the game is in the default
+ * package, where no other package can name its classes. So the operations are
+ * created by {@code BenchmarkOperations} in the default package, which is found
+ * by name once, while the benchmarks are set up.
+ */
+public interface OperationFactory {
+    // The class in the default package that creates the operations.
+    public static final String CLASS_NAME = "BenchmarkOperations";
+
+    public Operation createHitboxIntersects(int numEnemies);
+
+    public Operation createFrameIntersects(int numEnemies);
+
+    public Operation createActiveSolidIntersects(int mapSize, int numEnemies);
+
+    public Operation createChunkLookup(int mapSize);
+
+    public Operation createRendering(int mapSize, String format);
+
+    public Operation createMapLoad(int mapSize, String format);
+
+    public Operation createPlayerUpdate(int mapSize);
+
+    public Operation createEnemyWorldUpdate(int mapSize, int numEnemies);
+
+    public Operation createEnemySpawn();
+
+    public Operation createGameStep();
+
+    public Operation createChunkLoad();
+
+    public Operation createChunkGeneration();
+}
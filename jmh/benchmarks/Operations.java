@@ -0,0 +1,22 @@
+package benchmarks;
+
+/**
+ * This class finds the {@code OperationFactory} of the game.
+ */
+public class Operations {
+    private static OperationFactory factory = null;
+
+    /**
+     * This method gets the {@code OperationFactory} in the default package,
+     * creating it the first time.
+     * @return The {@code OperationFactory}.
+     * @throws ReflectiveOperationException If the class cannot be found or created.
+     */
+    public static synchronized OperationFactory getFactory() throws ReflectiveOperationException {
+        if (factory == null) {
+            factory = (OperationFactory) Class.forName(OperationFactory.CLASS_NAME)
+                    .getDeclaredConstructor().newInstance();
+        }
+        return factory;
+    }
+}